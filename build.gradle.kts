@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.6"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.manojohnsons"
@@ -54,11 +55,47 @@ dependencies {
 	// Spring Boot Starter Email
 	implementation("org.springframework.boot:spring-boot-starter-mail")
 
+	// Caffeine (in-process caches)
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
+	// Spring Boot Actuator (metrics)
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+	// Spring AOP (the concurrency limits around the services)
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+
 	// Testcontainers
 	testImplementation("org.testcontainers:junit-jupiter")
 	testImplementation("org.testcontainers:postgresql")
+
+	// GreenMail (in-memory SMTP server for the e-mail tests)
+	testImplementation("com.icegreen:greenmail-junit5:2.1.2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Heavy tests (millions of rows, measurements) only run through the benchmark task.
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+tasks.register<Test>("benchmark") {
+	description = "Runs the tests tagged as benchmark."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	maxHeapSize = "512m"
+}
+
+// Microbenchmarks (src/jmh), run with ./gradlew jmh.
+jmh {
+	jmhVersion = "1.37"
+	resultFormat = "JSON"
+}
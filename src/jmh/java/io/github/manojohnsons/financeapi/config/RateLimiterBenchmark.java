@@ -0,0 +1,67 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.manojohnsons.financeapi.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput of the acquire path of the rate limiter on 8 threads: all of them
+ * on the bucket of one user, where every acquisition races the others on one
+ * CAS, and each on a bucket of its own, where they only share the bucket
+ * cache. The limits are high enough that most acquisitions are allowed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final AtomicInteger nextUser = new AtomicInteger();
+
+    private RateLimiter rateLimiter;
+
+    @State(Scope.Thread)
+    public static class ThreadUser {
+
+        private String client;
+
+        @Setup
+        public void setUp() {
+            client = "user:" + nextUser.incrementAndGet();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        var limit = new Limit(Integer.MAX_VALUE, 60_000_000);
+        rateLimiter = new RateLimiter(new RateLimitProperties(true, 100_000, limit, limit, limit),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public RateLimiter.Decision sameUser() {
+        return rateLimiter.tryAcquire(EndpointClass.READ, "user:0");
+    }
+
+    @Benchmark
+    public RateLimiter.Decision userPerThread(ThreadUser user) {
+        return rateLimiter.tryAcquire(EndpointClass.READ, user.client);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.manojohnsons.financeapi.application.dto.BudgetCategoryDTO;
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
+import io.github.manojohnsons.financeapi.service.impl.EmailServiceImpl;
+
+/**
+ * Render throughput of the monthly summary e-mail, and of the money formatting
+ * it does for each amount, against a NumberFormat created for each call (the
+ * way a NumberFormat can be used safely from several threads). Runs on 4
+ * threads, like the rendering of a chunk in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SummaryEmailRenderBenchmark {
+
+    @Param({ "pt-BR", "en" })
+    private String locale;
+
+    @Param({ "0", "8" })
+    private int budgets;
+
+    private EmailServiceImpl emailService;
+    private MoneyFormatter moneyFormatter;
+    private UserContactDTO user;
+    private DashboardResponseDTO summary;
+
+    @Setup
+    public void setUp() {
+        // Rendering never touches the mail sender.
+        emailService = new EmailServiceImpl(null, "Resumo", "Equipe Finance API", 100);
+        moneyFormatter = MoneyFormatter.of(Locale.forLanguageTag(locale), Currency.getInstance("BRL"));
+        user = new UserContactDTO(1L, "Usuário de Teste", "test@email.com", locale);
+
+        var categories = new ArrayList<BudgetCategoryDTO>();
+        for (int i = 0; i < budgets; i++)
+            categories.add(new BudgetCategoryDTO("Categoria " + i, "#FF0000", new BigDecimal("800.00"),
+                    new BigDecimal(600 + i + ".45"), new BigDecimal("75.06")));
+        summary = new DashboardResponseDTO(new BigDecimal("15234.90"), new BigDecimal("9876.54"),
+                new BigDecimal("5358.36"), List.copyOf(categories));
+    }
+
+    @Benchmark
+    public Object renderSummary() {
+        return emailService.buildSummaryEmail(user, summary);
+    }
+
+    @Benchmark
+    public void formatWithMoneyFormatter(Blackhole blackhole) {
+        blackhole.consume(moneyFormatter.format(summary.totalIncome()));
+        blackhole.consume(moneyFormatter.format(summary.totalExpense()));
+        blackhole.consume(moneyFormatter.format(summary.finalBalance()));
+    }
+
+    @Benchmark
+    public void formatWithNumberFormat(Blackhole blackhole) {
+        var format = NumberFormat.getCurrencyInstance(Locale.forLanguageTag(locale));
+        format.setCurrency(Currency.getInstance("BRL"));
+        blackhole.consume(format.format(summary.totalIncome()));
+        blackhole.consume(format.format(summary.totalExpense()));
+        blackhole.consume(format.format(summary.finalBalance()));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The principal of a request authenticated by token, built from the claims of
+ * the token alone.
+ * 
+ * @param id        The ID of the user.
+ * @param email     The e-mail of the user.
+ * @param tokenId   The ID (jti) of the access token, to revoke it on logout.
+ * @param expiresAt The expiry of the access token.
+ */
+public record AuthenticatedUserDTO(
+        Long id,
+        String email,
+        UUID tokenId,
+        Instant expiresAt) {
+
+}
@@ -0,0 +1,8 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+public record EmailMessageDTO(
+        String to,
+        String subject,
+        String text) {
+
+}
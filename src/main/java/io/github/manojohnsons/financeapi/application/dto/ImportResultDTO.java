@@ -0,0 +1,10 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+import java.util.List;
+
+public record ImportResultDTO(
+        long imported,
+        long failed,
+        List<ImportRowErrorDTO> errors) {
+
+}
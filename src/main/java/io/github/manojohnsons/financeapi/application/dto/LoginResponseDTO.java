@@ -1,6 +1,7 @@
 package io.github.manojohnsons.financeapi.application.dto;
 
 public record LoginResponseDTO(
-        String tokenJwt) {
+        String tokenJwt,
+        String refreshToken) {
 
 }
@@ -0,0 +1,7 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+public record MonthlySummaryResultDTO(
+        long succeeded,
+        long failed) {
+
+}
@@ -0,0 +1,8 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequestDTO(
+        @NotBlank String refreshToken) {
+
+}
@@ -0,0 +1,8 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+public record RollupReconciliationDTO(
+        long usersChecked,
+        long driftingRollups,
+        long usersRebuilt) {
+
+}
@@ -0,0 +1,13 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+/**
+ * The outcome of a refresh token rotation.
+ * 
+ * @param userId       The user the token belongs to.
+ * @param refreshToken The new refresh token, which replaces the one presented.
+ */
+public record RotatedRefreshTokenDTO(
+        Long userId,
+        String refreshToken) {
+
+}
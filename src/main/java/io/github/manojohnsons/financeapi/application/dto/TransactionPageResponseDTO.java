@@ -0,0 +1,9 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+import java.util.List;
+
+public record TransactionPageResponseDTO(
+        List<TransactionResponseDTO> content,
+        String nextToken) {
+
+}
@@ -4,13 +4,18 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 public record TransactionRequestDTO(
-        @NotBlank(message = "The description is obrigatory.") String description,
-        @NotNull(message = "The amount is obrigatory.") @Positive(message = "The amount must be positive.") BigDecimal amount,
+        @NotBlank(message = "The description is obrigatory.")
+        @Size(max = 255, message = "The description must have at most 255 characters.") String description,
+        @NotNull(message = "The amount is obrigatory.") @Positive(message = "The amount must be positive.")
+        @Digits(integer = 17, fraction = 2, message = "The amount must have at most 17 integer and 2 decimal digits.")
+        BigDecimal amount,
         @NotNull(message = "The date is obrigatory.") LocalDate date,
         @NotNull(message = "The transaction type is obrigatory.") TransactionType type,
         Long categoryId) {
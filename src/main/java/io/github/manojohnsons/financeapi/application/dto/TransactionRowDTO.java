@@ -0,0 +1,39 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+
+/**
+ * A transaction and its category flattened in one row, read by the listing
+ * queries without loading any entity.
+ */
+public record TransactionRowDTO(
+        Long id,
+        String description,
+        BigDecimal amount,
+        LocalDate date,
+        TransactionType type,
+        Long categoryId,
+        String categoryName,
+        String categoryHexColor,
+        String categoryIcon) {
+
+    /**
+     * Build the response of this row. The category summary is taken from the
+     * given map when another row of the same category already built it.
+     * 
+     * @param categories The summaries built so far, by category ID.
+     * @return The transaction response.
+     */
+    public TransactionResponseDTO toResponse(Map<Long, CategorySummaryDTO> categories) {
+        CategorySummaryDTO category = null;
+        if (categoryId != null)
+            category = categories.computeIfAbsent(categoryId,
+                    id -> new CategorySummaryDTO(id, categoryName, categoryHexColor, categoryIcon));
+
+        return new TransactionResponseDTO(id, description, amount, date, type, category);
+    }
+}
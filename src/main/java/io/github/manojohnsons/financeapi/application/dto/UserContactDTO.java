@@ -0,0 +1,9 @@
+package io.github.manojohnsons.financeapi.application.dto;
+
+public record UserContactDTO(
+        Long id,
+        String name,
+        String email,
+        String locale) {
+
+}
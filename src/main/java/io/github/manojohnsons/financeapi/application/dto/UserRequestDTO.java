@@ -2,6 +2,7 @@ package io.github.manojohnsons.financeapi.application.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
@@ -16,6 +17,12 @@ public record UserRequestDTO(
 
         @NotBlank(message = "The password is obrigatory.")
         @Size(min = 8, message = "The password must have at least 8 characters long.")
-        String password) {
+        String password,
+
+        // Optional; the e-mails are written in Brazilian Portuguese without it.
+        @Size(max = 35, message = "The locale must have at most 35 characters long.")
+        @Pattern(regexp = "[A-Za-z]{2,8}(-[A-Za-z0-9]{1,8})*",
+                message = "The locale must be a language tag, like pt-BR or en.")
+        String locale) {
 
 }
@@ -0,0 +1,18 @@
+package io.github.manojohnsons.financeapi.config;
+
+/**
+ * The classes of calls that get an adaptive concurrency limit of their own.
+ * Calls of very different latencies don't share a limit: the fast ones would
+ * set the usual latency the slow ones are measured against.
+ */
+public enum ConcurrencyClass {
+
+    // The transaction reads (listings and lookups).
+    READ,
+
+    // The transaction writes.
+    WRITE,
+
+    // The dashboards missing from the cache; the cache hits aren't limited.
+    DASHBOARD
+}
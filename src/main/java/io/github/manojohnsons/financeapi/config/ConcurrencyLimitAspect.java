@@ -0,0 +1,29 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs the {@link ConcurrencyLimited} methods through the
+ * {@link ConcurrencyLimiter}.
+ */
+@Aspect
+@Component
+// Outside the transaction, so a shed call never borrows a connection.
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConcurrencyLimitAspect {
+
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @Around("@annotation(limited)")
+    public Object limit(ProceedingJoinPoint joinPoint, ConcurrencyLimited limited) throws Throwable {
+        return concurrencyLimiter.call(limited.value(), joinPoint::proceed);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive limits of the concurrent calls to the heavy services, one per
+ * {@link ConcurrencyClass}. Each limit moves between its bounds with the
+ * measured latency: it shrinks when the calls slow down (the database is
+ * queueing) and grows back while they stay as fast as usual.
+ * 
+ * @param enabled           Whether the calls are limited at all.
+ * @param tolerance         How much slower than usual the calls may get
+ *                          before the limit shrinks (1.5 = 50% slower).
+ * @param smoothing         The weight of each new estimate of the limit,
+ *                          between 0 and 1.
+ * @param retryAfterSeconds The Retry-After of the calls shed with 503.
+ * @param read              The limit of the reads.
+ * @param write             The limit of the writes.
+ * @param dashboard         The limit of the dashboards computed on a cache
+ *                          miss.
+ */
+@ConfigurationProperties(prefix = "api.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        double tolerance,
+        double smoothing,
+        long retryAfterSeconds,
+        Limit read,
+        Limit write,
+        Limit dashboard) {
+
+    /**
+     * @param initialLimit The concurrent calls allowed at startup.
+     * @param minLimit     The floor the limit never shrinks below.
+     * @param maxLimit     The ceiling the limit never grows above.
+     */
+    public record Limit(
+            int initialLimit,
+            int minLimit,
+            int maxLimit) {
+
+    }
+
+    public Limit limitOf(ConcurrencyClass concurrencyClass) {
+        return switch (concurrencyClass) {
+            case READ -> read;
+            case WRITE -> write;
+            case DASHBOARD -> dashboard;
+        };
+    }
+}
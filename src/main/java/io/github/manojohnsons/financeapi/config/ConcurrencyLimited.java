@@ -0,0 +1,26 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a service method behind the adaptive concurrency limit of its class of
+ * calls. Over the limit, a call made by a request is shed at once with 503
+ * instead of waiting for a database connection; calls outside a request (the
+ * scheduled jobs) are never limited.
+ *
+ * @see ConcurrencyLimiter
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConcurrencyLimited {
+
+    /**
+     * The limit the call counts against.
+     */
+    ConcurrencyClass value();
+}
@@ -0,0 +1,91 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.github.manojohnsons.financeapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs calls under the adaptive concurrency limit of their class, shedding the
+ * ones over it with 503, so under overload the requests fail fast instead of
+ * piling up on the Tomcat threads waiting for a connection. Used through
+ * {@link ConcurrencyLimited} on the service methods, and directly where only
+ * part of a method is heavy (the cache misses of the dashboard). The limits,
+ * the calls in flight and the calls shed are in the
+ * {@code api.concurrency-limit.*} metrics, by class.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    /**
+     * A limited call, which may throw what the limited method throws.
+     */
+    @FunctionalInterface
+    public interface LimitedCall<T, E extends Throwable> {
+
+        T call() throws E;
+    }
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<ConcurrencyClass, GradientConcurrencyLimiter> limiters = new EnumMap<>(ConcurrencyClass.class);
+    private final Map<ConcurrencyClass, Counter> rejections = new EnumMap<>(ConcurrencyClass.class);
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.retryAfterSeconds = properties.retryAfterSeconds();
+
+        for (var concurrencyClass : ConcurrencyClass.values()) {
+            var limiter = new GradientConcurrencyLimiter(properties.limitOf(concurrencyClass), properties.tolerance(),
+                    properties.smoothing());
+            var tag = concurrencyClass.name().toLowerCase();
+            limiters.put(concurrencyClass, limiter);
+            Gauge.builder("api.concurrency-limit.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("api.concurrency-limit.in-flight", limiter, GradientConcurrencyLimiter::getInFlight)
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejections.put(concurrencyClass, Counter.builder("api.concurrency-limit.rejected")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Run a call under the limit of its class. Calls outside a request (the
+     * scheduled jobs) run unlimited.
+     *
+     * @throws ServiceOverloadedException If the limit is reached.
+     */
+    public <T, E extends Throwable> T call(ConcurrencyClass concurrencyClass, LimitedCall<T, E> call) throws E {
+        if (!enabled || RequestContextHolder.getRequestAttributes() == null)
+            return call.call();
+
+        var limiter = limiters.get(concurrencyClass);
+        if (!limiter.tryAcquire()) {
+            rejections.get(concurrencyClass).increment();
+            throw new ServiceOverloadedException("The service is overloaded; try again shortly.", retryAfterSeconds);
+        }
+
+        var start = System.nanoTime();
+        var dropped = false;
+        try {
+            return call.call();
+        } catch (CannotCreateTransactionException | TransientDataAccessException e) {
+            // No connection in time, or a query timeout: the database is saturated.
+            dropped = true;
+            throw e;
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Delivery of the e-mails queued in the outbox table.
+ * 
+ * @param workers               The number of threads claiming and sending
+ *                              messages, which is also the number of SMTP
+ *                              connections in use at once.
+ * @param batchSize             The number of messages a worker claims at a time.
+ * @param maxAttempts           The number of delivery attempts before a message
+ *                              is dead-lettered.
+ * @param initialBackoffSeconds The delay before the first retry; it doubles on
+ *                              each failed attempt.
+ * @param maxBackoffSeconds     The largest delay between two attempts.
+ * @param leaseSeconds          How long a claimed message stays with its worker
+ *                              before another one may claim it again.
+ * @param pollIntervalMs        The delay between two polls of the outbox.
+ */
+@ConfigurationProperties(prefix = "api.email.outbox")
+public record EmailOutboxProperties(
+        int workers,
+        int batchSize,
+        int maxAttempts,
+        long initialBackoffSeconds,
+        long maxBackoffSeconds,
+        long leaseSeconds,
+        long pollIntervalMs) {
+
+}
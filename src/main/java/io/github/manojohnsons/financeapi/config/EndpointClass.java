@@ -0,0 +1,16 @@
+package io.github.manojohnsons.financeapi.config;
+
+/**
+ * The classes of endpoints that get limits of their own.
+ */
+public enum EndpointClass {
+
+    // The login, the registration and the token renewal, limited by client IP.
+    AUTH,
+
+    // Requests that only read (GET, HEAD, OPTIONS).
+    READ,
+
+    // Requests that change data.
+    WRITE
+}
@@ -0,0 +1,115 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that adapts to the latency, after the gradient algorithm
+ * of Netflix's concurrency-limits. It keeps a slow moving average of the
+ * latency, the usual one, and compares each call against it: while the calls
+ * are as fast as usual the limit grows by about its square root, and as they
+ * slow down (requests queueing for the database) it shrinks in proportion, by
+ * up to half per sample. A call that failed for lack of resources (a
+ * connection timeout) cuts the limit by a tenth.
+ * <p>
+ * The acquisition is a CAS on the count of calls in flight. The samples update
+ * the limit under a lock, but only with {@code tryLock}: a sample that finds
+ * the lock taken is dropped, so no call ever waits for another.
+ */
+public class GradientConcurrencyLimiter {
+
+    // Samples the usual latency averages over; long, so a slowdown doesn't become the new usual at once.
+    private static final int LONG_WINDOW = 600;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile int limit;
+
+    // Guarded by sampleLock.
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(ConcurrencyLimitProperties.Limit limit, double tolerance, double smoothing) {
+        this.minLimit = limit.minLimit();
+        this.maxLimit = limit.maxLimit();
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = Math.clamp(limit.initialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Take a slot, if fewer calls than the limit are in flight. Every slot
+     * taken must be given back with {@link #release(long, boolean)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= limit)
+                return false;
+            if (inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    /**
+     * Give a slot back, with the latency of its call.
+     *
+     * @param rttNanos The duration of the call.
+     * @param dropped  Whether the call failed for lack of resources.
+     */
+    public void release(long rttNanos, boolean dropped) {
+        var inFlightBefore = inFlight.getAndDecrement();
+        if (!sampleLock.tryLock())
+            return;
+        try {
+            sample(rttNanos, dropped, inFlightBefore);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(long rttNanos, boolean dropped, int inFlightBefore) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+            limit = (int) estimatedLimit;
+            return;
+        }
+        if (rttNanos <= 0)
+            return;
+
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+        // Once a slowdown is over, the usual latency catches up faster than the window would allow.
+        if (longRttNanos > 2 * rttNanos)
+            longRttNanos *= 0.95;
+
+        // Far below the limit, the latency says nothing about whether a higher one would hold.
+        if (inFlightBefore < estimatedLimit / 2)
+            return;
+
+        var gradient = Math.clamp(tolerance * longRttNanos / rttNanos, MIN_GRADIENT, 1.0);
+        var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
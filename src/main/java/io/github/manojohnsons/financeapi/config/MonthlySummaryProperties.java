@@ -0,0 +1,58 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning of the monthly summary job. The schedule itself is read by the
+ * {@code @Scheduled} cron placeholder.
+ * 
+ * @param chunkSize        The number of users read per keyset page.
+ * @param batchAggregation Whether the summaries of a chunk are computed together,
+ *                         with two queries per chunk instead of two per user.
+ * @param parallel         The parallel execution mode.
+ * @param sharding         The split of the work among the replicas.
+ */
+@ConfigurationProperties(prefix = "api.scheduling.monthly-summary")
+public record MonthlySummaryProperties(
+        int chunkSize,
+        boolean batchAggregation,
+        Parallel parallel,
+        Sharding sharding) {
+
+    /**
+     * Fan-out of the users of a chunk on virtual threads.
+     * 
+     * @param enabled        Whether the users are processed in parallel.
+     * @param dbPoolFraction The fraction of the connection pool the job may use
+     *                       at once, so the API keeps its own connections.
+     */
+    public record Parallel(
+            boolean enabled,
+            double dbPoolFraction) {
+
+    }
+
+    /**
+     * Coordination of the replicas that all fire the job at the same time.
+     * 
+     * @param shards        The number of shards of a run; more shards than
+     *                      replicas keeps them busy until the end.
+     * @param leaseSeconds  How long a replica holds a shard without a
+     *                      checkpoint (one per chunk), and so how long a
+     *                      crashed replica's shard waits before being taken
+     *                      over.
+     * @param maxAttempts   The claims after which a shard that never completes
+     *                      is given up, so a shard that always fails doesn't
+     *                      keep the run going forever.
+     * @param maxRunMinutes How long a replica keeps claiming and waiting for
+     *                      shards; a run still unfinished by then is resumed on
+     *                      the next startup.
+     */
+    public record Sharding(
+            int shards,
+            long leaseSeconds,
+            int maxAttempts,
+            long maxRunMinutes) {
+
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cost and isolation of the BCrypt hashing of the login and the registration.
+ * 
+ * @param strength      The BCrypt work factor (log2 of the rounds). Hashes of a
+ *                      lower cost are upgraded on the next successful login.
+ * @param threads       The threads that hash, or 0 for one per available
+ *                      processor.
+ * @param queueCapacity The hashes that may wait for a thread; beyond it the
+ *                      request is refused with 429 instead of holding a request
+ *                      thread.
+ */
+@ConfigurationProperties(prefix = "api.security.password")
+public record PasswordHashingProperties(
+        int strength,
+        int threads,
+        int queueCapacity) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
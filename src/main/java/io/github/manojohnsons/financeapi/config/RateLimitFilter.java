@@ -0,0 +1,85 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Limits the request rate of each client. Authenticated requests are limited
+ * per user; the authentication endpoints, and any request without a user, per
+ * IP. Every limited response carries the {@code X-RateLimit-*} headers, and a
+ * rejected one is a 429 with {@code Retry-After}. Runs in the security chain,
+ * after the {@link SecurityFilter}, so the user is already known.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!rateLimiter.isEnabled())
+            return true;
+
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator/") || path.startsWith("/v3/api-docs") || path.startsWith("/swagger-ui");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var endpointClass = classify(request);
+        var decision = rateLimiter.tryAcquire(endpointClass, client(request, endpointClass));
+
+        response.setHeader(LIMIT_HEADER, Long.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            // Not sendError: the error dispatch would go through the security chain again and
+            // come back as a 401 for the unauthenticated endpoints.
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static EndpointClass classify(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/"))
+            return EndpointClass.AUTH;
+
+        var method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                ? EndpointClass.READ
+                : EndpointClass.WRITE;
+    }
+
+    private static String client(HttpServletRequest request, EndpointClass endpointClass) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (endpointClass != EndpointClass.AUTH && authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUserDTO user)
+            return "user:" + user.id();
+
+        return "ip:" + request.getRemoteAddr();
+    }
+}
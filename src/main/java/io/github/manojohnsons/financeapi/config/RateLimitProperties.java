@@ -0,0 +1,42 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-client request rate limits, one token bucket per client and endpoint
+ * class.
+ * 
+ * @param enabled        Whether the requests are limited at all.
+ * @param maximumBuckets The buckets kept in memory; idle ones are evicted
+ *                       first.
+ * @param auth           The limit of the authentication endpoints, per IP.
+ * @param read           The limit of the reads, per user.
+ * @param write          The limit of the writes, per user.
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        long maximumBuckets,
+        Limit auth,
+        Limit read,
+        Limit write) {
+
+    /**
+     * @param capacity        The burst: requests allowed at once by a full
+     *                        bucket.
+     * @param refillPerMinute The sustained rate, in requests per minute.
+     */
+    public record Limit(
+            int capacity,
+            int refillPerMinute) {
+
+    }
+
+    public Limit limitOf(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case AUTH -> auth;
+            case READ -> read;
+            case WRITE -> write;
+        };
+    }
+}
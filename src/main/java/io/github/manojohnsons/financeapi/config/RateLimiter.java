@@ -0,0 +1,134 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process token buckets, one per client and endpoint class. A bucket is a
+ * single {@link AtomicLong} updated by compare-and-set, so concurrent requests
+ * never take a lock, not even on the same bucket. The buckets live in a bounded
+ * cache and are evicted once idle long enough to have refilled, so an evicted
+ * bucket comes back exactly as it would have been. The rejections are counted
+ * in the {@code api.rate-limit.rejected} metric, by endpoint class.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * The outcome of an acquisition.
+     *
+     * @param allowed           Whether the request may go on.
+     * @param limit             The capacity of the bucket.
+     * @param remaining         The requests still allowed at once.
+     * @param resetSeconds      The seconds until the bucket is full again.
+     * @param retryAfterSeconds The seconds until a rejected request would be
+     *                          allowed (0 if allowed).
+     */
+    public record Decision(
+            boolean allowed,
+            long limit,
+            long remaining,
+            long resetSeconds,
+            long retryAfterSeconds) {
+
+    }
+
+    private record Key(EndpointClass endpointClass, String client) {
+    }
+
+    /*
+     * The token bucket in its "virtual scheduling" form (GCRA): instead of a token count and a
+     * refill time, the bucket keeps the theoretical arrival time of the next request, the time
+     * at which it would be full again plus one interval. A request is allowed if that time,
+     * pushed one interval further, stays within capacity intervals from now. One long holds the
+     * whole state, so one CAS updates it.
+     */
+    private record Rule(long capacity, long intervalNanos, long burstNanos) {
+
+        static Rule of(RateLimitProperties.Limit limit) {
+            var interval = TimeUnit.MINUTES.toNanos(1) / limit.refillPerMinute();
+            return new Rule(limit.capacity(), interval, interval * limit.capacity());
+        }
+    }
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Map<EndpointClass, Rule> rules = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final Cache<Key, AtomicLong> buckets;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.enabled = properties.enabled();
+        this.ticker = ticker;
+
+        long fullRefillNanos = TimeUnit.MINUTES.toNanos(1);
+        for (var endpointClass : EndpointClass.values()) {
+            var rule = Rule.of(properties.limitOf(endpointClass));
+            rules.put(endpointClass, rule);
+            rejections.put(endpointClass, Counter.builder("api.rate-limit.rejected")
+                    .tag("class", endpointClass.name().toLowerCase())
+                    .register(meterRegistry));
+            fullRefillNanos = Math.max(fullRefillNanos, rule.burstNanos());
+        }
+
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumBuckets())
+                .expireAfterAccess(Duration.ofNanos(fullRefillNanos))
+                .ticker(ticker)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Take a token from the bucket of a client, if it has one.
+     *
+     * @param endpointClass The class of the endpoint requested.
+     * @param client        The client: a user or an IP.
+     */
+    public Decision tryAcquire(EndpointClass endpointClass, String client) {
+        var rule = rules.get(endpointClass);
+        var now = ticker.read();
+        var bucket = buckets.get(new Key(endpointClass, client), key -> new AtomicLong(now));
+
+        while (true) {
+            var arrival = bucket.get();
+            var next = Math.max(arrival, now) + rule.intervalNanos();
+            var wait = next - now;
+
+            if (wait > rule.burstNanos()) {
+                rejections.get(endpointClass).increment();
+                return new Decision(false, rule.capacity(), 0, toSeconds(Math.max(arrival - now, 0)),
+                        toSeconds(wait - rule.burstNanos()));
+            }
+            if (bucket.compareAndSet(arrival, next))
+                return new Decision(true, rule.capacity(), (rule.burstNanos() - wait) / rule.intervalNanos(),
+                        toSeconds(wait), 0);
+        }
+    }
+
+    // Rounded up, so a client that waits the advertised seconds is allowed.
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import io.github.manojohnsons.financeapi.service.MonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maintenance commands for the monthly rollups, triggered by the application
+ * arguments:
+ * <ul>
+ * <li>{@code --rollups.rebuild}: recompute every rollup from tab_transactions.</li>
+ * <li>{@code --rollups.reconcile}: only report the drifting rollups, or also rebuild
+ * them with {@code --rollups.repair}.</li>
+ * <li>{@code --rollups.batch-size=N}: number of users per batch (default 500).</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupMaintenanceRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupMaintenanceRunner.class);
+
+    private static final String BATCH_SIZE_OPTION = "rollups.batch-size";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var rebuild = args.containsOption("rollups.rebuild");
+        var reconcile = args.containsOption("rollups.reconcile");
+
+        if (!rebuild && !reconcile)
+            return;
+
+        var batchSize = batchSize(args);
+        if (rebuild) {
+            log.info("Rebuilding monthly rollups in batches of {} users...", batchSize);
+            var result = monthlyRollupService.rebuild(batchSize);
+            log.info("Monthly rollups rebuilt for {} users.", result.usersRebuilt());
+        } else {
+            var repair = args.containsOption("rollups.repair");
+            log.info("Reconciling monthly rollups in batches of {} users (repair: {})...", batchSize, repair);
+            var result = monthlyRollupService.reconcile(batchSize, repair);
+            log.info("Monthly rollups reconciled. Users checked: {}, drifting rollups: {}, users rebuilt: {}",
+                    result.usersChecked(), result.driftingRollups(), result.usersRebuilt());
+        }
+    }
+
+    private static int batchSize(ApplicationArguments args) {
+        if (!args.containsOption(BATCH_SIZE_OPTION))
+            return DEFAULT_BATCH_SIZE;
+
+        var values = args.getOptionValues(BATCH_SIZE_OPTION);
+        var value = values.isEmpty() ? "" : values.get(0);
+        try {
+            var batchSize = Integer.parseInt(value.strip());
+            if (batchSize > 0)
+                return batchSize;
+        } catch (NumberFormatException e) {
+            // Reported below, with the option name.
+        }
+        throw new IllegalArgumentException(
+                "--" + BATCH_SIZE_OPTION + " must be a positive integer, but was '" + value + "'.");
+    }
+}
@@ -1,18 +1,76 @@
 package io.github.manojohnsons.financeapi.config;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 public class SecurityConfig {
 
+    /*
+     * Stateless: no session is created, every request is authenticated by its bearer token.
+     * Only the login, the registration and the token refresh, the API docs and the health
+     * check are public. The refresh must be: it's called once the access token has expired,
+     * and the refresh token in its body is the credential. The logout needs the access token.
+     */
+    @Bean
+    SecurityFilterChain securityFilterChain(HttpSecurity http, SecurityFilter securityFilter,
+            RateLimitFilter rateLimitFilter) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/register", "/auth/refresh").permitAll()
+                        .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().authenticated())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, SecurityFilter.class)
+                .build();
+    }
+
+    /*
+     * As beans, the filters would also be registered in the servlet container, ahead of the
+     * security chain; the authentication would be lost and their run inside the chain skipped.
+     */
+    @Bean
+    FilterRegistrationBean<SecurityFilter> securityFilterRegistration(SecurityFilter securityFilter) {
+        var registration = new FilterRegistrationBean<>(securityFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        var registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /*
+     * BCrypt runs on a bounded pool of its own, off the request threads. Hashes of a lower
+     * cost than the configured one are upgraded on login through UserDetailsPasswordService.
+     */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(properties.strength()),
+                properties.effectiveThreads(), properties.queueCapacity(), meterRegistry);
     }
 
     @Bean
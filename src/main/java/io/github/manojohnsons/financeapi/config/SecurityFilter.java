@@ -0,0 +1,55 @@
+package io.github.manojohnsons.financeapi.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.github.manojohnsons.financeapi.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates the requests that carry a valid bearer token. The principal is
+ * an {@link io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO}
+ * built from the token claims, so no request reads the user from the database.
+ * Requests without a valid token go on unauthenticated, and the security chain
+ * decides whether they may.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecurityFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var token = recoverToken(request);
+        if (token != null)
+            tokenService.validate(token).ifPresent(principal -> {
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String recoverToken(HttpServletRequest request) {
+        var header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length()))
+            return null;
+
+        var token = header.substring(BEARER_PREFIX.length()).strip();
+        return token.isEmpty() ? null : token;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning of the bulk transaction import.
+ * 
+ * @param batchSize         The number of rows persisted per database
+ *                          transaction.
+ * @param maxReportedErrors The largest number of row errors listed in the
+ *                          result; the rest are only counted.
+ */
+@ConfigurationProperties(prefix = "api.transactions.import")
+public record TransactionImportProperties(
+        int batchSize,
+        int maxReportedErrors) {
+
+}
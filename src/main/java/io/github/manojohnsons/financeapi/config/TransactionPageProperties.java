@@ -0,0 +1,16 @@
+package io.github.manojohnsons.financeapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Page sizes of the keyset-paginated transaction listing.
+ * 
+ * @param defaultSize The page size used when the client doesn't ask for one.
+ * @param maxSize     The largest page size a client can ask for.
+ */
+@ConfigurationProperties(prefix = "api.transactions.page")
+public record TransactionPageProperties(
+        int defaultSize,
+        int maxSize) {
+
+}
@@ -0,0 +1,8 @@
+package io.github.manojohnsons.financeapi.domain.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD;
+}
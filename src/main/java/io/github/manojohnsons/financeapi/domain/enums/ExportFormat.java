@@ -0,0 +1,6 @@
+package io.github.manojohnsons.financeapi.domain.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON;
+}
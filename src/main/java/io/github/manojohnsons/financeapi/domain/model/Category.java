@@ -14,7 +14,8 @@ import lombok.Setter;
 public class Category {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_id_seq")
+    @SequenceGenerator(name = "categories_id_seq", sequenceName = "tab_categories_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
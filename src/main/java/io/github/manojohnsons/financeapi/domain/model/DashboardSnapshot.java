@@ -0,0 +1,44 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * Derived data: the rows are only written through the fenced upserts of
+ * DashboardSnapshotRepository, so the entity is read-only.
+ */
+@Entity
+@Table(name = "tab_dashboard_snapshots")
+@NoArgsConstructor
+@Getter
+public class DashboardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "year_month", nullable = false)
+    private LocalDate yearMonth;
+
+    // Null while the snapshot is invalidated.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private DashboardResponseDTO summary;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "computed_at")
+    private Instant computedAt;
+}
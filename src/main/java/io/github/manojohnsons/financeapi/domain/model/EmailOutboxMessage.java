@@ -0,0 +1,100 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * A rendered e-mail waiting for delivery. After the insert, the rows only change through
+ * claim() and deadLetter() inside the claiming transaction and the fenced updates of EmailOutboxRepository.
+ */
+@Entity
+@Table(name = "tab_email_outbox")
+@NoArgsConstructor
+@Getter
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_id_seq")
+    @SequenceGenerator(name = "email_outbox_id_seq", sequenceName = "tab_email_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "summary_month")
+    private LocalDate summaryMonth;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    public EmailOutboxMessage(Long userId, LocalDate summaryMonth, EmailMessageDTO message) {
+        this.userId = userId;
+        this.summaryMonth = summaryMonth;
+        this.recipient = message.to();
+        this.subject = message.subject();
+        this.body = message.text();
+        this.status = EmailOutboxStatus.PENDING;
+        this.createdAt = Instant.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    /**
+     * Take the message for one delivery attempt. The attempt number also fences
+     * the later updates: if the lease expires and another worker claims the
+     * message again, the updates of the first attempt no longer match.
+     * 
+     * @param leaseUntil When the message becomes claimable again if the worker
+     *                   never reports the outcome.
+     */
+    public void claim(Instant leaseUntil) {
+        this.status = EmailOutboxStatus.SENDING;
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    /**
+     * Give up the message without another attempt, inside the claiming
+     * transaction.
+     * 
+     * @param error Why the message was given up.
+     */
+    public void deadLetter(String error) {
+        this.status = EmailOutboxStatus.DEAD;
+        this.lastError = error;
+    }
+
+    public EmailMessageDTO toEmailMessage() {
+        return new EmailMessageDTO(recipient, subject, body);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import io.github.manojohnsons.financeapi.domain.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * Written only through the native insert and the update of JobRunRepository, which are
+ * safe to run from every replica at the same time.
+ */
+@Entity
+@Table(name = "tab_job_runs")
+@NoArgsConstructor
+@Getter
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDate period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
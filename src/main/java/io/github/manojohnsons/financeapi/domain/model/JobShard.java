@@ -0,0 +1,85 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import io.github.manojohnsons.financeapi.domain.enums.JobShardStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * The shards are created by the native planning insert of JobShardRepository; afterwards
+ * they only change through claim() inside the claiming transaction and the fenced updates
+ * (checkpoints and completion).
+ */
+@Entity
+@Table(name = "tab_job_shards")
+@NoArgsConstructor
+@Getter
+public class JobShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(nullable = false)
+    private LocalDate period;
+
+    @Column(nullable = false)
+    private int shard;
+
+    @Column(name = "from_user_id", nullable = false)
+    private long fromUserId;
+
+    @Column(name = "to_user_id", nullable = false)
+    private long toUserId;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    @Column(nullable = false)
+    private long succeeded;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobShardStatus status;
+
+    @Column(nullable = false)
+    private int claims;
+
+    // The claims since the shard was planned; unlike claims, it doesn't fence anything.
+    @Column(nullable = false)
+    private int attempts;
+
+    private String owner;
+
+    @Column(name = "lease_until")
+    private Instant leaseUntil;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    /**
+     * Take the shard for the given replica. The claim number fences the later
+     * updates: once the lease expires and another replica claims the shard, the
+     * renewals and the completion of the previous owner no longer match.
+     * 
+     * @param owner      The replica taking the shard.
+     * @param leaseUntil When the shard becomes claimable again if the lease
+     *                   isn't renewed.
+     */
+    public void claim(String owner, Instant leaseUntil) {
+        this.status = JobShardStatus.RUNNING;
+        this.claims++;
+        this.attempts++;
+        this.owner = owner;
+        this.leaseUntil = leaseUntil;
+    }
+}
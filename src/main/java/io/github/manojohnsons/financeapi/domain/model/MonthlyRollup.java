@@ -0,0 +1,53 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * Derived data: the rows are only written through the native upserts of MonthlyRollupRepository,
+ * so the entity is read-only and references users and categories by their IDs.
+ */
+@Entity
+@Table(name = "tab_monthly_rollups")
+@NoArgsConstructor
+@Getter
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "year_month", nullable = false)
+    private LocalDate yearMonth;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    public MonthlyRollup(Long userId, LocalDate yearMonth, Long categoryId, TransactionType type,
+            BigDecimal totalAmount, long transactionCount) {
+        this.userId = userId;
+        this.yearMonth = yearMonth;
+        this.categoryId = categoryId;
+        this.type = type;
+        this.totalAmount = totalAmount;
+        this.transactionCount = transactionCount;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.manojohnsons.financeapi.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * An access token revoked before its expiry. Read-only: the rows are only inserted and
+ * purged through the native queries of RevokedTokenRepository.
+ */
+@Entity
+@Table(name = "tab_revoked_tokens")
+@NoArgsConstructor
+@Getter
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id")
+    private UUID tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
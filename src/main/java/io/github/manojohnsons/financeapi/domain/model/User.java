@@ -1,5 +1,11 @@
 package io.github.manojohnsons.financeapi.domain.model;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,10 +15,11 @@ import lombok.Setter;
 @Table(name = "tab_users")
 @NoArgsConstructor
 @Getter
-public class User {
+public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "tab_users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,9 +36,25 @@ public class User {
     @Setter
     private String password;
 
+    // A BCP 47 language tag, like pt-BR or en.
+    @Column(nullable = false, length = 35)
+    @Setter
+    private String locale = "pt-BR";
+
     public User(String name, String email, String password) {
         this.name = name;
         this.email = email;
         this.password = password;
     }
+
+    // The e-mail is the login of the user.
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
 }
@@ -1,5 +1,7 @@
 package io.github.manojohnsons.financeapi.domain.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +16,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByUserId(Long userId);
 
     Optional<Category> findByIdAndUserId(Long id, Long userId);
+
+    List<Category> findByUserIdAndMonthlyGoalGreaterThan(Long userId, BigDecimal monthlyGoal);
+
+    List<Category> findByUserIdInAndMonthlyGoalGreaterThan(Collection<Long> userIds, BigDecimal monthlyGoal);
 }
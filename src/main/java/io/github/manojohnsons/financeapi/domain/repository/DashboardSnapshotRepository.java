@@ -0,0 +1,108 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.model.DashboardSnapshot;
+
+@Repository
+public interface DashboardSnapshotRepository extends JpaRepository<DashboardSnapshot, Long> {
+
+    Optional<DashboardSnapshot> findByUserIdAndYearMonth(Long userId, LocalDate yearMonth);
+
+    List<DashboardSnapshot> findByUserIdInAndYearMonth(Collection<Long> userIds, LocalDate yearMonth);
+
+    /**
+     * Store a computed snapshot, unless the month changed since the snapshot
+     * state it was computed after was read. A missing snapshot is only
+     * inserted if it's still missing; an invalidated one is only filled if its
+     * version is still the same.
+     * 
+     * @param userId          The user ID.
+     * @param yearMonth       The first day of the month.
+     * @param summary         The summary, as JSON.
+     * @param computedAt      When the summary was computed.
+     * @param expectedVersion The version read before computing the summary, or
+     *                        -1 if there was no snapshot.
+     * @return 1 if the snapshot was stored, 0 if it was fenced out.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_dashboard_snapshots (user_id, year_month, summary, version, computed_at)
+            VALUES (:userId, :yearMonth, CAST(:summary AS JSONB), 0, :computedAt)
+            ON CONFLICT ON CONSTRAINT uk_dashboard_snapshots_user_month DO UPDATE
+            SET summary = EXCLUDED.summary,
+                computed_at = EXCLUDED.computed_at
+            WHERE tab_dashboard_snapshots.version = :expectedVersion
+                AND tab_dashboard_snapshots.summary IS NULL
+            """, nativeQuery = true)
+    int store(@Param("userId") Long userId, @Param("yearMonth") LocalDate yearMonth,
+            @Param("summary") String summary, @Param("computedAt") Instant computedAt,
+            @Param("expectedVersion") long expectedVersion);
+
+    /**
+     * Invalidate the snapshot of a month and bump its version. The row is
+     * created if the month has no snapshot yet, so a snapshot being computed
+     * from the data before this change can't be inserted afterwards.
+     * 
+     * @param userId    The user ID.
+     * @param yearMonth The first day of the month.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_dashboard_snapshots (user_id, year_month, summary, version)
+            VALUES (:userId, :yearMonth, NULL, 1)
+            ON CONFLICT ON CONSTRAINT uk_dashboard_snapshots_user_month DO UPDATE
+            SET summary = NULL,
+                computed_at = NULL,
+                version = tab_dashboard_snapshots.version + 1
+            """, nativeQuery = true)
+    void invalidate(@Param("userId") Long userId, @Param("yearMonth") LocalDate yearMonth);
+
+    /**
+     * Invalidate every closed month of the users in the given ID range and bump
+     * its version: the months with a snapshot, and every month from the first
+     * one with rollups on. As by {@link #invalidate(Long, LocalDate)}, a row is
+     * created for the months without a snapshot yet, so a snapshot being
+     * computed from the data before this change can't be inserted afterwards.
+     * 
+     * @param firstUserId     The first user ID of the range (inclusive).
+     * @param lastUserId      The last user ID of the range (inclusive).
+     * @param lastClosedMonth The first day of the last closed month.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_dashboard_snapshots (user_id, year_month, summary, version)
+            SELECT user_id, year_month, NULL, 1
+            FROM (
+                SELECT user_id, year_month
+                FROM tab_dashboard_snapshots
+                WHERE user_id BETWEEN :firstUserId AND :lastUserId
+                UNION
+                SELECT first_months.user_id, CAST(series.month_start AS DATE)
+                FROM (
+                    SELECT user_id, MIN(year_month) AS first_month
+                    FROM tab_monthly_rollups
+                    WHERE user_id BETWEEN :firstUserId AND :lastUserId AND year_month <= :lastClosedMonth
+                    GROUP BY user_id
+                ) first_months
+                CROSS JOIN LATERAL generate_series(CAST(first_months.first_month AS TIMESTAMP),
+                    CAST(:lastClosedMonth AS TIMESTAMP), INTERVAL '1 month') AS series(month_start)
+            ) months
+            ON CONFLICT ON CONSTRAINT uk_dashboard_snapshots_user_month DO UPDATE
+            SET summary = NULL,
+                computed_at = NULL,
+                version = tab_dashboard_snapshots.version + 1
+            """, nativeQuery = true)
+    void invalidateUserRange(@Param("firstUserId") Long firstUserId, @Param("lastUserId") Long lastUserId,
+            @Param("lastClosedMonth") LocalDate lastClosedMonth);
+}
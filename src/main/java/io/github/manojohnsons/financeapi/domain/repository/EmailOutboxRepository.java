@@ -0,0 +1,71 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Lock the next messages due for delivery: pending ones whose retry time has
+     * come, and claimed ones whose lease expired. Rows locked by another worker
+     * are skipped instead of waited for, so concurrent workers (in this or other
+     * instances) always get disjoint batches. Must run inside a transaction.
+     * 
+     * @param limit The maximum number of messages to lock.
+     * @return The locked messages, oldest due first.
+     */
+    @Query(value = """
+            SELECT * FROM tab_email_outbox
+            WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= now()
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutboxMessage> lockDueMessages(@Param("limit") int limit);
+
+    /**
+     * Record the outcome of a delivery attempt. Only applies while the message
+     * is still held by that attempt.
+     * 
+     * @param id            The message ID.
+     * @param attempt       The attempt number set by the claim.
+     * @param status        The new status (PENDING to retry, SENT or DEAD).
+     * @param nextAttemptAt The retry time (ignored unless PENDING).
+     * @param sentAt        The delivery time, or null.
+     * @param lastError     The delivery error, or null.
+     * @return 1 if the outcome was recorded, 0 if the attempt lost its lease.
+     */
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.sentAt = :sentAt, m.lastError = :lastError
+            WHERE m.id = :id AND m.attempts = :attempt AND m.status = io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus.SENDING
+            """)
+    int recordAttempt(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") EmailOutboxStatus status,
+            @Param("nextAttemptAt") Instant nextAttemptAt, @Param("sentAt") Instant sentAt,
+            @Param("lastError") String lastError);
+
+    /**
+     * Find which of the given users already have the summary of a month queued
+     * (or sent), so a resumed or re-triggered run doesn't queue it again.
+     * 
+     * @param userIds      The users to check.
+     * @param summaryMonth The first day of the summary month.
+     * @return The IDs of the users whose summary is already in the outbox.
+     */
+    @Query("SELECT m.userId FROM EmailOutboxMessage m WHERE m.summaryMonth = :summaryMonth AND m.userId IN :userIds")
+    List<Long> findUserIdsWithSummary(@Param("userIds") Collection<Long> userIds,
+            @Param("summaryMonth") LocalDate summaryMonth);
+}
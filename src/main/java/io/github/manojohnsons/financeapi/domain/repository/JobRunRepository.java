@@ -0,0 +1,64 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.enums.JobRunStatus;
+import io.github.manojohnsons.financeapi.domain.model.JobRun;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    /**
+     * Record the start of a run, unless it was already started.
+     * 
+     * @return 1 if the run was created, 0 if it already existed.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_job_runs (job_name, period, status, started_at)
+            VALUES (:jobName, :period, 'RUNNING', now())
+            ON CONFLICT ON CONSTRAINT uk_job_runs_job_period DO NOTHING
+            """, nativeQuery = true)
+    int start(@Param("jobName") String jobName, @Param("period") LocalDate period);
+
+    /**
+     * Mark a run as completed, if it's still running.
+     * 
+     * @return 1 if this call completed the run, 0 otherwise.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobRun r
+            SET r.status = io.github.manojohnsons.financeapi.domain.enums.JobRunStatus.COMPLETED,
+                r.completedAt = :completedAt
+            WHERE r.jobName = :jobName AND r.period = :period
+              AND r.status = io.github.manojohnsons.financeapi.domain.enums.JobRunStatus.RUNNING
+            """)
+    int complete(@Param("jobName") String jobName, @Param("period") LocalDate period,
+            @Param("completedAt") Instant completedAt);
+
+    /**
+     * Mark a completed run as running again, for a retry.
+     * 
+     * @return 1 if the run was reopened, 0 if it wasn't completed.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobRun r
+            SET r.status = io.github.manojohnsons.financeapi.domain.enums.JobRunStatus.RUNNING,
+                r.completedAt = null
+            WHERE r.jobName = :jobName AND r.period = :period
+              AND r.status = io.github.manojohnsons.financeapi.domain.enums.JobRunStatus.COMPLETED
+            """)
+    int reopen(@Param("jobName") String jobName, @Param("period") LocalDate period);
+
+    List<JobRun> findByJobNameAndStatusOrderByPeriod(String jobName, JobRunStatus status);
+}
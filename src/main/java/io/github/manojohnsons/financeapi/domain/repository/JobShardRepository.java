@@ -0,0 +1,158 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.enums.JobShardStatus;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+
+@Repository
+public interface JobShardRepository extends JpaRepository<JobShard, Long> {
+
+    /**
+     * Serialize the planning of a job among the replicas, until the end of the
+     * current transaction (a transaction-scoped Postgres advisory lock).
+     * 
+     * @param jobName The job being planned.
+     * @return Always 1.
+     */
+    @Query(value = "SELECT COUNT(*) FROM pg_advisory_xact_lock(hashtext(:jobName))", nativeQuery = true)
+    long lockJob(@Param("jobName") String jobName);
+
+    /**
+     * Split the user ID space of a run into shards of about the same number of
+     * users, unless the run was already planned by another replica. Each shard
+     * covers the IDs after the last ID of the previous one; the last shard is
+     * open-ended, so users registered after the planning still belong to a shard.
+     * Must run under {@link #lockJob(String)}.
+     * 
+     * @param jobName The job.
+     * @param period  The period of the run.
+     * @param shards  The number of shards (fewer if there are fewer users).
+     * @return The number of shards created (0 if the run was already planned).
+     */
+    @Modifying
+    @Query(value = """
+            WITH buckets AS (
+                SELECT ntile(:shards) OVER (ORDER BY id) AS shard, id FROM tab_users
+            ), bounds AS (
+                SELECT shard, MAX(id) AS last_id FROM buckets GROUP BY shard
+            )
+            INSERT INTO tab_job_shards (job_name, period, shard, from_user_id, to_user_id, last_user_id, status)
+            SELECT :jobName, :period, shard,
+                   COALESCE(LAG(last_id) OVER (ORDER BY shard), 0),
+                   CASE WHEN shard = MAX(shard) OVER () THEN 9223372036854775807 ELSE last_id END,
+                   COALESCE(LAG(last_id) OVER (ORDER BY shard), 0),
+                   'PENDING'
+            FROM bounds
+            WHERE NOT EXISTS (SELECT 1 FROM tab_job_shards WHERE job_name = :jobName AND period = :period)
+            """, nativeQuery = true)
+    int planShards(@Param("jobName") String jobName, @Param("period") LocalDate period, @Param("shards") int shards);
+
+    /**
+     * Plan the finished shards of a run again, from their start, for a retry of
+     * the run. The shards still pending or held are left as they are. The
+     * succeeded count is kept; the failed one is reset, as those users are
+     * retried.
+     * 
+     * @param jobName The job.
+     * @param period  The period of the run.
+     * @return The number of shards planned again.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tab_job_shards
+            SET status = 'PENDING', last_user_id = from_user_id, attempts = 0, failed = 0,
+                owner = NULL, lease_until = NULL, completed_at = NULL
+            WHERE job_name = :jobName AND period = :period AND status IN ('DONE', 'FAILED')
+            """, nativeQuery = true)
+    int replanFinished(@Param("jobName") String jobName, @Param("period") LocalDate period);
+
+    /**
+     * Lock the next shard of a run that is free to claim: pending, or running
+     * with an expired lease. Shards locked by other replicas are skipped. Must
+     * run inside a transaction.
+     * 
+     * @param jobName The job.
+     * @param period  The period of the run.
+     * @return The locked shard, if any is free.
+     */
+    @Query(value = """
+            SELECT * FROM tab_job_shards
+            WHERE job_name = :jobName AND period = :period
+              AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < now()))
+            ORDER BY shard
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<JobShard> lockFreeShard(@Param("jobName") String jobName, @Param("period") LocalDate period);
+
+    /**
+     * Give up the shards of a run that were claimed too many times without
+     * being completed, and whose last lease expired: they failed on every
+     * claim, so claiming them again would only fail again.
+     * 
+     * @param jobName     The job.
+     * @param period      The period of the run.
+     * @param maxAttempts The claims after which a shard is given up.
+     * @return The number of shards marked as failed.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tab_job_shards
+            SET status = 'FAILED', lease_until = NULL, completed_at = now()
+            WHERE job_name = :jobName AND period = :period
+              AND status = 'RUNNING' AND lease_until < now() AND attempts >= :maxAttempts
+            """, nativeQuery = true)
+    int failExhausted(@Param("jobName") String jobName, @Param("period") LocalDate period,
+            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Record the progress of a shard and extend its lease, if the claim still
+     * holds it.
+     * 
+     * @param id         The shard ID.
+     * @param claim      The claim number set by the claim.
+     * @param lastUserId The last user ID of the committed chunk.
+     * @param succeeded  The users of the chunk that succeeded.
+     * @param failed     The users of the chunk that failed.
+     * @param leaseUntil The new end of the lease.
+     * @return 1 if the checkpoint was recorded, 0 if the claim lost the shard.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobShard s
+            SET s.lastUserId = :lastUserId, s.succeeded = s.succeeded + :succeeded, s.failed = s.failed + :failed,
+                s.leaseUntil = :leaseUntil
+            WHERE s.id = :id AND s.claims = :claim AND s.status = io.github.manojohnsons.financeapi.domain.enums.JobShardStatus.RUNNING
+            """)
+    int checkpoint(@Param("id") Long id, @Param("claim") int claim, @Param("lastUserId") long lastUserId,
+            @Param("succeeded") long succeeded, @Param("failed") long failed,
+            @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Mark a shard as done, if the claim still holds it.
+     * 
+     * @return 1 if the shard was completed, 0 if the claim lost the shard.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobShard s
+            SET s.status = io.github.manojohnsons.financeapi.domain.enums.JobShardStatus.DONE,
+                s.leaseUntil = null, s.completedAt = :completedAt
+            WHERE s.id = :id AND s.claims = :claim AND s.status = io.github.manojohnsons.financeapi.domain.enums.JobShardStatus.RUNNING
+            """)
+    int complete(@Param("id") Long id, @Param("claim") int claim, @Param("completedAt") Instant completedAt);
+
+    long countByJobNameAndPeriodAndStatusIn(String jobName, LocalDate period, Collection<JobShardStatus> statuses);
+
+    long countByJobNameAndPeriodAndStatus(String jobName, LocalDate period, JobShardStatus status);
+}
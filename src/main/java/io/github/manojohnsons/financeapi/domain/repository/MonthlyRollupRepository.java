@@ -0,0 +1,176 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.model.MonthlyRollup;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    /**
+     * Search the rollups of a user in a given month.
+     * Returns at most one row per (category, type), whatever the number of
+     * transactions in the month.
+     * 
+     * @param userId    The user ID.
+     * @param yearMonth The first day of the desired month.
+     * @return The rollups of the month.
+     */
+    List<MonthlyRollup> findByUserIdAndYearMonth(Long userId, LocalDate yearMonth);
+
+    /**
+     * Search the rollups of several users in a given month, in one query.
+     * 
+     * @param userIds   The user IDs.
+     * @param yearMonth The first day of the desired month.
+     * @return The rollups of the month of every given user.
+     */
+    List<MonthlyRollup> findByUserIdInAndYearMonth(Collection<Long> userIds, LocalDate yearMonth);
+
+    /**
+     * Hold the rollups of a user against a rebuild until the end of the current
+     * transaction (a shared, transaction-scoped Postgres advisory lock). Taken by
+     * the write paths before their deltas, so a rebuild never interleaves with
+     * them; the writes of a user don't block each other.
+     * 
+     * @param userId The user ID.
+     * @return Always 1.
+     */
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM pg_advisory_xact_lock_shared(hashtext('tab_monthly_rollups'), CAST(:userId % 2147483648 AS INT))
+            """, nativeQuery = true)
+    long lockUser(@Param("userId") Long userId);
+
+    /**
+     * Take the rollups of every user in the given ID range away from the write
+     * paths until the end of the current transaction: the exclusive counterpart
+     * of {@link #lockUser(Long)}, one lock per user, in ID order. Must be taken
+     * before the rollups of the range are deleted and recomputed.
+     * 
+     * @param firstUserId The first user ID of the range (inclusive).
+     * @param lastUserId  The last user ID of the range (inclusive).
+     * @return The number of users locked.
+     */
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT pg_advisory_xact_lock(hashtext('tab_monthly_rollups'), CAST(id % 2147483648 AS INT))
+                FROM tab_users
+                WHERE id BETWEEN :firstUserId AND :lastUserId
+                ORDER BY id
+            ) locks
+            """, nativeQuery = true)
+    long lockUserRange(@Param("firstUserId") Long firstUserId, @Param("lastUserId") Long lastUserId);
+
+    /**
+     * Add a delta to the rollup of a (user, month, category, type) key, creating
+     * the row if it doesn't exist yet. Negative deltas are used to take a
+     * transaction out of its rollup.
+     * 
+     * @param userId      The user ID.
+     * @param yearMonth   The first day of the month.
+     * @param categoryId  The category ID (null for uncategorized transactions).
+     * @param type        The transaction type name.
+     * @param amountDelta The amount to add to the total.
+     * @param countDelta  The number to add to the transaction count.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_monthly_rollups (user_id, year_month, category_id, type, total_amount, transaction_count)
+            VALUES (:userId, :yearMonth, :categoryId, :type, :amountDelta, :countDelta)
+            ON CONFLICT ON CONSTRAINT uk_monthly_rollups_key DO UPDATE
+            SET total_amount = tab_monthly_rollups.total_amount + EXCLUDED.total_amount,
+                transaction_count = tab_monthly_rollups.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("yearMonth") LocalDate yearMonth,
+            @Param("categoryId") Long categoryId, @Param("type") String type,
+            @Param("amountDelta") BigDecimal amountDelta, @Param("countDelta") long countDelta);
+
+    /**
+     * Merge the rollups of a category into the uncategorized rollups of the same
+     * user, month and type. Used before deleting a category, together with
+     * {@link #deleteByCategoryId(Long)}.
+     * 
+     * @param categoryId The category ID.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_monthly_rollups (user_id, year_month, category_id, type, total_amount, transaction_count)
+            SELECT user_id, year_month, NULL, type, total_amount, transaction_count
+            FROM tab_monthly_rollups
+            WHERE category_id = :categoryId
+            ON CONFLICT ON CONSTRAINT uk_monthly_rollups_key DO UPDATE
+            SET total_amount = tab_monthly_rollups.total_amount + EXCLUDED.total_amount,
+                transaction_count = tab_monthly_rollups.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    void mergeIntoUncategorized(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tab_monthly_rollups WHERE category_id = :categoryId", nativeQuery = true)
+    void deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tab_monthly_rollups WHERE user_id BETWEEN :firstUserId AND :lastUserId", nativeQuery = true)
+    void deleteByUserIdRange(@Param("firstUserId") Long firstUserId, @Param("lastUserId") Long lastUserId);
+
+    /**
+     * Recompute from tab_transactions the rollups of every user in the given ID
+     * range. The existing rollups of the range must be deleted first, under
+     * {@link #lockUserRange(Long, Long)}.
+     * 
+     * @param firstUserId The first user ID of the range (inclusive).
+     * @param lastUserId  The last user ID of the range (inclusive).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_monthly_rollups (user_id, year_month, category_id, type, total_amount, transaction_count)
+            SELECT user_id, CAST(date_trunc('month', date) AS DATE), category_id, type, SUM(amount), COUNT(*)
+            FROM tab_transactions
+            WHERE user_id BETWEEN :firstUserId AND :lastUserId
+            GROUP BY user_id, CAST(date_trunc('month', date) AS DATE), category_id, type
+            """, nativeQuery = true)
+    void insertFromTransactions(@Param("firstUserId") Long firstUserId, @Param("lastUserId") Long lastUserId);
+
+    /**
+     * Count the rollup keys of the given user ID range that don't match the
+     * totals recomputed from tab_transactions (missing, extra or wrong rows).
+     * Empty rollups (left behind when the last transaction of a key is removed)
+     * are ignored.
+     * 
+     * @param firstUserId The first user ID of the range (inclusive).
+     * @param lastUserId  The last user ID of the range (inclusive).
+     * @return The number of drifting rollup keys.
+     */
+    @Query(value = """
+            SELECT COUNT(*)
+            FROM (
+                SELECT user_id, CAST(date_trunc('month', date) AS DATE) AS year_month, category_id, type,
+                       SUM(amount) AS total_amount, COUNT(*) AS transaction_count
+                FROM tab_transactions
+                WHERE user_id BETWEEN :firstUserId AND :lastUserId
+                GROUP BY user_id, CAST(date_trunc('month', date) AS DATE), category_id, type
+            ) expected
+            FULL OUTER JOIN (
+                SELECT user_id, year_month, category_id, type, total_amount, transaction_count
+                FROM tab_monthly_rollups
+                WHERE user_id BETWEEN :firstUserId AND :lastUserId AND transaction_count <> 0
+            ) actual
+            ON expected.user_id = actual.user_id
+                AND expected.year_month = actual.year_month
+                AND COALESCE(expected.category_id, 0) = COALESCE(actual.category_id, 0)
+                AND expected.type = actual.type
+            WHERE expected.total_amount IS DISTINCT FROM actual.total_amount
+                OR expected.transaction_count IS DISTINCT FROM actual.transaction_count
+            """, nativeQuery = true)
+    long countDriftingRollups(@Param("firstUserId") Long firstUserId, @Param("lastUserId") Long lastUserId);
+}
@@ -0,0 +1,55 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Lock the refresh token with the given hash until the end of the current
+     * transaction, so two renewals with the same token are serialized and the
+     * second sees the token as used. Must run inside a transaction.
+     * 
+     * @param tokenHash The hex SHA-256 of the token.
+     * @return The locked token, whatever its state, if it exists.
+     */
+    @Query(value = "SELECT * FROM tab_refresh_tokens WHERE token_hash = :tokenHash FOR UPDATE", nativeQuery = true)
+    Optional<RefreshToken> lockByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token as rotated. Must run under {@link #lockByTokenHash(String)}.
+     * 
+     * @return 1 if the token was still unused.
+     */
+    @Modifying
+    @Query(value = "UPDATE tab_refresh_tokens SET used_at = :usedAt WHERE id = :id AND used_at IS NULL",
+            nativeQuery = true)
+    int markUsed(@Param("id") Long id, @Param("usedAt") Instant usedAt);
+
+    /**
+     * Revoke every token of a family still in force (on logout, or when a used
+     * token is presented again).
+     * 
+     * @return The number of tokens revoked.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tab_refresh_tokens SET revoked_at = :revokedAt
+            WHERE family_id = :familyId AND revoked_at IS NULL
+            """, nativeQuery = true)
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") Instant revokedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM tab_refresh_tokens WHERE expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,41 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import io.github.manojohnsons.financeapi.domain.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    /**
+     * Record a revoked access token; revoking it again changes nothing.
+     * 
+     * @param tokenId   The ID (jti) of the token.
+     * @param expiresAt The expiry of the token, after which the row is useless.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tab_revoked_tokens (token_id, expires_at)
+            VALUES (:tokenId, :expiresAt)
+            ON CONFLICT (token_id) DO NOTHING
+            """, nativeQuery = true)
+    int revoke(@Param("tokenId") UUID tokenId, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * @return The IDs of the revoked tokens that haven't expired yet.
+     */
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<UUID> findActiveIds(@Param("now") Instant now);
+
+    @Modifying
+    @Query(value = "DELETE FROM tab_revoked_tokens WHERE expires_at < :now", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now);
+}
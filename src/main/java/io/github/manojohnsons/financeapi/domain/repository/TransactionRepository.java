@@ -1,14 +1,23 @@
 package io.github.manojohnsons.financeapi.domain.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO;
 import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -16,25 +25,89 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 
     /**
-     * Search all transactions from a specific user in a given month and year.
-     * Uses a custom JPQL query to filter by date.
+     * Search all transactions from a specific user in a given period, with their
+     * categories in the same query.
+     * The period is half-open ({@code startDate <= date < endDate}) and compares
+     * the raw column, so the (user_id, date) index can be used to seek the range.
+     * 
+     * @param userId    The user ID.
+     * @param startDate The first day of the period (inclusive).
+     * @param endDate   The day after the end of the period (exclusive).
+     * @return A list of transaction rows that matches the criteria.
+     */
+    @Query("""
+            SELECT new io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO(
+                t.id, t.description, t.amount, t.date, t.type, c.id, c.name, c.hexColor, c.icon)
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user.id = :userId AND t.date >= :startDate AND t.date < :endDate
+            """)
+    List<TransactionRowDTO> findByUserIdAndPeriod(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Search the first page of a user's transactions, newest first, with their
+     * categories in the same query.
+     * 
+     * @param userId The user ID.
+     * @param limit  The maximum number of transactions of the page.
+     * @return The newest transaction rows of the user.
+     */
+    @Query("""
+            SELECT new io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO(
+                t.id, t.description, t.amount, t.date, t.type, c.id, c.name, c.hexColor, c.icon)
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user.id = :userId
+            ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionRowDTO> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Search the page of a user's transactions that comes after the given
+     * (date, id) position, newest first. It seeks on the (user_id, date, id)
+     * index instead of skipping rows with OFFSET, so every page costs the same.
+     * 
+     * @param userId The user ID.
+     * @param date   The date of the last transaction of the previous page.
+     * @param id     The ID of the last transaction of the previous page.
+     * @param limit  The maximum number of transactions of the page.
+     * @return The transaction rows older than the given position.
+     */
+    @Query("""
+            SELECT new io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO(
+                t.id, t.description, t.amount, t.date, t.type, c.id, c.name, c.hexColor, c.icon)
+            FROM Transaction t LEFT JOIN t.category c
+            WHERE t.user.id = :userId AND t.date <= :date AND (t.date < :date OR t.id < :id)
+            ORDER BY t.date DESC, t.id DESC
+            """)
+    List<TransactionRowDTO> findPageByUserIdAfter(@Param("userId") Long userId, @Param("date") LocalDate date,
+            @Param("id") Long id, Limit limit);
+
+    /**
+     * Stream the whole history of a user, oldest first, with their categories.
+     * The rows are read from a database cursor in fetch-size chunks, so the
+     * caller must consume the stream inside a transaction and close it.
      * 
      * @param userId The user ID.
-     * @param year   The desired year.
-     * @param month  The desired month (1 to 12).
-     * @return A list of transactions that matches the criteria.
+     * @return A stream over every transaction of the user.
      */
-    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND YEAR(t.date) = :year AND MONTH(t.date) = :month")
-    List<Transaction> findByUserIdAndYearAndMonth(@Param("userId") Long userId, @Param("year") int year,
-            @Param("month") int month);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t LEFT JOIN FETCH t.category WHERE t.user.id = :userId ORDER BY t.date, t.id")
+    Stream<Transaction> streamAllByUserId(@Param("userId") Long userId);
 
     /**
-     * Search all transactions associated with a specific category.
-     * Used in the business logic to disassociate transactions before deleting a
-     * category.
+     * Detach every transaction of a user's category with a single UPDATE.
+     * Used in the business logic before deleting a category. The persistence
+     * context is flushed first, but not cleared: managed transactions of the
+     * category would keep their stale reference.
      * 
      * @param categoryId The category ID.
-     * @return A list of transactions
+     * @param userId     The user ID.
+     * @return The number of updated transactions.
      */
-    List<Transaction> findByCategoryId(Long categoryId);
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.category = null WHERE t.category.id = :categoryId AND t.user.id = :userId")
+    int disassociateCategory(@Param("categoryId") Long categoryId, @Param("userId") Long userId);
 }
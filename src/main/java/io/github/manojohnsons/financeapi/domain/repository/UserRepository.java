@@ -1,10 +1,15 @@
 package io.github.manojohnsons.financeapi.domain.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
 
 @Repository
@@ -13,4 +18,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Walk the user IDs in ascending order, one page at a time (keyset pagination).
+     * 
+     * @param lastId The last ID of the previous page (0 to start from the beginning).
+     * @param limit  The maximum number of IDs of the page.
+     * @return The next user IDs after {@code lastId}.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Limit limit);
+
+    /**
+     * Walk the user IDs of an ID range in ascending order, one page at a time
+     * (keyset pagination).
+     * 
+     * @param lastId The last ID of the previous page (the exclusive start of the
+     *               range to start from the beginning).
+     * @param toId   The inclusive end of the range.
+     * @param limit  The maximum number of IDs of the page.
+     * @return The next user IDs after {@code lastId}, up to {@code toId}.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :lastId AND u.id <= :toId ORDER BY u.id")
+    List<Long> findIdsBetween(@Param("lastId") Long lastId, @Param("toId") Long toId, Limit limit);
+
+    /**
+     * Walk the users of an ID range in ascending ID order, one page at a time
+     * (keyset pagination), reading only the columns needed to e-mail them.
+     * 
+     * @param lastId The last ID of the previous page (the exclusive start of the
+     *               range to start from the beginning).
+     * @param toId   The inclusive end of the range.
+     * @param limit  The maximum number of users of the page.
+     * @return The next users after {@code lastId}, up to {@code toId}.
+     */
+    @Query("""
+            SELECT new io.github.manojohnsons.financeapi.application.dto.UserContactDTO(u.id, u.name, u.email, u.locale)
+            FROM User u
+            WHERE u.id > :lastId AND u.id <= :toId
+            ORDER BY u.id
+            """)
+    List<UserContactDTO> findContactsBetween(@Param("lastId") Long lastId, @Param("toId") Long toId, Limit limit);
 }
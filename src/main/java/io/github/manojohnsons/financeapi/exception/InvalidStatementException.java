@@ -0,0 +1,12 @@
+package io.github.manojohnsons.financeapi.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidStatementException extends RuntimeException {
+
+    public InvalidStatementException(String message) {
+        super(message);
+    }
+}
@@ -1,18 +1,23 @@
 package io.github.manojohnsons.financeapi.service;
 
+import java.util.Locale;
+
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
 import io.github.manojohnsons.financeapi.application.dto.LoginRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.LoginResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.RefreshRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.UserRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.UserResponseDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
 import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
 import io.github.manojohnsons.financeapi.exception.EmailAlreadyExistsException;
+import io.github.manojohnsons.financeapi.exception.InvalidRefreshTokenException;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -23,6 +28,8 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Transactional
     public UserResponseDTO register(UserRequestDTO dto) {
@@ -31,6 +38,8 @@ public class AuthenticationService {
 
         var encryptedPassword = passwordEncoder.encode(dto.password());
         var newUser = new User(dto.name(), dto.email(), encryptedPassword);
+        if (dto.locale() != null)
+            newUser.setLocale(Locale.forLanguageTag(dto.locale()).toLanguageTag());
         var savedUser = userRepository.save(newUser);
 
         return UserResponseDTO.fromEntity(savedUser);
@@ -42,6 +51,31 @@ public class AuthenticationService {
         var user = (User) auth.getPrincipal();
         var token = tokenService.generateToken(user);
 
-        return new LoginResponseDTO(token);
+        return new LoginResponseDTO(token, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * Renew the access token with a refresh token: an indexed lookup instead of
+     * a password check. The refresh token is rotated, so the response carries
+     * the one to use next time.
+     */
+    public LoginResponseDTO refresh(RefreshRequestDTO dto) {
+        var rotated = refreshTokenService.rotate(dto.refreshToken());
+        var user = userRepository.findById(rotated.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token."));
+        var token = tokenService.generateToken(user);
+
+        return new LoginResponseDTO(token, rotated.refreshToken());
+    }
+
+    /**
+     * Revoke the access token of the request and, if given, the family of the
+     * refresh token of the same login. A refresh token of another user is
+     * left alone.
+     */
+    public void logout(AuthenticatedUserDTO principal, RefreshRequestDTO dto) {
+        tokenRevocationService.revoke(principal.tokenId(), principal.expiresAt());
+        if (dto != null)
+            refreshTokenService.revoke(dto.refreshToken(), principal.id());
     }
 }
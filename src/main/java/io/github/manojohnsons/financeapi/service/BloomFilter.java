@@ -0,0 +1,86 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * A Bloom filter of UUIDs: mightContain() never misses an added UUID, and answers true for a
+ * UUID that was never added with about the false positive probability it was sized for. The
+ * bits are set with atomic operations, so it's safe to add and query from any thread. The k
+ * positions are derived from two hashes of the UUID (Kirsch-Mitzenmacher double hashing).
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.bits = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+    }
+
+    /**
+     * @param expectedInsertions        The number of UUIDs the filter will hold.
+     * @param falsePositiveProbability The rate of false positives once it holds
+     *                                 them, between 0 and 1 (exclusive).
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("The expected insertions must be positive.");
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1)
+            throw new IllegalArgumentException("The false positive probability must be between 0 and 1.");
+
+        // m = -n ln(p) / ln(2)^2 bits and k = (m / n) ln(2) hashes minimize the false positives.
+        var bitCount = Math.max(64, (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2))));
+        var hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        return new BloomFilter(bitCount, hashCount);
+    }
+
+    public void add(UUID value) {
+        var hash1 = hash1(value);
+        var hash2 = hash2(value);
+        for (int i = 0; i < hashCount; i++)
+            setBit(Math.floorMod(hash1 + i * hash2, bitCount));
+    }
+
+    public boolean mightContain(UUID value) {
+        var hash1 = hash1(value);
+        var hash2 = hash2(value);
+        for (int i = 0; i < hashCount; i++)
+            if (!getBit(Math.floorMod(hash1 + i * hash2, bitCount)))
+                return false;
+        return true;
+    }
+
+    private static long hash1(UUID value) {
+        return mix(value.getMostSignificantBits() ^ Long.rotateLeft(value.getLeastSignificantBits(), 32));
+    }
+
+    // Never zero, so the k positions of a UUID are distinct.
+    private static long hash2(UUID value) {
+        return mix(value.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    private void setBit(long index) {
+        var word = (int) (index >>> 6);
+        var mask = 1L << index;
+        long current;
+        while (((current = bits.get(word)) & mask) == 0)
+            if (bits.compareAndSet(word, current, current | mask))
+                return;
+    }
+
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    // The finalizer of SplitMix64: spreads the bits, as random UUIDs still have fixed version bits.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -21,6 +21,9 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCache dashboardCache;
+    private final DashboardSnapshotService snapshotService;
 
     @Transactional
     public CategoryResponseDTO create(CategoryRequestDTO dto, Long userId) {
@@ -38,6 +41,12 @@ public class CategoryService {
 
         var savedCategory = categoryRepository.save(newCategory);
 
+        // A category with a goal shows up in the budgets of every month.
+        if (dto.monthlyGoal() != null) {
+            snapshotService.invalidateUser(userId);
+            dashboardCache.evictUser(userId);
+        }
+
         return CategoryResponseDTO.fromEntity(savedCategory);
     }
 
@@ -59,19 +68,22 @@ public class CategoryService {
         category.setIcon(dto.icon());
         category.setMonthlyGoal(dto.monthlyGoal());
 
+        // The name, color and goal are shown in the budgets of every month.
+        snapshotService.invalidateUser(userId);
+        dashboardCache.evictUser(userId);
+
         return CategoryResponseDTO.fromEntity(category);
     }
 
     @Transactional
     public void delete(Long categoryId, Long userId) {
         var category = findCategoryByIdAndUser(categoryId, userId);
-        var transactions = transactionRepository.findByCategoryId(categoryId);
-
-        transactions.forEach(transaction -> transaction.disassociateCategory());
-
-        transactionRepository.saveAll(transactions);
+        transactionRepository.disassociateCategory(categoryId, userId);
+        monthlyRollupService.moveToUncategorized(userId, categoryId);
 
         categoryRepository.delete(category);
+        snapshotService.invalidateUser(userId);
+        dashboardCache.evictUser(userId);
     }
 
     private Category findCategoryByIdAndUser(Long categoryId, Long userId) {
@@ -0,0 +1,137 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of the monthly summaries, keyed by (user, month).
+ * Entries expire after a fixed time and are evicted by the write paths as soon
+ * as a change that affects them is committed. The hit, miss and eviction
+ * counters are published as the {@code cache.*} metrics with
+ * {@code cache=dashboard}. Concurrent misses of a key share one computation
+ * through a {@link SingleFlight}, published with {@code name=dashboard}.
+ */
+@Component
+public class DashboardCache {
+
+    private final Cache<Key, DashboardResponseDTO> cache;
+    private final SingleFlight<Key, DashboardResponseDTO> loads;
+
+    /*
+     * The loads in flight, each with a stamp of its own. An eviction removes the stamp of its key,
+     * so a load that may have read the data from before the change isn't cached.
+     */
+    private final ConcurrentMap<Key, Object> loadStamps = new ConcurrentHashMap<>();
+
+    public DashboardCache(
+            MeterRegistry meterRegistry,
+            @Value("${api.dashboard.cache.maximum-size}") long maximumSize,
+            @Value("${api.dashboard.cache.ttl-minutes}") long ttlMinutes,
+            @Value("${api.dashboard.single-flight.timeout-ms}") long singleFlightTimeoutMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "dashboard");
+        this.loads = new SingleFlight<>("dashboard", Duration.ofMillis(singleFlightTimeoutMs), meterRegistry);
+    }
+
+    /**
+     * Return the cached summary of the month, computing it with the loader on a
+     * miss. Concurrent misses of the same key wait for a single computation,
+     * and get its exception if it fails.
+     * 
+     * @throws io.github.manojohnsons.financeapi.exception.ServiceOverloadedException
+     *         If the computation waited for takes longer than the timeout.
+     */
+    public DashboardResponseDTO get(Long userId, YearMonth month, Supplier<DashboardResponseDTO> loader) {
+        var key = new Key(userId, month);
+        var cached = cache.getIfPresent(key);
+        if (cached != null)
+            return cached;
+
+        return loads.execute(key, () -> load(key, loader));
+    }
+
+    /**
+     * Evict the summary of the month that contains the given date.
+     */
+    public void evict(Long userId, LocalDate date) {
+        var key = new Key(userId, YearMonth.from(date));
+        runAfterCommit(() -> {
+            // The stamp goes first: a load that finishes in between is then either skipped or invalidated.
+            loadStamps.remove(key);
+            loads.forget(key);
+            cache.invalidate(key);
+        });
+    }
+
+    /**
+     * Evict every month of a user. Used when a category changes, as the budgets
+     * of all months show the category data.
+     */
+    public void evictUser(Long userId) {
+        runAfterCommit(() -> {
+            loadStamps.keySet().removeIf(key -> key.userId().equals(userId));
+            loads.forgetIf(key -> key.userId().equals(userId));
+            cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        });
+    }
+
+    private DashboardResponseDTO load(Key key, Supplier<DashboardResponseDTO> loader) {
+        var stamp = new Object();
+        loadStamps.put(key, stamp);
+        try {
+            var summary = loader.get();
+            // Cached under the lock of the stamp's entry, so no eviction can fall between the check and the put.
+            loadStamps.computeIfPresent(key, (k, current) -> {
+                if (current != stamp)
+                    return current;
+                cache.put(key, summary);
+                return null;
+            });
+            return summary;
+        } finally {
+            loadStamps.remove(key, stamp);
+        }
+    }
+
+    /*
+     * Evicting before the commit would let a concurrent reader cache the old data again,
+     * so inside a transaction the eviction waits for the commit (and is skipped on rollback).
+     */
+    private void runAfterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private record Key(Long userId, YearMonth month) {
+    }
+}
@@ -2,60 +2,154 @@ package io.github.manojohnsons.financeapi.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import io.github.manojohnsons.financeapi.application.dto.BudgetCategoryDTO;
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.github.manojohnsons.financeapi.config.ConcurrencyClass;
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimiter;
 import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
-import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.DashboardSnapshot;
+import io.github.manojohnsons.financeapi.domain.model.MonthlyRollup;
 import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
-import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupService monthlyRollupService;
     private final CategoryRepository categoryRepository;
+    private final DashboardCache dashboardCache;
+    private final DashboardSnapshotService snapshotService;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
-    @Transactional(readOnly = true)
+    /*
+     * Not @Transactional on purpose: a cache hit must not borrow a database connection.
+     * On a miss, each query runs in its own read-only transaction. Only the misses are
+     * concurrency limited, with a limit of their own: the hits take microseconds, and
+     * counted with the misses they would skew the latency the limit adapts to.
+     */
     public DashboardResponseDTO generateMonthlySummary(Long userId, int year, int month) {
-        var transactions = transactionRepository.findByUserIdAndYearAndMonth(userId, year, month);
+        var period = YearMonth.of(year, month);
 
-        var totalIncome = calculateTotalByType(transactions, TransactionType.INCOME);
-        var totalExpense = calculateTotalByType(transactions, TransactionType.EXPENSE);
-        var finalBalance = totalIncome.subtract(totalExpense);
+        return dashboardCache.get(userId, period,
+                () -> concurrencyLimiter.call(ConcurrencyClass.DASHBOARD, () -> loadMonthlySummary(userId, period)));
+    }
 
-        var budgets = calculateBudgets(userId, transactions);
+    /**
+     * Generate the summaries of a chunk of users with two queries in total (the
+     * rollups of the month and the goal categories of every user in the chunk),
+     * instead of two per user. Used by the monthly e-mail job and by the
+     * snapshot pre-computation; the results are the same as
+     * {@link #generateMonthlySummary(Long, int, int)} but bypass the cache, so a
+     * run over every user doesn't evict the dashboards in use. Closed months
+     * are read from their snapshots, and only the missing ones are computed
+     * (and stored).
+     * 
+     * @param userIds The user IDs of the chunk.
+     * @param period  The month of the summaries.
+     * @return The summary of each given user, by user ID.
+     */
+    public Map<Long, DashboardResponseDTO> generateMonthlySummaries(List<Long> userIds, YearMonth period) {
+        if (!DashboardSnapshotService.isClosed(period))
+            return calculateMonthlySummaries(userIds, period);
 
-        return new DashboardResponseDTO(totalIncome, totalExpense, finalBalance, budgets);
+        // The snapshots are read before the rollups, so a change in between fences their store out.
+        var snapshots = snapshotService.findAll(userIds, period);
+
+        Map<Long, DashboardResponseDTO> summaries = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (var userId : userIds) {
+            var snapshot = snapshots.get(userId);
+            if (snapshot != null && snapshot.getSummary() != null)
+                summaries.put(userId, snapshot.getSummary());
+            else
+                missing.add(userId);
+        }
+        if (missing.isEmpty())
+            return summaries;
+
+        var computed = calculateMonthlySummaries(missing, period);
+        snapshotService.storeAll(period, computed, snapshots);
+        summaries.putAll(computed);
+
+        return summaries;
+    }
+
+    private DashboardResponseDTO loadMonthlySummary(Long userId, YearMonth period) {
+        if (!DashboardSnapshotService.isClosed(period))
+            return calculateMonthlySummary(userId, period);
+
+        var snapshot = snapshotService.find(userId, period);
+        if (snapshot.isPresent() && snapshot.get().getSummary() != null)
+            return snapshot.get().getSummary();
+
+        var summary = calculateMonthlySummary(userId, period);
+        snapshotService.store(userId, period,
+                snapshot.map(DashboardSnapshot::getVersion).orElse(DashboardSnapshotService.NO_SNAPSHOT), summary);
+
+        return summary;
     }
 
-    private BigDecimal calculateTotalByType(List<Transaction> transactions, TransactionType type) {
-        return transactions.stream()
-                .filter(t -> t.getType() == type)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private Map<Long, DashboardResponseDTO> calculateMonthlySummaries(List<Long> userIds, YearMonth period) {
+        Map<Long, List<MonthlyRollup>> rollupsPerUser = new HashMap<>();
+        for (var rollup : monthlyRollupService.findByUserIdsAndMonth(userIds, period))
+            rollupsPerUser.computeIfAbsent(rollup.getUserId(), id -> new ArrayList<>()).add(rollup);
+
+        Map<Long, List<Category>> goalCategoriesPerUser = new HashMap<>();
+        for (var category : categoryRepository.findByUserIdInAndMonthlyGoalGreaterThan(userIds, BigDecimal.ZERO))
+            goalCategoriesPerUser.computeIfAbsent(category.getUser().getId(), id -> new ArrayList<>()).add(category);
+
+        Map<Long, DashboardResponseDTO> summaries = new HashMap<>();
+        for (var userId : userIds)
+            summaries.put(userId, summarize(
+                    rollupsPerUser.getOrDefault(userId, List.of()),
+                    goalCategoriesPerUser.getOrDefault(userId, List.of())));
+
+        return summaries;
+    }
+
+    private DashboardResponseDTO calculateMonthlySummary(Long userId, YearMonth period) {
+        // The rollups are kept up to date by the write paths, so we read one row per
+        // (category, type) instead of aggregating every transaction of the month.
+        var rollups = monthlyRollupService.findByUserIdAndMonth(userId, period);
+        var goalCategories = categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(userId, BigDecimal.ZERO);
+
+        return summarize(rollups, goalCategories);
     }
 
-    private List<BudgetCategoryDTO> calculateBudgets(Long userId, List<Transaction> transactions) {
-        Map<Long, BigDecimal> totalSpentPerCategory = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE && t.getCategory() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getId(),
-                        Collectors.mapping(Transaction::getAmount,
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))));
+    private DashboardResponseDTO summarize(List<MonthlyRollup> rollups, List<Category> goalCategories) {
+        var totalIncome = BigDecimal.ZERO;
+        var totalExpense = BigDecimal.ZERO;
+        Map<Long, BigDecimal> totalSpentPerCategory = new HashMap<>();
 
-        var userCategories = categoryRepository.findByUserId(userId);
+        for (MonthlyRollup rollup : rollups) {
+            if (rollup.getType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(rollup.getTotalAmount());
+            } else {
+                totalExpense = totalExpense.add(rollup.getTotalAmount());
+                if (rollup.getCategoryId() != null)
+                    totalSpentPerCategory.merge(rollup.getCategoryId(), rollup.getTotalAmount(), BigDecimal::add);
+            }
+        }
+
+        var finalBalance = totalIncome.subtract(totalExpense);
+        var budgets = calculateBudgets(goalCategories, totalSpentPerCategory);
+
+        return new DashboardResponseDTO(totalIncome, totalExpense, finalBalance, budgets);
+    }
 
-        return userCategories.stream()
-                .filter(c -> c.getMonthlyGoal() != null && c.getMonthlyGoal().compareTo(BigDecimal.ZERO) > 0)
+    private List<BudgetCategoryDTO> calculateBudgets(List<Category> goalCategories,
+            Map<Long, BigDecimal> totalSpentPerCategory) {
+        return goalCategories.stream()
                 .map(category -> {
                     var totalSpent = totalSpentPerCategory.getOrDefault(category.getId(), BigDecimal.ZERO);
                     var percentageSpent = totalSpent.multiply(new BigDecimal("100"))
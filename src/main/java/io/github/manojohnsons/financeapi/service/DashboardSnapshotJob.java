@@ -0,0 +1,88 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.github.manojohnsons.financeapi.config.MonthlySummaryProperties;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Pre-computation phase of the monthly summary: stores the snapshot of the month that just
+ * closed for every user, ahead of the e-mail run, so neither the run nor the users opening
+ * the app on the 1st compute the same dashboards at once. It is sharded like the e-mail run,
+ * with the same chunk size and shards; storing a snapshot is idempotent, so a chunk computed
+ * again after a takeover is harmless.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshotJob.class);
+
+    public static final String JOB_NAME = "dashboard-snapshots";
+
+    private final UserRepository userRepository;
+    private final DashboardService dashboardService;
+    private final JobShardService jobShardService;
+    private final JobShardRunner jobShardRunner;
+    private final MonthlySummaryProperties properties;
+
+    @Scheduled(cron = "${api.scheduling.monthly-summary.precompute-cron}")
+    public void precomputeLastMonth() {
+        precompute(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Compute and store the missing snapshots of a closed month for every user.
+     * Every replica may run it at the same time; each shard of users is
+     * handled by one of them.
+     *
+     * @param month The closed month.
+     * @return The number of users whose snapshot was checked by this call.
+     */
+    public long precompute(YearMonth month) {
+        if (!DashboardSnapshotService.isClosed(month))
+            throw new IllegalArgumentException("Only the snapshots of closed months are stored.");
+
+        var sharding = properties.sharding();
+        var users = new AtomicLong();
+
+        log.info("Pre-computing the dashboard snapshots of {}...", month);
+        jobShardService.plan(JOB_NAME, month, sharding.shards());
+        jobShardRunner.run(JOB_NAME, month, sharding, (shard, lease) -> processShard(month, shard, lease, users));
+
+        log.info("Dashboard snapshots of {} pre-computed: {} users checked by this replica.", month, users.get());
+        return users.get();
+    }
+
+    /**
+     * @return Whether the rest of the shard was processed; false if the lease
+     *         was lost on the way.
+     */
+    private boolean processShard(YearMonth month, JobShard shard, Duration lease, AtomicLong users) {
+        long lastUserId = shard.getLastUserId();
+        List<Long> userIds;
+        while (!(userIds = userRepository.findIdsBetween(lastUserId, shard.getToUserId(),
+                Limit.of(properties.chunkSize()))).isEmpty()) {
+            // The snapshots are stored as they're computed; the checkpoint only records the progress.
+            dashboardService.generateMonthlySummaries(userIds, month);
+            lastUserId = userIds.get(userIds.size() - 1);
+
+            var held = jobShardService.checkpoint(shard, lastUserId, userIds.size(), 0, lease, () -> {});
+            if (!held)
+                return false;
+            users.addAndGet(userIds.size());
+        }
+        return true;
+    }
+}
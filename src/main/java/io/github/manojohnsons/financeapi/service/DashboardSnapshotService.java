@@ -0,0 +1,151 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.github.manojohnsons.financeapi.domain.model.DashboardSnapshot;
+import io.github.manojohnsons.financeapi.domain.repository.DashboardSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Persistent snapshots of the dashboards of closed months. The months before the current one
+ * rarely change, so their dashboards are computed once and read from tab_dashboard_snapshots.
+ * Every change that reaches a closed month invalidates its snapshot in the same transaction,
+ * and a snapshot is only stored over the version it was computed after, so a snapshot computed
+ * concurrently with a change is never kept.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+
+    /**
+     * The expected version of a month that had no snapshot when its summary was
+     * computed.
+     */
+    public static final long NO_SNAPSHOT = -1;
+
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return Whether the month is over, and so served from the snapshots.
+     */
+    public static boolean isClosed(YearMonth month) {
+        return month.isBefore(YearMonth.now());
+    }
+
+    /**
+     * Read the snapshot of a month. Its version must be read before the data
+     * the summary is computed from, and handed to
+     * {@link #store(Long, YearMonth, long, DashboardResponseDTO)}.
+     *
+     * @return The snapshot, valid or invalidated, or empty if the month has none.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DashboardSnapshot> find(Long userId, YearMonth month) {
+        return snapshotRepository.findByUserIdAndYearMonth(userId, month.atDay(1));
+    }
+
+    /**
+     * @return The snapshots of the month of the given users, by user ID; users
+     *         without a snapshot are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, DashboardSnapshot> findAll(Collection<Long> userIds, YearMonth month) {
+        return snapshotRepository.findByUserIdInAndYearMonth(userIds, month.atDay(1)).stream()
+                .collect(Collectors.toMap(DashboardSnapshot::getUserId, Function.identity()));
+    }
+
+    /**
+     * Store the computed summary of a closed month, unless the month changed
+     * since its snapshot was read.
+     *
+     * @param expectedVersion The version of the snapshot read before computing
+     *                        the summary, or {@link #NO_SNAPSHOT}.
+     * @return Whether the snapshot was stored.
+     */
+    @Transactional
+    public boolean store(Long userId, YearMonth month, long expectedVersion, DashboardResponseDTO summary) {
+        return snapshotRepository.store(userId, month.atDay(1), toJson(summary), Instant.now(), expectedVersion) == 1;
+    }
+
+    /**
+     * Store the computed summaries of a closed month of several users, in one
+     * transaction.
+     *
+     * @param summaries The summaries, by user ID.
+     * @param snapshots The snapshots read before computing them, by user ID.
+     * @return The number of snapshots stored.
+     */
+    @Transactional
+    public int storeAll(YearMonth month, Map<Long, DashboardResponseDTO> summaries,
+            Map<Long, DashboardSnapshot> snapshots) {
+        var computedAt = Instant.now();
+        var stored = 0;
+        for (var entry : summaries.entrySet()) {
+            var snapshot = snapshots.get(entry.getKey());
+            var expectedVersion = snapshot != null ? snapshot.getVersion() : NO_SNAPSHOT;
+            stored += snapshotRepository.store(entry.getKey(), month.atDay(1), toJson(entry.getValue()), computedAt,
+                    expectedVersion);
+        }
+        return stored;
+    }
+
+    /*
+     * The invalidations are MANDATORY on purpose, like the rollup writes: the version must change
+     * in the same database transaction as the data, or a concurrent computation could miss it.
+     */
+
+    /**
+     * Invalidate the snapshot of the month that contains the given date, if
+     * that month is closed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidate(Long userId, LocalDate date) {
+        var month = YearMonth.from(date);
+        if (isClosed(month))
+            snapshotRepository.invalidate(userId, month.atDay(1));
+    }
+
+    /**
+     * Invalidate every closed month of a user, including the months without a
+     * snapshot yet. Used when a category changes, as the budgets of all months
+     * show the category data.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidateUser(Long userId) {
+        invalidateUserRange(userId, userId);
+    }
+
+    /**
+     * Invalidate every closed month of the users in the given ID range,
+     * including the months without a snapshot yet.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidateUserRange(Long firstUserId, Long lastUserId) {
+        snapshotRepository.invalidateUserRange(firstUserId, lastUserId, YearMonth.now().minusMonths(1).atDay(1));
+    }
+
+    private String toJson(DashboardResponseDTO summary) {
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Couldn't serialize the dashboard snapshot.", e);
+        }
+    }
+}
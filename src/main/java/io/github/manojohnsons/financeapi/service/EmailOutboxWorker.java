@@ -0,0 +1,212 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.config.EmailOutboxProperties;
+import io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+import io.github.manojohnsons.financeapi.domain.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+
+/*
+ * Delivers the e-mails of the outbox table. Each worker thread claims its own batch with
+ * FOR UPDATE SKIP LOCKED, so the workers of this and of other instances never send the
+ * same message twice while its lease holds. The claim commits before any SMTP call, so
+ * no database connection or row lock is held while a batch is being sent.
+ */
+@Service
+public class EmailOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    // Matches the size of the last_error column.
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxProperties properties;
+    private final ExecutorService workers;
+
+    public EmailOutboxWorker(
+            EmailOutboxRepository outboxRepository,
+            EmailService emailService,
+            TransactionTemplate transactionTemplate,
+            EmailOutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.workers = Executors.newFixedThreadPool(properties.workers());
+    }
+
+    @Scheduled(fixedDelayString = "${api.email.outbox.poll-interval-ms}")
+    public void poll() {
+        var delivered = drain();
+        if (delivered > 0)
+            log.info("E-mail outbox drained: {} messages processed.", delivered);
+    }
+
+    /**
+     * Run every worker until no message is due. Blocks until all of them are
+     * done, so two polls never overlap.
+     *
+     * @return The number of messages processed (sent, rescheduled or
+     *         dead-lettered).
+     */
+    public int drain() {
+        List<Future<Integer>> runs = new ArrayList<>();
+        for (int i = 0; i < properties.workers(); i++)
+            runs.add(workers.submit(this::work));
+
+        int processed = 0;
+        for (var run : runs) {
+            try {
+                processed += run.get();
+            } catch (ExecutionException e) {
+                log.error("E-mail outbox worker failed: {}", e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return processed;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Messages claimed by an interrupted worker are claimed again when their lease expires.
+        workers.shutdownNow();
+        workers.awaitTermination(properties.leaseSeconds(), TimeUnit.SECONDS);
+    }
+
+    private int work() {
+        int processed = 0;
+        List<EmailOutboxMessage> batch;
+        while (!Thread.currentThread().isInterrupted() && !(batch = claim()).isEmpty()) {
+            var claimed = batch.stream().filter(message -> message.getStatus() == EmailOutboxStatus.SENDING).toList();
+            if (!claimed.isEmpty())
+                deliver(claimed);
+            processed += batch.size();
+        }
+        return processed;
+    }
+
+    /*
+     * A message whose lease expired after its last attempt (its worker died mid-send) is
+     * dead-lettered here instead of being claimed for an attempt beyond max-attempts.
+     */
+    private List<EmailOutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            var leaseUntil = Instant.now().plusSeconds(properties.leaseSeconds());
+            var batch = outboxRepository.lockDueMessages(properties.batchSize());
+            for (var message : batch) {
+                if (message.getAttempts() >= properties.maxAttempts())
+                    deadLetterExpired(message);
+                else
+                    message.claim(leaseUntil);
+            }
+            return batch;
+        });
+    }
+
+    private void deadLetterExpired(EmailOutboxMessage message) {
+        message.deadLetter(truncate("The lease of the last attempt expired without an outcome; last error: "
+                + message.getLastError()));
+        log.error("Outbox e-mail {} to user ID {} dead-lettered: attempt {} never reported an outcome.",
+                message.getId(), message.getUserId(), message.getAttempts());
+    }
+
+    /*
+     * The whole batch goes to the SMTP server over reused connections, and all the outcomes
+     * are then recorded in one transaction.
+     */
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<Integer, Exception> failures;
+        try {
+            failures = emailService.sendBatch(batch.stream().map(EmailOutboxMessage::toEmailMessage).toList());
+        } catch (Exception e) {
+            failures = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++)
+                failures.put(i, e);
+        }
+
+        var sentAt = Instant.now();
+        var outcomes = failures;
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (int i = 0; i < batch.size(); i++) {
+                var failure = outcomes.get(i);
+                if (failure == null)
+                    recordSent(batch.get(i), sentAt);
+                else
+                    recordFailure(batch.get(i), failure);
+            }
+        });
+    }
+
+    private void recordSent(EmailOutboxMessage message, Instant sentAt) {
+        record(message, EmailOutboxStatus.SENT, message.getNextAttemptAt(), sentAt, null);
+        log.debug("Outbox e-mail {} sent to user ID {}.", message.getId(), message.getUserId());
+    }
+
+    private void recordFailure(EmailOutboxMessage message, Exception failure) {
+        var error = truncate(failure.getMessage());
+
+        if (message.getAttempts() >= properties.maxAttempts()) {
+            record(message, EmailOutboxStatus.DEAD, message.getNextAttemptAt(), null, error);
+            log.error("Outbox e-mail {} to user ID {} dead-lettered after {} attempts: {}", message.getId(),
+                    message.getUserId(), message.getAttempts(), error);
+        } else {
+            var retryAt = Instant.now().plus(backoff(message.getAttempts()));
+            record(message, EmailOutboxStatus.PENDING, retryAt, null, error);
+            log.warn("Outbox e-mail {} to user ID {} failed (attempt {}), retrying at {}: {}", message.getId(),
+                    message.getUserId(), message.getAttempts(), retryAt, error);
+        }
+    }
+
+    private void record(EmailOutboxMessage message, EmailOutboxStatus status, Instant nextAttemptAt,
+            Instant sentAt, String error) {
+        var updated = outboxRepository.recordAttempt(
+                message.getId(), message.getAttempts(), status, nextAttemptAt, sentAt, error);
+
+        if (updated == 0)
+            log.warn("Outbox e-mail {} lost its lease before attempt {} was recorded.", message.getId(),
+                    message.getAttempts());
+    }
+
+    /**
+     * The delay before the next attempt: the initial backoff, doubled for each
+     * failed attempt, up to the maximum backoff.
+     *
+     * @param attempts The number of attempts made so far.
+     * @return The delay before the next attempt.
+     */
+    Duration backoff(int attempts) {
+        var doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        var seconds = Math.min(properties.maxBackoffSeconds(), properties.initialBackoffSeconds() << doublings);
+        return Duration.ofSeconds(seconds);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH)
+            return error;
+
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
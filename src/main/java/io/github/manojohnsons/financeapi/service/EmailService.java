@@ -1,9 +1,25 @@
 package io.github.manojohnsons.financeapi.service;
 
+import java.util.List;
+import java.util.Map;
+
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
-import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
 
 public interface EmailService {
-    
-    void sendSummaryEmail(User user, DashboardResponseDTO summary);
+
+    EmailMessageDTO buildSummaryEmail(UserContactDTO user, DashboardResponseDTO summary);
+
+    void send(EmailMessageDTO message);
+
+    /**
+     * Send the messages over as few SMTP connections as possible, instead of
+     * one connection per message. A failed message doesn't stop the others.
+     * 
+     * @param messages The messages to send.
+     * @return The failure of each message that wasn't sent, keyed by its
+     *         position in {@code messages}; empty if all of them were sent.
+     */
+    Map<Integer, Exception> sendBatch(List<EmailMessageDTO> messages);
 }
@@ -0,0 +1,125 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * A plain text template, parsed once into segments so rendering only appends to a buffer.
+ * {{name}} writes a value of the scope, and {{#name}}...{{/name}} writes its body once for
+ * each scope of a section, and nothing for an empty one.
+ */
+public final class EmailTemplate {
+
+    /**
+     * The values a template is rendered with.
+     */
+    public interface Scope {
+
+        void appendValue(String name, StringBuilder out);
+
+        List<? extends Scope> section(String name);
+    }
+
+    private sealed interface Segment permits Text, Variable, Section {
+    }
+
+    private record Text(String text) implements Segment {
+    }
+
+    private record Variable(String name) implements Segment {
+    }
+
+    private record Section(String name, List<Segment> body) implements Segment {
+    }
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final List<Segment> segments;
+    private final int textLength;
+
+    private EmailTemplate(List<Segment> segments, int textLength) {
+        this.segments = segments;
+        this.textLength = textLength;
+    }
+
+    /**
+     * @throws IllegalArgumentException If a tag isn't closed or a section isn't
+     *                                  closed in order.
+     */
+    public static EmailTemplate parse(String source) {
+        Deque<Section> open = new ArrayDeque<>();
+        List<Segment> root = new ArrayList<>();
+        var current = root;
+        var textLength = 0;
+        var position = 0;
+
+        while (position < source.length()) {
+            var tagStart = source.indexOf(OPEN, position);
+            if (tagStart < 0)
+                tagStart = source.length();
+            if (tagStart > position) {
+                current.add(new Text(source.substring(position, tagStart)));
+                textLength += tagStart - position;
+            }
+            if (tagStart == source.length())
+                break;
+
+            var tagEnd = source.indexOf(CLOSE, tagStart);
+            if (tagEnd < 0)
+                throw new IllegalArgumentException("Unclosed tag at position " + tagStart + ".");
+            var tag = source.substring(tagStart + OPEN.length(), tagEnd).strip();
+
+            if (tag.startsWith("#")) {
+                var section = new Section(tag.substring(1).strip(), new ArrayList<>());
+                current.add(section);
+                open.push(section);
+                current = section.body();
+            } else if (tag.startsWith("/")) {
+                var name = tag.substring(1).strip();
+                if (open.isEmpty() || !open.peek().name().equals(name))
+                    throw new IllegalArgumentException("Unexpected end of section '" + name + "'.");
+                open.pop();
+                current = open.isEmpty() ? root : open.peek().body();
+            } else {
+                current.add(new Variable(tag));
+            }
+            position = tagEnd + CLOSE.length();
+        }
+
+        if (!open.isEmpty())
+            throw new IllegalArgumentException("Section '" + open.peek().name() + "' is never closed.");
+
+        return new EmailTemplate(List.copyOf(root), textLength);
+    }
+
+    /**
+     * @return The length of the fixed text, a lower bound of the rendered
+     *         length.
+     */
+    public int textLength() {
+        return textLength;
+    }
+
+    public StringBuilder render(Scope scope, StringBuilder out) {
+        render(segments, scope, out);
+        return out;
+    }
+
+    private static void render(List<Segment> segments, Scope scope, StringBuilder out) {
+        for (var segment : segments) {
+            switch (segment) {
+                case Text text -> out.append(text.text());
+                case Variable variable -> scope.appendValue(variable.name(), out);
+                case Section section -> {
+                    var scopes = scope.section(section.name());
+                    if (scopes != null)
+                        for (var inner : scopes)
+                            render(section.body(), inner, out);
+                }
+            }
+        }
+    }
+}
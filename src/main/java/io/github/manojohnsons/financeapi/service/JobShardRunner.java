@@ -0,0 +1,101 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import io.github.manojohnsons.financeapi.config.MonthlySummaryProperties;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * The claim loop of the sharded jobs, on top of the transactions of the JobShardService (it
+ * lives apart from it so that each of those calls goes through the transactional proxy).
+ * It claims shards until none is left. When the free shards run out but others are still held,
+ * it keeps polling: if their replica crashed, their leases expire and they're claimed here.
+ * A shard that keeps failing is given up after max-attempts claims, and the polling stops
+ * at the deadline, so the scheduler thread is always given back.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobShardRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(JobShardRunner.class);
+
+    private final JobShardService jobShardService;
+
+    // Identifies this replica in the shards it claims.
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    /**
+     * The processing of a claimed shard, from its last checkpoint.
+     */
+    @FunctionalInterface
+    public interface ShardWork {
+
+        /**
+         * @return Whether the rest of the shard was processed; false if the
+         *         lease was lost on the way.
+         */
+        boolean process(JobShard shard, Duration lease);
+    }
+
+    /**
+     * Process the shards of a planned run on this replica until every shard
+     * is done or given up, or until the run reaches its time limit. A shard
+     * whose processing throws is left to resume from its checkpoint once its
+     * lease expires.
+     *
+     * @param jobName  The job.
+     * @param period   The period of the run.
+     * @param sharding The lease, attempts and time limit of the run.
+     * @param work     The processing of each claimed shard.
+     */
+    public void run(String jobName, YearMonth period, MonthlySummaryProperties.Sharding sharding, ShardWork work) {
+        var lease = Duration.ofSeconds(sharding.leaseSeconds());
+        var deadline = Instant.now().plus(Duration.ofMinutes(sharding.maxRunMinutes()));
+
+        while (true) {
+            var claimed = jobShardService.claim(jobName, period, owner, lease, sharding.maxAttempts());
+            if (claimed.isPresent()) {
+                runShard(jobName, claimed.get(), lease, work);
+                continue;
+            }
+            if (jobShardService.finish(jobName, period))
+                return;
+
+            if (Instant.now().isAfter(deadline)) {
+                log.warn("Stopped the {} run of {} after {} minutes, with shards left.", jobName, period,
+                        sharding.maxRunMinutes());
+                return;
+            }
+            try {
+                Thread.sleep(lease.dividedBy(4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for the {} shards held by other replicas.", jobName);
+                return;
+            }
+        }
+    }
+
+    private void runShard(String jobName, JobShard shard, Duration lease, ShardWork work) {
+        log.info("Processing {} shard {} (user IDs after {} up to {}, resuming after {}).", jobName,
+                shard.getShard(), shard.getFromUserId(), shard.getToUserId(), shard.getLastUserId());
+        try {
+            var held = work.process(shard, lease);
+
+            if (!held || !jobShardService.complete(shard))
+                log.warn("Lost the lease of {} shard {}; another replica took it over.", jobName, shard.getShard());
+        } catch (Exception e) {
+            log.error("Failed to process {} shard {} (attempt {}), it will resume from its checkpoint when its "
+                    + "lease expires: {}", jobName, shard.getShard(), shard.getAttempts(), e.getMessage(), e);
+        }
+    }
+}
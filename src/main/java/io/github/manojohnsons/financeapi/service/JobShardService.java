@@ -0,0 +1,165 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import io.github.manojohnsons.financeapi.domain.enums.JobRunStatus;
+import io.github.manojohnsons.financeapi.domain.enums.JobShardStatus;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import io.github.manojohnsons.financeapi.domain.repository.JobRunRepository;
+import io.github.manojohnsons.financeapi.domain.repository.JobShardRepository;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Coordinates the replicas running the same scheduled job. Every method is a short
+ * transaction of its own; no lock is held while a shard is being processed.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobShardService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobShardService.class);
+
+    private final JobShardRepository jobShardRepository;
+    private final JobRunRepository jobRunRepository;
+
+    /**
+     * Start a run and split it into shards, unless another replica already did.
+     * Safe to call from every replica at the same time: the planning is
+     * serialized by an advisory lock and only the first one creates the shards.
+     *
+     * @param jobName The job.
+     * @param period  The period of the run.
+     * @param shards  The number of shards.
+     */
+    @Transactional
+    public void plan(String jobName, YearMonth period, int shards) {
+        jobShardRepository.lockJob(jobName);
+        jobRunRepository.start(jobName, period.atDay(1));
+        jobShardRepository.planShards(jobName, period.atDay(1), shards);
+    }
+
+    /**
+     * Plan a run again, to retry what it left undone: its finished shards
+     * (done or given up) start over from their first user, and a completed run
+     * is reopened. The job must skip the work already done, as every user of
+     * those shards is visited again. A run never planned is planned as by
+     * {@link #plan(String, YearMonth, int)}.
+     *
+     * @param jobName The job.
+     * @param period  The period of the run.
+     * @param shards  The number of shards, if the run was never planned.
+     */
+    @Transactional
+    public void replan(String jobName, YearMonth period, int shards) {
+        jobShardRepository.lockJob(jobName);
+        jobRunRepository.start(jobName, period.atDay(1));
+        if (jobShardRepository.planShards(jobName, period.atDay(1), shards) > 0)
+            return;
+
+        var replanned = jobShardRepository.replanFinished(jobName, period.atDay(1));
+        jobRunRepository.reopen(jobName, period.atDay(1));
+        log.info("Planned {} shard(s) of the {} run of {} again.", replanned, jobName, period);
+    }
+
+    /**
+     * Take the next free shard of a run for the given replica. A shard taken
+     * over from another replica resumes from its last checkpoint; one whose
+     * lease expired after {@code maxAttempts} claims is marked as failed
+     * instead.
+     *
+     * @param jobName     The job.
+     * @param period      The period of the run.
+     * @param owner       The replica taking the shard.
+     * @param lease       How long the shard is held without a checkpoint.
+     * @param maxAttempts The claims after which a shard is given up.
+     * @return The claimed shard, or empty if no shard is free.
+     */
+    @Transactional
+    public Optional<JobShard> claim(String jobName, YearMonth period, String owner, Duration lease, int maxAttempts) {
+        var failed = jobShardRepository.failExhausted(jobName, period.atDay(1), maxAttempts);
+        if (failed > 0)
+            log.error("Gave up {} shard(s) of the {} run of {} after {} failed claims.", failed, jobName, period,
+                    maxAttempts);
+
+        var shard = jobShardRepository.lockFreeShard(jobName, period.atDay(1));
+        shard.ifPresent(s -> s.claim(owner, Instant.now().plus(lease)));
+        return shard;
+    }
+
+    /**
+     * Commit the work of a chunk together with the checkpoint of its shard, and
+     * extend the lease. If the claim lost the shard, the work is rolled back, so
+     * a chunk is never applied twice.
+     *
+     * @param shard      The claimed shard.
+     * @param lastUserId The last user ID of the chunk.
+     * @param succeeded  The users of the chunk that succeeded.
+     * @param failed     The users of the chunk that failed.
+     * @param lease      The new duration of the lease.
+     * @param work       The writes of the chunk.
+     * @return Whether the claim still holds the shard; if not, its owner must
+     *         stop processing it.
+     */
+    @Transactional
+    public boolean checkpoint(JobShard shard, long lastUserId, long succeeded, long failed, Duration lease,
+            Runnable work) {
+        work.run();
+
+        var updated = jobShardRepository.checkpoint(shard.getId(), shard.getClaims(), lastUserId, succeeded, failed,
+                Instant.now().plus(lease));
+        if (updated == 0)
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+
+        return updated == 1;
+    }
+
+    /**
+     * @return Whether the shard was completed by this claim.
+     */
+    @Transactional
+    public boolean complete(JobShard shard) {
+        return jobShardRepository.complete(shard.getId(), shard.getClaims(), Instant.now()) == 1;
+    }
+
+    /**
+     * Mark the run as completed if every shard is done or was given up.
+     *
+     * @return Whether no shard of the run is left to process.
+     */
+    @Transactional
+    public boolean finish(String jobName, YearMonth period) {
+        var remaining = jobShardRepository.countByJobNameAndPeriodAndStatusIn(
+                jobName, period.atDay(1), List.of(JobShardStatus.PENDING, JobShardStatus.RUNNING));
+        if (remaining > 0)
+            return false;
+
+        if (jobRunRepository.complete(jobName, period.atDay(1), Instant.now()) == 1) {
+            var failed = jobShardRepository.countByJobNameAndPeriodAndStatus(
+                    jobName, period.atDay(1), JobShardStatus.FAILED);
+            if (failed > 0)
+                log.error("The {} run of {} completed with {} failed shard(s).", jobName, period, failed);
+        }
+        return true;
+    }
+
+    /**
+     * @return The periods of the runs of a job that were started but never
+     *         completed, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<YearMonth> findUnfinishedRuns(String jobName) {
+        return jobRunRepository.findByJobNameAndStatusOrderByPeriod(jobName, JobRunStatus.RUNNING).stream()
+                .map(run -> YearMonth.from(run.getPeriod()))
+                .toList();
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+
+/*
+ * Formats amounts like NumberFormat.getCurrencyInstance(locale) does, but is immutable and
+ * safe to share between threads. The symbols and patterns of the locale are read once;
+ * each call then writes the digits of the unscaled long of the amount straight into the
+ * caller's buffer.
+ */
+public final class MoneyFormatter {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L };
+
+    // Amounts with more digits than this don't fit a long once scaled, and are left to DecimalFormat.
+    private static final int MAX_FAST_PRECISION = 18;
+
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final int groupingSize;
+    private final int fractionDigits;
+    private final DecimalFormat fallback;
+
+    private MoneyFormatter(DecimalFormat format) {
+        var symbols = format.getDecimalFormatSymbols();
+
+        this.positivePrefix = format.getPositivePrefix();
+        this.positiveSuffix = format.getPositiveSuffix();
+        this.negativePrefix = format.getNegativePrefix();
+        this.negativeSuffix = format.getNegativeSuffix();
+        this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+        this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+        this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+        this.fractionDigits = Math.min(format.getMaximumFractionDigits(), POWERS_OF_TEN.length - 1);
+        this.fallback = format;
+    }
+
+    /**
+     * @param locale   The locale of the symbols, separators and patterns.
+     * @param currency The currency of the amounts, whatever the locale is.
+     * @return A formatter for amounts of the currency, written for the locale.
+     */
+    public static MoneyFormatter of(Locale locale, Currency currency) {
+        var format = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+        format.setCurrency(currency);
+        format.setRoundingMode(RoundingMode.HALF_EVEN);
+        return new MoneyFormatter(format);
+    }
+
+    public String format(BigDecimal amount) {
+        return appendTo(new StringBuilder(24), amount).toString();
+    }
+
+    /**
+     * Write the formatted amount at the end of the buffer. A null amount is
+     * written as zero.
+     *
+     * @return The same buffer.
+     */
+    public StringBuilder appendTo(StringBuilder out, BigDecimal amount) {
+        var scaled = (amount == null ? BigDecimal.ZERO : amount).setScale(fractionDigits, RoundingMode.HALF_EVEN);
+        if (scaled.precision() > MAX_FAST_PRECISION)
+            return out.append(((DecimalFormat) fallback.clone()).format(scaled));
+
+        // Like DecimalFormat, an amount that rounds to zero keeps its sign.
+        var negative = amount != null && amount.signum() < 0;
+        var digits = Math.abs(scaled.unscaledValue().longValueExact());
+        var unit = POWERS_OF_TEN[fractionDigits];
+
+        out.append(negative ? negativePrefix : positivePrefix);
+        appendGrouped(out, digits / unit);
+        if (fractionDigits > 0) {
+            out.append(decimalSeparator);
+            var fraction = digits % unit;
+            for (var place = unit / 10; place > 0; place /= 10)
+                out.append((char) ('0' + fraction / place % 10));
+        }
+        return out.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    private void appendGrouped(StringBuilder out, long integer) {
+        // Filled from the last digit backwards: 18 digits and their separators at most.
+        var chars = new char[2 * MAX_FAST_PRECISION];
+        var position = chars.length;
+        var written = 0;
+        do {
+            if (groupingSize > 0 && written > 0 && written % groupingSize == 0)
+                chars[--position] = groupingSeparator;
+            chars[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+            written++;
+        } while (integer > 0);
+        out.append(chars, position, chars.length - position);
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.application.dto.RollupReconciliationDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.MonthlyRollup;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.repository.MonthlyRollupRepository;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DashboardSnapshotService snapshotService;
+
+    /*
+     * The write methods are MANDATORY on purpose: the rollup must change in the same
+     * database transaction as the tab_transactions row, or a rollback would leave it drifting.
+     * They hold the user's rollup lock until then, so a rebuild of the user either sees the
+     * transaction and no delta, or neither. A change that reaches a closed month also
+     * invalidates its dashboard snapshot.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount(), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(Transaction transaction) {
+        applyDelta(transaction, transaction.getAmount().negate(), -1);
+    }
+
+    /**
+     * Add a batch of new transactions of a user, with one upsert per
+     * (month, category, type) instead of one per transaction.
+     * 
+     * @param userId       The user ID.
+     * @param transactions The inserted transactions, with their category IDs.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Long userId, List<TransactionRequestDTO> transactions) {
+        record Key(LocalDate yearMonth, Long categoryId, TransactionType type) {
+        }
+
+        var amounts = new HashMap<Key, BigDecimal>();
+        var counts = new HashMap<Key, Long>();
+        for (var transaction : transactions) {
+            var key = new Key(
+                    YearMonth.from(transaction.date()).atDay(1), transaction.categoryId(), transaction.type());
+            amounts.merge(key, transaction.amount(), BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        monthlyRollupRepository.lockUser(userId);
+        amounts.forEach((key, amount) -> monthlyRollupRepository.applyDelta(
+                userId, key.yearMonth(), key.categoryId(), key.type().name(), amount, counts.get(key)));
+
+        amounts.keySet().stream()
+                .map(Key::yearMonth)
+                .distinct()
+                .forEach(yearMonth -> snapshotService.invalidate(userId, yearMonth));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moveToUncategorized(Long userId, Long categoryId) {
+        monthlyRollupRepository.lockUser(userId);
+        monthlyRollupRepository.mergeIntoUncategorized(categoryId);
+        monthlyRollupRepository.deleteByCategoryId(categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyRollup> findByUserIdAndMonth(Long userId, YearMonth month) {
+        return monthlyRollupRepository.findByUserIdAndYearMonth(userId, month.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyRollup> findByUserIdsAndMonth(Collection<Long> userIds, YearMonth month) {
+        return monthlyRollupRepository.findByUserIdInAndYearMonth(userIds, month.atDay(1));
+    }
+
+    /**
+     * Recompute the rollups of every user from tab_transactions. Users are
+     * processed in keyset batches, each one in its own database transaction.
+     * 
+     * @param batchSize The number of users per batch.
+     * @return The number of users checked and rebuilt.
+     */
+    public RollupReconciliationDTO rebuild(int batchSize) {
+        return processInBatches(batchSize, true, true);
+    }
+
+    /**
+     * Compare the rollups of every user with the totals recomputed from
+     * tab_transactions, in keyset batches of users.
+     * 
+     * @param batchSize The number of users per batch.
+     * @param repair    Whether the batches with drifting rollups must be rebuilt.
+     * @return The number of users checked, of drifting rollups and of users rebuilt.
+     */
+    public RollupReconciliationDTO reconcile(int batchSize, boolean repair) {
+        return processInBatches(batchSize, false, repair);
+    }
+
+    private RollupReconciliationDTO processInBatches(int batchSize, boolean rebuildAll, boolean repair) {
+        long lastUserId = 0;
+        long usersChecked = 0;
+        long driftingRollups = 0;
+        long usersRebuilt = 0;
+
+        List<Long> userIds;
+        while (!(userIds = userRepository.findIdsAfter(lastUserId, Limit.of(batchSize))).isEmpty()) {
+            var firstUserId = userIds.get(0);
+            var lastUserIdOfBatch = userIds.get(userIds.size() - 1);
+
+            long drifting = rebuildAll ? 0 : monthlyRollupRepository.countDriftingRollups(firstUserId, lastUserIdOfBatch);
+            if (drifting > 0)
+                log.warn("Found {} drifting rollups for users {} to {}.", drifting, firstUserId, lastUserIdOfBatch);
+
+            if (rebuildAll || (repair && drifting > 0)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Waits for the writes in flight of the range and holds off the next ones until the commit.
+                    monthlyRollupRepository.lockUserRange(firstUserId, lastUserIdOfBatch);
+                    monthlyRollupRepository.deleteByUserIdRange(firstUserId, lastUserIdOfBatch);
+                    monthlyRollupRepository.insertFromTransactions(firstUserId, lastUserIdOfBatch);
+                    snapshotService.invalidateUserRange(firstUserId, lastUserIdOfBatch);
+                });
+                usersRebuilt += userIds.size();
+            }
+
+            usersChecked += userIds.size();
+            driftingRollups += drifting;
+            lastUserId = lastUserIdOfBatch;
+        }
+
+        return new RollupReconciliationDTO(usersChecked, driftingRollups, usersRebuilt);
+    }
+
+    private void applyDelta(Transaction transaction, BigDecimal amountDelta, long countDelta) {
+        var categoryId = transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+
+        monthlyRollupRepository.lockUser(transaction.getUser().getId());
+        monthlyRollupRepository.applyDelta(
+                transaction.getUser().getId(),
+                YearMonth.from(transaction.getDate()).atDay(1),
+                categoryId,
+                transaction.getType().name(),
+                amountDelta,
+                countDelta);
+        snapshotService.invalidate(transaction.getUser().getId(), transaction.getDate());
+    }
+}
@@ -1,12 +1,35 @@
 package io.github.manojohnsons.financeapi.service;
 
-import java.time.LocalDate;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.MonthlySummaryResultDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
+import io.github.manojohnsons.financeapi.config.MonthlySummaryProperties;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import io.github.manojohnsons.financeapi.domain.repository.EmailOutboxRepository;
 import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 
@@ -16,40 +39,220 @@ public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    public static final String JOB_NAME = "monthly-summary";
+
+    // Pool size assumed when the DataSource isn't a Hikari pool (Hikari's own default).
+    private static final int DEFAULT_POOL_SIZE = 10;
+
     private final UserRepository userRepository;
     private final DashboardService dashboardService;
     private final EmailService emailService;
+    private final EmailOutboxRepository outboxRepository;
+    private final JobShardService jobShardService;
+    private final JobShardRunner jobShardRunner;
+    private final MonthlySummaryProperties properties;
+    private final DataSource dataSource;
 
     @Scheduled(cron = "${api.scheduling.monthly-summary.cron}")
     public void sendMonthlySummary() {
-        log.info("Starting scheduled task: Sending monthly summaries...");
-        var users = userRepository.findAll();
+        sendMonthlySummaries(YearMonth.now().minusMonths(1));
+    }
 
-        if (users.isEmpty()) {
-            log.info("No users found. Task completed with no submissions.");
+    /*
+     * A run interrupted by a restart (of every replica, or of the only one) would otherwise
+     * wait for the next month's cron. It resumes from the checkpoints in the background, so
+     * the startup isn't held up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRuns() {
+        var months = jobShardService.findUnfinishedRuns(JOB_NAME);
+        if (months.isEmpty())
             return;
+
+        log.info("Resuming the unfinished monthly summary runs of {}.", months);
+        Thread.ofVirtual().name("monthly-summary-resume").start(() -> months.forEach(this::sendMonthlySummaries));
+    }
+
+    /**
+     * Queue the summary of the given month for every user. Users are read in
+     * keyset chunks of (id, name, email) only, and nothing is kept between
+     * chunks, so the memory used doesn't depend on the number of users. The
+     * rendered e-mails of a chunk are written to the outbox in one batch and
+     * delivered by the {@link EmailOutboxWorker}, so SMTP never slows the job.
+     * A failure for one user is logged and counted; it never stops the run.
+     * <p>
+     * Every replica runs this method at the same time: the user ID space is
+     * split into shards that the replicas claim one at a time, so each user is
+     * handled by a single replica. Each chunk is committed together with the
+     * checkpoint of its shard, so a run interrupted by a crash or a restart
+     * resumes after the last committed chunk, and re-running a month never
+     * queues a summary twice.
+     * 
+     * @param month The month of the summaries.
+     * @return The number of summaries queued and of users that failed, by this
+     *         call.
+     */
+    public MonthlySummaryResultDTO sendMonthlySummaries(YearMonth month) {
+        return sendMonthlySummaries(month, false);
+    }
+
+    /**
+     * Run a month again, for the users whose summary wasn't queued: the ones
+     * that failed and the ones registered since. The finished shards of the
+     * month are planned again and every chunk skips the users that already
+     * have their summary queued, so only the missing summaries are computed.
+     * For a manual re-trigger; the scheduled runs never plan a month twice.
+     * 
+     * @param month The month of the summaries.
+     * @return The number of summaries queued and of users that failed, by this
+     *         call.
+     */
+    public MonthlySummaryResultDTO retryMonthlySummaries(YearMonth month) {
+        return sendMonthlySummaries(month, true);
+    }
+
+    private MonthlySummaryResultDTO sendMonthlySummaries(YearMonth month, boolean retry) {
+        var parallel = properties.parallel().enabled();
+        var run = new Run(month, new Semaphore(parallel ? dbConcurrency() : 1), new AtomicLong(), new AtomicLong());
+
+        log.info("Starting scheduled task: Sending monthly summaries of {} ({} mode, {} aggregation)...", month,
+                parallel ? "parallel" : "sequential", properties.batchAggregation() ? "batch" : "per-user");
+        if (parallel)
+            log.info("Concurrency limit: {} database connections.", run.dbPermits().availablePermits());
+
+        processShards(run, retry);
+
+        var result = new MonthlySummaryResultDTO(run.succeeded().get(), run.failed().get());
+        if (result.succeeded() + result.failed() == 0) {
+            log.info("No users left to process. Task completed with no submissions.");
+            return result;
         }
 
-        var lastMonth = LocalDate.now().minusMonths(1);
-        int failureCount = 0;
-
-        log.info("Found {} users to process.", users.size());
-
-        for (var user : users) {
-            try {
-                log.debug("Processing user ID: {}", user.getId());
-                var summary = dashboardService.generateMonthlySummary(
-                        user.getId(),
-                        lastMonth.getYear(),
-                        lastMonth.getMonthValue());
-                emailService.sendSummaryEmail(user, summary);
-                log.debug("Summary e-mail successfully sen to user ID: {}", user.getId());
-            } catch (Exception e) {
-                failureCount++;
-                log.error("Failed to process summary/email for user ID {}: {}", user.getId(), e.getMessage(), e);
+        log.info("Summary submission task completed. Queued: {}, failures: {}", result.succeeded(), result.failed());
+        return result;
+    }
+
+    private void processShards(Run run, boolean retry) {
+        var sharding = properties.sharding();
+        if (retry)
+            jobShardService.replan(JOB_NAME, run.month(), sharding.shards());
+        else
+            jobShardService.plan(JOB_NAME, run.month(), sharding.shards());
+
+        jobShardRunner.run(JOB_NAME, run.month(), sharding, (shard, lease) -> processRange(run, shard, lease));
+    }
+
+    /**
+     * @return Whether the rest of the shard was processed; false if the lease
+     *         was lost on the way.
+     */
+    private boolean processRange(Run run, JobShard shard, Duration lease) {
+        var month = run.month();
+        long lastUserId = shard.getLastUserId();
+        List<UserContactDTO> users;
+        while (!(users = userRepository.findContactsBetween(lastUserId, shard.getToUserId(),
+                Limit.of(properties.chunkSize()))).isEmpty()) {
+            log.debug("Processing a chunk of {} users after ID {}.", users.size(), lastUserId);
+            lastUserId = users.get(users.size() - 1).id();
+
+            var pending = withoutQueuedSummaries(users, month);
+            var summaries = properties.batchAggregation() && !pending.isEmpty()
+                    ? generateChunkSummaries(pending, month)
+                    : null;
+            var emails = new ConcurrentLinkedQueue<EmailOutboxMessage>();
+            var failed = new AtomicLong();
+
+            if (properties.parallel().enabled()) {
+                // Closing the executor waits for the whole chunk, so at most one chunk is in flight.
+                try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    for (var user : pending)
+                        executor.execute(() -> processUser(user, month, summaries, run.dbPermits(), emails, failed));
+                }
+            } else {
+                for (var user : pending)
+                    processUser(user, month, summaries, run.dbPermits(), emails, failed);
+            }
+
+            // The e-mails and the checkpoint commit together: a chunk is queued exactly once.
+            var held = jobShardService.checkpoint(shard, lastUserId, emails.size(), failed.get(), lease,
+                    () -> outboxRepository.saveAll(emails));
+            if (!held)
+                return false;
+
+            run.succeeded().addAndGet(emails.size());
+            run.failed().addAndGet(failed.get());
+        }
+        return true;
+    }
+
+    /*
+     * On a retry the shards start over, so most users of a chunk already have their summary
+     * queued by the earlier run; they're skipped, and only the failed and the new users are
+     * processed. The unique (user_id, summary_month) key backs this up.
+     */
+    private List<UserContactDTO> withoutQueuedSummaries(List<UserContactDTO> users, YearMonth month) {
+        var userIds = users.stream().map(UserContactDTO::id).toList();
+        var queued = new HashSet<>(outboxRepository.findUserIdsWithSummary(userIds, month.atDay(1)));
+        if (queued.isEmpty())
+            return users;
+
+        return users.stream().filter(user -> !queued.contains(user.id())).toList();
+    }
+
+    /*
+     * A failure of the chunk query isn't a failure of its users: they fall back to the
+     * per-user summaries, so a single bad chunk can't skip hundreds of e-mails.
+     */
+    private Map<Long, DashboardResponseDTO> generateChunkSummaries(List<UserContactDTO> users, YearMonth month) {
+        try {
+            var userIds = users.stream().map(UserContactDTO::id).toList();
+            return dashboardService.generateMonthlySummaries(userIds, month);
+        } catch (Exception e) {
+            log.warn("Failed to aggregate the summaries of a chunk of {} users, falling back to per-user: {}",
+                    users.size(), e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void processUser(UserContactDTO user, YearMonth month, Map<Long, DashboardResponseDTO> summaries,
+            Semaphore dbPermits, Collection<EmailOutboxMessage> emails, AtomicLong failed) {
+        try {
+            log.debug("Processing user ID: {}", user.id());
+
+            var summary = summaries != null ? summaries.get(user.id()) : null;
+            if (summary == null) {
+                dbPermits.acquire();
+                try {
+                    summary = dashboardService.generateMonthlySummary(
+                            user.id(), month.getYear(), month.getMonthValue());
+                } finally {
+                    dbPermits.release();
+                }
             }
+
+            emails.add(new EmailOutboxMessage(user.id(), month.atDay(1), emailService.buildSummaryEmail(user, summary)));
+            log.debug("Summary e-mail successfully rendered to user ID: {}", user.id());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.incrementAndGet();
+            log.error("Interrupted while processing summary/email for user ID {}.", user.id());
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.error("Failed to process summary/email for user ID {}: {}", user.id(), e.getMessage(), e);
         }
+    }
+
+    private int dbConcurrency() {
+        var poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+
+        return Math.max(1, (int) (poolSize * properties.parallel().dbPoolFraction()));
+    }
+
+    private record Run(
+            YearMonth month,
+            Semaphore dbPermits,
+            AtomicLong succeeded,
+            AtomicLong failed) {
 
-        log.info("Summary submission task completed. Failures: {}", failureCount);
     }
 }
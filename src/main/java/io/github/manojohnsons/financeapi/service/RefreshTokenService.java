@@ -0,0 +1,125 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.application.dto.RotatedRefreshTokenDTO;
+import io.github.manojohnsons.financeapi.domain.model.RefreshToken;
+import io.github.manojohnsons.financeapi.domain.repository.RefreshTokenRepository;
+import io.github.manojohnsons.financeapi.exception.InvalidRefreshTokenException;
+
+/**
+ * Long-lived refresh tokens, which renew the access token without checking the
+ * password again. Each login starts a family of tokens; every renewal uses up
+ * the presented token and issues the next one of the family. A token presented
+ * after it was used means it leaked (or was replayed), so the whole family is
+ * revoked and its holder has to log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration timeToLive;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${api.security.refresh-token.ttl-days}") long ttlDays) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.timeToLive = Duration.ofDays(ttlDays);
+    }
+
+    /**
+     * Start a new family of refresh tokens, on login.
+     *
+     * @return The refresh token; only its hash is stored.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Use up a refresh token and issue the next one of its family.
+     *
+     * @throws InvalidRefreshTokenException If the token is unknown, expired or
+     *                                      revoked, or was already used; in the
+     *                                      last case the whole family is revoked.
+     */
+    // The revocation of a reused family must commit even though the renewal fails.
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedRefreshTokenDTO rotate(String refreshToken) {
+        var now = Instant.now();
+        var stored = refreshTokenRepository.lockByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token."));
+
+        if (stored.getRevokedAt() != null || !stored.getExpiresAt().isAfter(now))
+            throw new InvalidRefreshTokenException("Invalid refresh token.");
+
+        if (stored.getUsedAt() != null) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            log.warn("Refresh token reused for user {}; its token family was revoked.", stored.getUserId());
+            throw new InvalidRefreshTokenException("Invalid refresh token.");
+        }
+
+        refreshTokenRepository.markUsed(stored.getId(), now);
+        return new RotatedRefreshTokenDTO(stored.getUserId(), issue(stored.getUserId(), stored.getFamilyId()));
+    }
+
+    /**
+     * Revoke the family of a refresh token of the given user, on logout.
+     * Unknown tokens and the tokens of other users are ignored, so a logout
+     * can't end someone else's session.
+     */
+    @Transactional
+    public void revoke(String refreshToken, Long userId) {
+        refreshTokenRepository.lockByTokenHash(hash(refreshToken))
+                .filter(stored -> stored.getUserId().equals(userId))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(cron = "${api.security.refresh-token.purge-cron}")
+    @Transactional
+    public void purgeExpired() {
+        var purged = refreshTokenRepository.deleteExpired(Instant.now());
+        log.info("Purged {} expired refresh tokens.", purged);
+    }
+
+    private String issue(Long userId, UUID familyId) {
+        var bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        var now = Instant.now();
+        refreshTokenRepository.save(new RefreshToken(userId, familyId, hash(token), now, now.plus(timeToLive)));
+        return token;
+    }
+
+    // The tokens are 256 random bits, so a plain SHA-256 is as safe as a slow hash here.
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
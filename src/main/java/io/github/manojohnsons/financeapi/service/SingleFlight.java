@@ -0,0 +1,109 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.github.manojohnsons.financeapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent computations of the same key: the first caller, the
+ * leader, computes on its own thread (keeping its transaction and security
+ * context), and the callers that arrive meanwhile wait for its result instead
+ * of computing it again. A failure of the leader is thrown to every caller of
+ * its flight, and a caller that waits longer than the timeout gives up with
+ * 503. Nothing is kept once a flight lands. The coalesced calls and the
+ * timeouts are counted in the {@code api.single-flight.*} metrics, tagged with
+ * the name of the instance.
+ *
+ * @param <K> The key type, with value equality.
+ * @param <V> The result type.
+ */
+public class SingleFlight<K, V> {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Duration timeout;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.timeout = timeout;
+        this.coalesced = Counter.builder("api.single-flight.coalesced")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("api.single-flight.timeouts")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compute the value of a key, or wait for the computation already in flight.
+     *
+     * @throws ServiceOverloadedException If the flight joined doesn't land
+     *                                    within the timeout.
+     */
+    public V execute(K key, Supplier<V> computation) {
+        var flight = new CompletableFuture<V>();
+        var current = flights.putIfAbsent(key, flight);
+        if (current != null) {
+            coalesced.increment();
+            return await(current);
+        }
+
+        try {
+            var value = computation.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Let the later callers of a key start a new flight instead of joining the
+     * one in the air, whose result is outdated. Its current callers still get it.
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * {@link #forget(Object)} every key that matches.
+     */
+    public void forgetIf(Predicate<? super K> filter) {
+        flights.keySet().removeIf(filter);
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The leader's own exception, so every caller fails the same way it did.
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new ServiceOverloadedException("The computation took too long; try again shortly.",
+                    RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a computation in flight.", e);
+        }
+    }
+}
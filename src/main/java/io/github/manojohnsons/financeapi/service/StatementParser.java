@@ -0,0 +1,18 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+import io.github.manojohnsons.financeapi.domain.enums.StatementFormat;
+
+public interface StatementParser {
+
+    StatementFormat format();
+
+    /**
+     * Read the statement once, handing each row to the consumer as soon as it
+     * is parsed. Rows that can't be read are handed as failed rows.
+     */
+    void parse(Reader reader, Consumer<StatementRow> consumer) throws IOException;
+}
@@ -0,0 +1,31 @@
+package io.github.manojohnsons.financeapi.service;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+
+/**
+ * A row read from a bank statement. Either the transaction (with the category
+ * still as a name) or the reason it couldn't be read.
+ * 
+ * @param number       The line (CSV) or entry (OFX) number in the file.
+ * @param transaction  The parsed transaction, without category ID.
+ * @param categoryName The category name, or null for uncategorized rows.
+ * @param error        The parsing error, or null when the row was read.
+ */
+public record StatementRow(
+        long number,
+        TransactionRequestDTO transaction,
+        String categoryName,
+        String error) {
+
+    public static StatementRow parsed(long number, TransactionRequestDTO transaction, String categoryName) {
+        return new StatementRow(number, transaction, categoryName, null);
+    }
+
+    public static StatementRow failed(long number, String error) {
+        return new StatementRow(number, null, null, error);
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.domain.repository.RevokedTokenRepository;
+
+/**
+ * Denylist of the access tokens revoked before their expiry. The IDs live in
+ * {@code tab_revoked_tokens} and every replica keeps them in an in-memory Bloom
+ * filter, so the check of a token that was never revoked, nearly every request,
+ * doesn't touch the database; only a hit of the filter is confirmed by a primary
+ * key lookup. The filter is rebuilt from the table on a fixed delay, which picks
+ * up the revocations of the other replicas and drops the expired ones.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+
+    // The filter being rebuilt, if any: revocations made meanwhile are added to it as well.
+    private volatile BloomFilter rebuilding;
+
+    // A single rebuild at a time, or one would clear the other's rebuilding filter too early.
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${api.security.token.denylist.expected-insertions}") long expectedInsertions,
+            @Value("${api.security.token.denylist.false-positive-probability}") double falsePositiveProbability) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * Revoke an access token until its expiry, on every replica. This replica
+     * rejects it at once; the others do after their next rebuild.
+     *
+     * @param tokenId   The ID (jti) of the token.
+     * @param expiresAt The expiry of the token.
+     */
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        transactionTemplate.executeWithoutResult(status -> revokedTokenRepository.revoke(tokenId, expiresAt));
+
+        // Added after the commit. A rebuild that read the table before the commit misses the row,
+        // so the filter being rebuilt gets the ID first; if none is, a finished rebuild has already
+        // swapped its filter in and the one read below is it.
+        var next = rebuilding;
+        if (next != null)
+            next.add(tokenId);
+        filter.add(tokenId);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        return filter.mightContain(tokenId) && revokedTokenRepository.existsById(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.security.token.denylist.rebuild-interval-ms}",
+            initialDelayString = "${api.security.token.denylist.rebuild-interval-ms}")
+    public void rebuild() {
+        // The startup rebuild and the first scheduled one may overlap; the later one is skipped.
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            log.debug("Token denylist rebuild skipped: another one is running.");
+            return;
+        }
+
+        var now = Instant.now();
+        var next = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+        rebuilding = next;
+        try {
+            var purged = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(now));
+            var active = revokedTokenRepository.findActiveIds(now);
+            active.forEach(next::add);
+            filter = next;
+
+            if (active.size() > expectedInsertions)
+                log.warn("{} revoked tokens in force, more than the {} the denylist filter is sized for.",
+                        active.size(), expectedInsertions);
+            log.debug("Token denylist rebuilt: {} revoked tokens, {} expired ones purged.", active.size(), purged);
+        } catch (Exception e) {
+            // The current filter stays in place; only the revocations of the other replicas wait.
+            log.error("Failed to rebuild the token denylist: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = null;
+            rebuildRunning.set(false);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package io.github.manojohnsons.financeapi.service;
 
+import java.util.Optional;
+
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
 
 public interface TokenService {
     
     String generateToken(User user);
+
+    /**
+     * Verify the signature, issuer and expiry of a token, without reading the
+     * user from the database.
+     *
+     * @return The user the token was issued to, or empty if the token isn't
+     *         valid.
+     */
+    Optional<AuthenticatedUserDTO> validate(String token);
 }
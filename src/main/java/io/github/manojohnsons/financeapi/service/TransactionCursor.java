@@ -0,0 +1,41 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO;
+import io.github.manojohnsons.financeapi.exception.InvalidContinuationTokenException;
+
+/**
+ * Position of the last transaction of a page in the (date, id) listing order.
+ * Clients only see it as an opaque continuation token.
+ */
+record TransactionCursor(LocalDate date, Long id) {
+
+    private static final char SEPARATOR = ':';
+
+    static TransactionCursor of(TransactionRowDTO row) {
+        return new TransactionCursor(row.date(), row.id());
+    }
+
+    static TransactionCursor decode(String token) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separatorIndex = decoded.indexOf(SEPARATOR);
+
+            return new TransactionCursor(
+                    LocalDate.parse(decoded.substring(0, separatorIndex)),
+                    Long.valueOf(decoded.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidContinuationTokenException("The continuation token is invalid.");
+        }
+    }
+
+    String encode() {
+        var raw = date.toString() + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionResponseDTO;
+import io.github.manojohnsons.financeapi.domain.enums.ExportFormat;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+
+@Service
+public class TransactionExportService {
+
+    private static final String CSV_HEADER = "id,date,type,amount,description,category";
+
+    // Rows written between two flushes of the output stream.
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    public TransactionExportService(
+            TransactionRepository transactionRepository,
+            EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.jsonWriter = objectMapper.writerFor(TransactionResponseDTO.class);
+    }
+
+    /**
+     * Write the whole history of a user to the output stream, row by row.
+     * Each transaction is detached as soon as it is written, so the memory used
+     * doesn't grow with the size of the history.
+     * 
+     * @param userId       The user ID.
+     * @param format       The output format.
+     * @param outputStream The stream to write to (it is flushed, not closed).
+     * @return The number of exported transactions.
+     * @throws IOException If writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, OutputStream outputStream) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        long count = 0;
+
+        if (format == ExportFormat.CSV)
+            writer.write(CSV_HEADER + "\n");
+
+        try (var transactions = transactionRepository.streamAllByUserId(userId)) {
+            var iterator = transactions.iterator();
+
+            while (iterator.hasNext()) {
+                var transaction = iterator.next();
+
+                if (format == ExportFormat.CSV)
+                    writeCsvRow(writer, transaction);
+                else
+                    writeJsonLine(writer, transaction);
+
+                entityManager.detach(transaction);
+
+                if (++count % FLUSH_INTERVAL == 0)
+                    writer.flush();
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        var category = transaction.getCategory();
+
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(transaction.getDate().toString());
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(escapeCsv(transaction.getDescription()));
+        writer.write(',');
+        writer.write(category != null ? escapeCsv(category.getName()) : "");
+        writer.write('\n');
+    }
+
+    private void writeJsonLine(Writer writer, Transaction transaction) throws IOException {
+        writer.write(jsonWriter.writeValueAsString(TransactionResponseDTO.fromEntity(transaction)));
+        writer.write('\n');
+    }
+
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.manojohnsons.financeapi.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.application.dto.ImportResultDTO;
+import io.github.manojohnsons.financeapi.application.dto.ImportRowErrorDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.config.TransactionImportProperties;
+import io.github.manojohnsons.financeapi.domain.enums.StatementFormat;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import io.github.manojohnsons.financeapi.exception.InvalidStatementException;
+import io.github.manojohnsons.financeapi.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionImportService {
+
+    private final List<StatementParser> statementParsers;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCache dashboardCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final TransactionImportProperties importProperties;
+
+    /**
+     * Import a bank statement into the user's transactions. The file is read
+     * once, as a stream, and the valid rows are persisted in batches, each
+     * batch flushed as JDBC insert batches in its own database transaction.
+     * Invalid rows are reported and skipped; they don't abort the import.
+     * 
+     * @param userId      The user ID.
+     * @param format      The statement format.
+     * @param inputStream The statement content, in UTF-8.
+     * @return The number of imported and failed rows, and the row errors.
+     * @throws IOException If reading the statement fails.
+     */
+    public ImportResultDTO importStatement(Long userId, StatementFormat format, InputStream inputStream)
+            throws IOException {
+        if (!userRepository.existsById(userId))
+            throw new ResourceNotFoundException("Resource User not found.");
+
+        var parser = findParser(format);
+        var run = new ImportRun(userId, loadCategoryIds(userId));
+
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        parser.parse(reader, run::accept);
+        run.flush();
+
+        return new ImportResultDTO(run.imported, run.failed, run.errors);
+    }
+
+    private StatementParser findParser(StatementFormat format) {
+        return statementParsers.stream()
+                .filter(parser -> parser.format() == format)
+                .findFirst()
+                .orElseThrow(() -> new InvalidStatementException("Unsupported statement format " + format + "."));
+    }
+
+    // The user's categories are read once, and the rows are matched by name, ignoring case.
+    private Map<String, Long> loadCategoryIds(Long userId) {
+        var categoryIds = new HashMap<String, Long>();
+        for (var category : categoryRepository.findByUserId(userId))
+            categoryIds.putIfAbsent(normalize(category.getName()), category.getId());
+
+        return categoryIds;
+    }
+
+    private static String normalize(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record BatchRow(long number, TransactionRequestDTO transaction) {
+    }
+
+    private class ImportRun {
+
+        private final Long userId;
+        private final Map<String, Long> categoryIds;
+        private final List<BatchRow> batch;
+        private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        ImportRun(Long userId, Map<String, Long> categoryIds) {
+            this.userId = userId;
+            this.categoryIds = categoryIds;
+            this.batch = new ArrayList<>(importProperties.batchSize());
+        }
+
+        void accept(StatementRow row) {
+            if (row.isFailed()) {
+                reject(row.number(), row.error());
+                return;
+            }
+
+            var transaction = row.transaction();
+            Long categoryId = null;
+            if (row.categoryName() != null) {
+                categoryId = categoryIds.get(normalize(row.categoryName()));
+                if (categoryId == null) {
+                    reject(row.number(), "Category '" + row.categoryName() + "' not found.");
+                    return;
+                }
+            }
+
+            var resolved = new TransactionRequestDTO(
+                    transaction.description(),
+                    transaction.amount(),
+                    transaction.date(),
+                    transaction.type(),
+                    categoryId);
+
+            var violations = validator.validate(resolved);
+            if (!violations.isEmpty()) {
+                reject(row.number(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(" ")));
+                return;
+            }
+
+            batch.add(new BatchRow(row.number(), resolved));
+            if (batch.size() >= importProperties.batchSize())
+                flush();
+        }
+
+        void flush() {
+            if (batch.isEmpty())
+                return;
+
+            try {
+                insert(batch.stream().map(BatchRow::transaction).toList());
+                imported += batch.size();
+            } catch (PersistenceException | DataAccessException e) {
+                // One bad row fails its whole JDBC batch: retried one by one, the others still get in.
+                for (var row : batch)
+                    insertRow(row);
+            }
+            batch.clear();
+        }
+
+        private void insertRow(BatchRow row) {
+            try {
+                insert(List.of(row.transaction()));
+                imported++;
+            } catch (PersistenceException | DataAccessException e) {
+                reject(row.number(), "The row could not be saved.");
+            }
+        }
+
+        private void insert(List<TransactionRequestDTO> transactions) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // References only: the user and the categories are never loaded.
+                var user = entityManager.getReference(User.class, userId);
+                for (var transaction : transactions) {
+                    var category = transaction.categoryId() != null
+                            ? entityManager.getReference(Category.class, transaction.categoryId())
+                            : null;
+                    entityManager.persist(new Transaction(
+                            transaction.description(),
+                            transaction.amount(),
+                            transaction.date(),
+                            transaction.type(),
+                            user,
+                            category));
+                }
+                entityManager.flush();
+                entityManager.clear();
+
+                monthlyRollupService.addAll(userId, transactions);
+
+                var months = new HashSet<YearMonth>();
+                for (var transaction : transactions)
+                    if (months.add(YearMonth.from(transaction.date())))
+                        dashboardCache.evict(userId, transaction.date());
+            });
+        }
+
+        private void reject(long number, String message) {
+            failed++;
+            if (errors.size() < importProperties.maxReportedErrors())
+                errors.add(new ImportRowErrorDTO(number, message));
+        }
+    }
+}
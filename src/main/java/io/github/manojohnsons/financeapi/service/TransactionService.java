@@ -1,13 +1,22 @@
 package io.github.manojohnsons.financeapi.service;
 
+import java.time.YearMonth;
+import java.util.HashMap;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.github.manojohnsons.financeapi.application.dto.CategorySummaryDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionPageResponseDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionUpdateRequestDTO;
+import io.github.manojohnsons.financeapi.config.ConcurrencyClass;
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimited;
+import io.github.manojohnsons.financeapi.config.TransactionPageProperties;
 import io.github.manojohnsons.financeapi.domain.model.Category;
 import io.github.manojohnsons.financeapi.domain.model.Transaction;
 import io.github.manojohnsons.financeapi.domain.model.User;
@@ -24,7 +33,11 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final MonthlyRollupService monthlyRollupService;
+    private final DashboardCache dashboardCache;
+    private final TransactionPageProperties pageProperties;
 
+    @ConcurrencyLimited(ConcurrencyClass.WRITE)
     @Transactional
     public TransactionResponseDTO create(TransactionRequestDTO dto, Long userId) {
         var user = findUserById(userId);
@@ -39,19 +52,54 @@ public class TransactionService {
                 category);
 
         var savedTransaction = transactionRepository.save(newTransaction);
+        monthlyRollupService.add(savedTransaction);
+        dashboardCache.evict(userId, savedTransaction.getDate());
 
         return TransactionResponseDTO.fromEntity(savedTransaction);
     }
 
+    @ConcurrencyLimited(ConcurrencyClass.READ)
     @Transactional(readOnly = true)
     public List<TransactionResponseDTO> findAllByUserIdAndDate(Long userId, int year, int month) {
-        var transactions = transactionRepository.findByUserIdAndYearAndMonth(userId, year, month);
+        var period = YearMonth.of(year, month);
+        var rows = transactionRepository.findByUserIdAndPeriod(
+                userId, period.atDay(1), period.plusMonths(1).atDay(1));
 
-        return transactions.stream()
-                .map(TransactionResponseDTO::fromEntity)
-                .toList();
+        return toResponses(rows);
+    }
+
+    /**
+     * List a user's transactions, newest first, one page at a time.
+     * 
+     * @param userId            The user ID.
+     * @param continuationToken The token returned with the previous page, or null
+     *                          for the first page.
+     * @param pageSize          The desired page size, or null for the default one.
+     * @return The page and the token of the next one (null on the last page).
+     */
+    @ConcurrencyLimited(ConcurrencyClass.READ)
+    @Transactional(readOnly = true)
+    public TransactionPageResponseDTO findPageByUserId(Long userId, String continuationToken, Integer pageSize) {
+        var size = resolvePageSize(pageSize);
+        // One extra row tells whether there is a next page without a COUNT query.
+        var limit = Limit.of(size + 1);
+
+        List<TransactionRowDTO> rows;
+        if (continuationToken == null || continuationToken.isBlank()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            var cursor = TransactionCursor.decode(continuationToken);
+            rows = transactionRepository.findPageByUserIdAfter(userId, cursor.date(), cursor.id(), limit);
+        }
+
+        var hasNext = rows.size() > size;
+        var page = hasNext ? rows.subList(0, size) : rows;
+        var nextToken = hasNext ? TransactionCursor.of(page.get(size - 1)).encode() : null;
+
+        return new TransactionPageResponseDTO(toResponses(page), nextToken);
     }
 
+    @ConcurrencyLimited(ConcurrencyClass.READ)
     @Transactional(readOnly = true)
     public TransactionResponseDTO findById(Long transactionId, Long userId) {
         var transaction = findTransactionByIdAndUser(transactionId, userId);
@@ -59,24 +107,52 @@ public class TransactionService {
         return TransactionResponseDTO.fromEntity(transaction);
     }
 
+    @ConcurrencyLimited(ConcurrencyClass.WRITE)
     @Transactional
     public TransactionResponseDTO update(Long transactionId, TransactionUpdateRequestDTO dto, Long userId) {
         var transaction = findTransactionByIdAndUser(transactionId, userId);
         var category = findCategoryIfPresent(dto.categoryId(), userId);
 
+        // The transaction may move to another month or category, so it leaves its
+        // current rollup before the change and joins the new one after.
+        monthlyRollupService.subtract(transaction);
+        dashboardCache.evict(userId, transaction.getDate());
+
         transaction.setDescription(dto.description());
         transaction.setAmount(dto.amount());
         transaction.setDate(dto.date());
         transaction.changeCategory(category);
 
+        monthlyRollupService.add(transaction);
+        dashboardCache.evict(userId, transaction.getDate());
+
         return TransactionResponseDTO.fromEntity(transaction);
     }
 
+    @ConcurrencyLimited(ConcurrencyClass.WRITE)
     @Transactional
     public void delete(Long transactionId, Long userId) {
         var transaction = findTransactionByIdAndUser(transactionId, userId);
 
+        monthlyRollupService.subtract(transaction);
         transactionRepository.delete(transaction);
+        dashboardCache.evict(userId, transaction.getDate());
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null || pageSize <= 0)
+            return pageProperties.defaultSize();
+
+        return Math.min(pageSize, pageProperties.maxSize());
+    }
+
+    // The rows of a same category share one summary instead of a copy each.
+    private List<TransactionResponseDTO> toResponses(List<TransactionRowDTO> rows) {
+        var categories = new HashMap<Long, CategorySummaryDTO>();
+
+        return rows.stream()
+                .map(row -> row.toResponse(categories))
+                .toList();
     }
 
     private User findUserById(Long userId) {
@@ -0,0 +1,241 @@
+package io.github.manojohnsons.financeapi.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.domain.enums.StatementFormat;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.exception.InvalidStatementException;
+import io.github.manojohnsons.financeapi.service.StatementParser;
+import io.github.manojohnsons.financeapi.service.StatementRow;
+
+/**
+ * Reads CSV statements with a header line. The columns date, description and
+ * amount are required; type and category are optional. Without a type, the
+ * sign of the amount tells income from expense. The files written by the
+ * export can be imported back as they are.
+ */
+@Service
+public class CsvStatementParser implements StatementParser {
+
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Override
+    public StatementFormat format() {
+        return StatementFormat.CSV;
+    }
+
+    @Override
+    public void parse(Reader reader, Consumer<StatementRow> consumer) throws IOException {
+        var csv = new CsvReader(reader);
+        var header = csv.readRecord();
+        if (header == null)
+            throw new InvalidStatementException("The statement is empty.");
+
+        var columns = indexColumns(header);
+        var date = requireColumn(columns, "date");
+        var description = requireColumn(columns, "description");
+        var amount = requireColumn(columns, "amount");
+        var type = columns.getOrDefault("type", -1);
+        var category = columns.getOrDefault("category", -1);
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            var number = csv.recordLine;
+            try {
+                var transaction = toTransaction(
+                        field(record, date), field(record, description), field(record, amount), field(record, type));
+                consumer.accept(StatementRow.parsed(number, transaction, field(record, category)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                consumer.accept(StatementRow.failed(number, e.getMessage()));
+            }
+        }
+    }
+
+    private TransactionRequestDTO toTransaction(String date, String description, String amount, String type) {
+        var value = parseAmount(amount);
+        TransactionType transactionType;
+        if (type == null) {
+            transactionType = value != null && value.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+            value = value != null ? value.abs() : null;
+        } else {
+            transactionType = parseType(type);
+        }
+
+        return new TransactionRequestDTO(description, value, parseDate(date), transactionType, null);
+    }
+
+    private Map<String, Integer> indexColumns(List<String> header) {
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++)
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+
+        return columns;
+    }
+
+    private int requireColumn(Map<String, Integer> columns, String name) {
+        var index = columns.get(name);
+        if (index == null)
+            throw new InvalidStatementException("The statement has no '" + name + "' column.");
+
+        return index;
+    }
+
+    private String field(List<String> record, int index) {
+        if (index < 0 || index >= record.size())
+            return null;
+
+        var value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null)
+            return null;
+
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value, BRAZILIAN_DATE);
+            } catch (DateTimeParseException ignored) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'.");
+            }
+        }
+    }
+
+    private BigDecimal parseAmount(String value) {
+        if (value == null)
+            return null;
+
+        // Accepts both 1234.56 and the Brazilian 1.234,56.
+        var normalized = value.indexOf(',') >= 0 ? value.replace(".", "").replace(',', '.') : value;
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + value + "'.");
+        }
+    }
+
+    private TransactionType parseType(String value) {
+        try {
+            return TransactionType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transaction type '" + value + "'.");
+        }
+    }
+
+    /*
+     * Minimal RFC 4180 reader: quoted fields may hold separators, doubled quotes and
+     * line breaks. The separator (',' or ';') is taken from the header line.
+     */
+    private static class CsvReader {
+
+        private final Reader reader;
+        private char separator;
+        private boolean separatorKnown;
+        private int pending = -2;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        List<String> readRecord() throws IOException {
+            List<String> record;
+            do {
+                record = readLine();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+
+            return record;
+        }
+
+        private List<String> readLine() throws IOException {
+            int c = read();
+            if (c == -1)
+                return null;
+
+            recordLine = line;
+            var record = new ArrayList<String>();
+            var field = new StringBuilder();
+            var quoted = false;
+
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            pending = next;
+                        }
+                    } else {
+                        if (c == '\n')
+                            line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (isSeparator(c)) {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n')
+                            pending = next;
+                    }
+                    line++;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+
+            record.add(field.toString());
+            if (!separatorKnown) {
+                // Only the header decides, and it has no separators inside values.
+                separatorKnown = true;
+                if (record.size() == 1 && record.get(0).indexOf(';') >= 0) {
+                    separator = ';';
+                    record = new ArrayList<>(List.of(record.get(0).split(";", -1)));
+                    return record;
+                }
+                separator = ',';
+                return record;
+            }
+
+            return record;
+        }
+
+        private boolean isSeparator(int c) {
+            return separatorKnown ? c == separator : c == ',';
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+
+            return reader.read();
+        }
+    }
+}
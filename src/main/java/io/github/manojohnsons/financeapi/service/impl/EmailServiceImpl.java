@@ -1,79 +1,226 @@
 package io.github.manojohnsons.financeapi.service.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import io.github.manojohnsons.financeapi.application.dto.BudgetCategoryDTO;
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
-import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
 import io.github.manojohnsons.financeapi.service.EmailService;
+import io.github.manojohnsons.financeapi.service.EmailTemplate;
+import io.github.manojohnsons.financeapi.service.MoneyFormatter;
 
 @Service
 public class EmailServiceImpl implements EmailService {
 
-    private static final NumberFormat CURRENCY_FORMATTER = NumberFormat.getCurrencyInstance(Locale.of("pt", "BR"));
+    // One template per locale, named like summary_pt_BR.txt or summary_en.txt.
+    private static final String SUMMARY_TEMPLATES = "classpath*:templates/email/summary_*.txt";
+    private static final String DEFAULT_LOCALE = "pt-BR";
+
+    // The amounts of the API are in reais, whatever the locale of the user is.
+    private static final Currency CURRENCY = Currency.getInstance("BRL");
+
+    // Buffers that grew past this size (a user with a huge number of budgets) aren't kept.
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private record Rendering(EmailTemplate template, MoneyFormatter money) {
+    }
 
     private final JavaMailSender mailSender;
     private final String emailSubject;
     private final String emailSignature;
+    private final int maxMessagesPerConnection;
+    private final Map<String, EmailTemplate> templates;
+    private final Map<String, Rendering> renderings = new ConcurrentHashMap<>();
+    private final ThreadLocal<StringBuilder> buffers;
 
     public EmailServiceImpl(
             JavaMailSender mailSender,
             @Value("${api.email.summary.subject}") String emailSubject,
-            @Value("${api.email.signature}") String emailSignature) {
+            @Value("${api.email.signature}") String emailSignature,
+            @Value("${api.email.max-messages-per-connection}") int maxMessagesPerConnection) {
         this.mailSender = mailSender;
         this.emailSubject = emailSubject;
         this.emailSignature = emailSignature;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.templates = loadTemplates();
+
+        if (!templates.containsKey(DEFAULT_LOCALE))
+            throw new IllegalStateException("There is no summary e-mail template for " + DEFAULT_LOCALE + ".");
+
+        // A template naming an unknown value fails the startup instead of the first e-mail.
+        var sample = new DashboardResponseDTO(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO,
+                List.of(new BudgetCategoryDTO("Sample", null, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)));
+        templates.forEach((locale, template) -> template.render(
+                new SummaryScope(new UserContactDTO(0L, "Sample", "sample@email.com", locale), sample,
+                        MoneyFormatter.of(Locale.forLanguageTag(locale), CURRENCY), emailSignature),
+                new StringBuilder()));
+
+        var bufferSize = templates.values().stream().mapToInt(EmailTemplate::textLength).max().orElse(0) * 2;
+        this.buffers = ThreadLocal.withInitial(() -> new StringBuilder(bufferSize));
     }
 
     @Override
-    public void sendSummaryEmail(User user, DashboardResponseDTO summary) {
+    public EmailMessageDTO buildSummaryEmail(UserContactDTO user, DashboardResponseDTO summary) {
+        var rendering = renderingFor(user.locale());
+
+        var buffer = buffers.get();
+        buffer.setLength(0);
+        rendering.template().render(new SummaryScope(user, summary, rendering.money(), emailSignature), buffer);
+        var text = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER)
+            buffers.remove();
+
+        return new EmailMessageDTO(user.email(), this.emailSubject, text);
+    }
+
+    @Override
+    public void send(EmailMessageDTO email) {
+        mailSender.send(toMailMessage(email));
+    }
+
+    /*
+     * JavaMailSender sends all the messages of one send(...) call over a single connection,
+     * so each group pays the SMTP handshake and authentication once. Groups are capped,
+     * because most servers close a session after a number of messages.
+     */
+    @Override
+    public Map<Integer, Exception> sendBatch(List<EmailMessageDTO> emails) {
+        Map<Integer, Exception> failures = new HashMap<>();
+
+        for (int start = 0; start < emails.size(); start += maxMessagesPerConnection) {
+            var end = Math.min(start + maxMessagesPerConnection, emails.size());
+            var group = new SimpleMailMessage[end - start];
+            for (int i = start; i < end; i++)
+                group[i - start] = toMailMessage(emails.get(i));
+
+            try {
+                mailSender.send(group);
+            } catch (MailSendException e) {
+                // Only the listed messages failed; if the connection itself failed, all of them are listed.
+                // None listed means only closing the connection failed, after every message was sent:
+                // marking them failed would send them all again.
+                var failed = new IdentityHashMap<Object, Exception>(e.getFailedMessages());
+                for (int i = 0; i < group.length; i++) {
+                    if (failed.containsKey(group[i]))
+                        failures.put(start + i, failed.get(group[i]));
+                }
+            } catch (MailException e) {
+                markAllFailed(failures, start, end, e);
+            }
+        }
+        return failures;
+    }
+
+    private SimpleMailMessage toMailMessage(EmailMessageDTO email) {
         SimpleMailMessage message = new SimpleMailMessage();
 
-        message.setTo(user.getEmail());
+        message.setTo(email.to());
+        message.setSubject(email.subject());
+        message.setText(email.text());
 
-        message.setSubject(this.emailSubject);
+        return message;
+    }
 
-        String text = buildEmailText(user, summary);
-        message.setText(text);
+    private static void markAllFailed(Map<Integer, Exception> failures, int start, int end, Exception e) {
+        for (int i = start; i < end; i++)
+            failures.put(i, e);
+    }
 
-        mailSender.send(message);
+    /*
+     * The template of the exact locale, then of its language, then the default one. The
+     * amounts are always written with the separators of the user's locale.
+     */
+    private Rendering renderingFor(String languageTag) {
+        return renderings.computeIfAbsent(languageTag == null ? DEFAULT_LOCALE : languageTag, tag -> {
+            var locale = Locale.forLanguageTag(tag);
+            if (locale.getLanguage().isEmpty())
+                locale = Locale.forLanguageTag(DEFAULT_LOCALE);
+
+            var template = templates.getOrDefault(locale.toLanguageTag(),
+                    templates.getOrDefault(locale.getLanguage(), templates.get(DEFAULT_LOCALE)));
+            return new Rendering(template, MoneyFormatter.of(locale, CURRENCY));
+        });
     }
 
-    private String buildEmailText(User user, DashboardResponseDTO summary) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Olá ").append(user.getName()).append(",\n\n");
-        sb.append("Aqui está o seu resumo financeiro do último mês:\n\n");
-
-        sb.append("- Total de Receitas: ").append(formatCurrency(summary.totalIncome())).append("\n");
-        sb.append("- Total de Despesas: ").append(formatCurrency(summary.totalExpense())).append("\n");
-        sb.append("- Saldo Final: ").append(formatCurrency(summary.finalBalance())).append("\n\n");
-
-        if (summary.budgets() != null && !summary.budgets().isEmpty()) {
-            sb.append("Progresso dos seus orçamentos:\n");
-            for (BudgetCategoryDTO budget : summary.budgets()) {
-                sb.append("- ").append(budget.categoryName()).append(": ");
-                sb.append("Gastou ").append(formatCurrency(budget.totalSpent()));
-                sb.append(" de ").append(formatCurrency(budget.monthlyGoal()));
-                sb.append("  (").append(budget.percentageSpent().setScale(2)).append("%)\n");
+    private static Map<String, EmailTemplate> loadTemplates() {
+        Map<String, EmailTemplate> loaded = new HashMap<>();
+        try {
+            for (var resource : new PathMatchingResourcePatternResolver().getResources(SUMMARY_TEMPLATES)) {
+                var filename = resource.getFilename();
+                var locale = filename.substring("summary_".length(), filename.length() - ".txt".length());
+                var source = resource.getContentAsString(StandardCharsets.UTF_8);
+                loaded.put(locale.replace('_', '-'), EmailTemplate.parse(source));
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't load the summary e-mail templates.", e);
         }
+        return Map.copyOf(loaded);
+    }
 
-        sb.append("\nAtenciosamente,\n").append(this.emailSignature);
-        return sb.toString();
+    private record SummaryScope(UserContactDTO user, DashboardResponseDTO summary, MoneyFormatter money,
+            String signature) implements EmailTemplate.Scope {
+
+        @Override
+        public void appendValue(String name, StringBuilder out) {
+            switch (name) {
+                case "name" -> out.append(user.name());
+                case "totalIncome" -> money.appendTo(out, summary.totalIncome());
+                case "totalExpense" -> money.appendTo(out, summary.totalExpense());
+                case "finalBalance" -> money.appendTo(out, summary.finalBalance());
+                case "signature" -> out.append(signature);
+                default -> throw new IllegalArgumentException("Unknown summary e-mail value '" + name + "'.");
+            }
+        }
+
+        @Override
+        public List<? extends EmailTemplate.Scope> section(String name) {
+            var budgets = summary.budgets() == null ? List.<BudgetCategoryDTO>of() : summary.budgets();
+
+            return switch (name) {
+                case "budgetSummary" -> budgets.isEmpty() ? List.of() : List.of(this);
+                case "budgets" -> budgets.stream().map(budget -> new BudgetScope(budget, money)).toList();
+                default -> throw new IllegalArgumentException("Unknown summary e-mail section '" + name + "'.");
+            };
+        }
     }
 
-    private String formatCurrency(BigDecimal value) {
-        if (value == null) {
-            return formatCurrency(BigDecimal.ZERO);
+    private record BudgetScope(BudgetCategoryDTO budget, MoneyFormatter money) implements EmailTemplate.Scope {
+
+        @Override
+        public void appendValue(String name, StringBuilder out) {
+            switch (name) {
+                case "category" -> out.append(budget.categoryName());
+                case "spent" -> money.appendTo(out, budget.totalSpent());
+                case "goal" -> money.appendTo(out, budget.monthlyGoal());
+                case "percentage" -> out.append(budget.percentageSpent() == null ? "0.00"
+                        : budget.percentageSpent().setScale(2, RoundingMode.HALF_UP).toPlainString());
+                default -> throw new IllegalArgumentException("Unknown budget e-mail value '" + name + "'.");
+            }
         }
 
-        return CURRENCY_FORMATTER.format(value);
+        @Override
+        public List<? extends EmailTemplate.Scope> section(String name) {
+            throw new IllegalArgumentException("Unknown budget e-mail section '" + name + "'.");
+        }
     }
 }
@@ -0,0 +1,137 @@
+package io.github.manojohnsons.financeapi.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.domain.enums.StatementFormat;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.service.StatementParser;
+import io.github.manojohnsons.financeapi.service.StatementRow;
+
+/**
+ * Reads the STMTTRN entries of OFX statements, both the SGML (1.x, unclosed
+ * tags) and the XML (2.x) flavours. The sign of TRNAMT tells income from
+ * expense; OFX has no categories, so every row is imported uncategorized.
+ */
+@Service
+public class OfxStatementParser implements StatementParser {
+
+    @Override
+    public StatementFormat format() {
+        return StatementFormat.OFX;
+    }
+
+    @Override
+    public void parse(Reader reader, Consumer<StatementRow> consumer) throws IOException {
+        var entry = new EntryCollector(consumer);
+        var tag = new StringBuilder();
+        var text = new StringBuilder();
+        String currentTag = null;
+        var inTag = false;
+
+        // The header lines before the first tag are skipped, since currentTag is still null.
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '<') {
+                if (currentTag != null)
+                    entry.accept(currentTag, text.toString().trim());
+                tag.setLength(0);
+                inTag = true;
+            } else if (c == '>' && inTag) {
+                currentTag = tag.toString().trim().toUpperCase(Locale.ROOT);
+                text.setLength(0);
+                inTag = false;
+            } else if (inTag) {
+                tag.append((char) c);
+            } else if (currentTag != null) {
+                text.append((char) c);
+            }
+        }
+
+        if (currentTag != null)
+            entry.accept(currentTag, text.toString().trim());
+    }
+
+    private static class EntryCollector {
+
+        private final Consumer<StatementRow> consumer;
+        private Map<String, String> fields;
+        private long number;
+
+        EntryCollector(Consumer<StatementRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        void accept(String tag, String text) {
+            if (tag.equals("STMTTRN")) {
+                fields = new HashMap<>();
+                number++;
+            } else if (tag.equals("/STMTTRN")) {
+                if (fields != null)
+                    consumer.accept(toRow());
+                fields = null;
+            } else if (fields != null && !tag.startsWith("/") && !text.isEmpty()) {
+                fields.put(tag, decode(text));
+            }
+        }
+
+        private StatementRow toRow() {
+            try {
+                var amount = parseAmount(fields.get("TRNAMT"));
+                var type = amount != null && amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+                var description = fields.getOrDefault("MEMO", fields.get("NAME"));
+
+                var transaction = new TransactionRequestDTO(
+                        description,
+                        amount != null ? amount.abs() : null,
+                        parseDate(fields.get("DTPOSTED")),
+                        type,
+                        null);
+                return StatementRow.parsed(number, transaction, null);
+            } catch (IllegalArgumentException e) {
+                return StatementRow.failed(number, e.getMessage());
+            }
+        }
+
+        // DTPOSTED is YYYYMMDD followed by an optional time and time zone.
+        private LocalDate parseDate(String value) {
+            if (value == null)
+                return null;
+
+            try {
+                return LocalDate.parse(value.substring(0, Math.min(8, value.length())), DateTimeFormatter.BASIC_ISO_DATE);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date '" + value + "'.");
+            }
+        }
+
+        private BigDecimal parseAmount(String value) {
+            if (value == null)
+                return null;
+
+            try {
+                return new BigDecimal(value.replace(',', '.'));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount '" + value + "'.");
+            }
+        }
+
+        private String decode(String text) {
+            if (text.indexOf('&') < 0)
+                return text;
+
+            return text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&amp;", "&");
+        }
+    }
+}
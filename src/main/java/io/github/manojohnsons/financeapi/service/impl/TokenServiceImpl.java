@@ -1,38 +1,79 @@
 package io.github.manojohnsons.financeapi.service.impl;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.service.TokenRevocationService;
 import io.github.manojohnsons.financeapi.service.TokenService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class TokenServiceImpl implements TokenService {
 
+    // The ID of the user, so the principal is built from the token without reading the user.
+    private static final String USER_ID_CLAIM = "uid";
+
     private final SecretKey secretKey;
     private final long expirationHours;
     private final String issuer;
     private final String zoneOffset;
+    private final JwtParser parser;
+    private final TokenRevocationService revocations;
+
+    /*
+     * Tokens verified recently, so the repeated requests of a client skip the parsing and the
+     * HMAC. An entry expires with its token, so a cached token is never accepted past its expiry,
+     * and the denylist is still checked on every hit.
+     */
+    private final Cache<String, AuthenticatedUserDTO> verifiedTokens;
 
     public TokenServiceImpl(
+            MeterRegistry meterRegistry,
+            TokenRevocationService revocations,
             @Value("${api.security.token.secret}") String jwtSecret,
             @Value("${api.security.token.expiration-hours}") long expirationHours,
             @Value("${api.security.token.issuer}") String issuer,
-            @Value("${api.security.token.zone-offset}") String zoneOffset) {
+            @Value("${api.security.token.zone-offset}") String zoneOffset,
+            @Value("${api.security.token.cache.maximum-size}") long cacheMaximumSize) {
 
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.expirationHours = expirationHours;
         this.issuer = issuer;
         this.zoneOffset = zoneOffset;
+        this.revocations = revocations;
+        this.parser = Jwts.parser()
+                .verifyWith(this.secretKey)
+                .requireIssuer(this.issuer)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(Expiry.creating((String token, AuthenticatedUserDTO principal) -> Duration
+                        .between(Instant.now(), principal.expiresAt())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verifiedTokens, "tokens");
     }
 
     @Override
@@ -40,14 +81,45 @@ public class TokenServiceImpl implements TokenService {
         var expirationTime = generateExpirationTime();
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .issuer(this.issuer)
                 .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
                 .issuedAt(Date.from(Instant.now()))
                 .expiration(Date.from(expirationTime))
                 .signWith(this.secretKey)
                 .compact();
     }
 
+    @Override
+    public Optional<AuthenticatedUserDTO> validate(String token) {
+        var principal = verifiedTokens.getIfPresent(token);
+        if (principal == null) {
+            principal = verify(token);
+            if (principal == null)
+                return Optional.empty();
+            verifiedTokens.put(token, principal);
+        }
+
+        return revocations.isRevoked(principal.tokenId()) ? Optional.empty() : Optional.of(principal);
+    }
+
+    private AuthenticatedUserDTO verify(String token) {
+        try {
+            var claims = parser.parseSignedClaims(token).getPayload();
+            var userId = claims.get(USER_ID_CLAIM, Long.class);
+            // Tokens without the user ID, the token ID or an expiry aren't accepted.
+            if (userId == null || claims.getSubject() == null || claims.getId() == null
+                    || claims.getExpiration() == null)
+                return null;
+
+            return new AuthenticatedUserDTO(userId, claims.getSubject(), UUID.fromString(claims.getId()),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private Instant generateExpirationTime() {
         return LocalDateTime.now()
                 .plusHours(this.expirationHours)
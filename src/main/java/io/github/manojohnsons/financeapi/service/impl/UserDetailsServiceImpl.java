@@ -0,0 +1,39 @@
+package io.github.manojohnsons.financeapi.service.impl;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Loads the user checked by the login. The requests authenticated by token never come here:
+ * their principal is built from the token claims. After a successful login with a hash of a
+ * lower cost than the configured one, the login stores the password hashed again.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var stored = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
+        stored.setPassword(newPassword);
+        return stored;
+    }
+}
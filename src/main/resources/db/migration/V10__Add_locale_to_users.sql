@@ -0,0 +1,5 @@
+-- V10__Add_locale_to_users.sql
+
+-- The language tag (BCP 47) the e-mails of the user are written in.
+-- Every existing user keeps receiving them in Brazilian Portuguese.
+ALTER TABLE tab_users ADD COLUMN locale VARCHAR(35) NOT NULL DEFAULT 'pt-BR';
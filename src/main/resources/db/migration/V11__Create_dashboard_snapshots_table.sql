@@ -0,0 +1,16 @@
+-- V11__Create_dashboard_snapshots_table.sql
+
+-- The dashboard of a closed month, computed once per user and month (ahead of the monthly
+-- summary run, or on the first read) and served from here afterwards. A NULL summary is an
+-- invalidated snapshot: every change of the month bumps the version, in the same transaction
+-- as the change, and a snapshot is only stored over the version it was computed from.
+CREATE TABLE tab_dashboard_snapshots (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    year_month DATE NOT NULL, -- Always the first day of the month
+    summary JSONB,
+    version BIGINT NOT NULL DEFAULT 0,
+    computed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_dashboard_snapshots_user_month UNIQUE (user_id, year_month),
+    CONSTRAINT fk_dashboard_snapshots_users FOREIGN KEY (user_id) REFERENCES tab_users(id)
+);
@@ -0,0 +1,30 @@
+-- V12__Create_refresh_and_revoked_tokens_tables.sql
+
+-- Refresh tokens, stored as the SHA-256 of the token: the token itself is 256 random bits,
+-- so a fast hash is enough and a renewal is one indexed lookup instead of a BCrypt check.
+-- Each use rotates the token within its family (one family per login); presenting a token
+-- that was already used revokes the whole family, as it was stolen or replayed.
+CREATE TABLE tab_refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    family_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL, -- Hex SHA-256 of the token
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    used_at TIMESTAMP WITH TIME ZONE, -- Set when rotated
+    revoked_at TIMESTAMP WITH TIME ZONE, -- Set on logout or reuse, for the whole family
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_users FOREIGN KEY (user_id) REFERENCES tab_users(id)
+);
+
+CREATE INDEX idx_refresh_tokens_family ON tab_refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON tab_refresh_tokens (expires_at);
+
+-- IDs (jti) of the access tokens revoked before their expiry. Every replica loads them into
+-- an in-memory Bloom filter; a row is useless once its token has expired, and is purged.
+CREATE TABLE tab_revoked_tokens (
+    token_id UUID PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON tab_revoked_tokens (expires_at);
@@ -0,0 +1,12 @@
+-- V13__Add_attempts_and_failed_status_to_job_shards.sql
+
+-- A shard that fails every time it is claimed (a poison user, a bad query) would otherwise be
+-- claimed again after every lease expiry, forever. Its claims of the current planning are
+-- counted, apart from the fencing claim number, and after too many it is marked FAILED so the
+-- run can end without it.
+ALTER TABLE tab_job_shards ADD COLUMN attempts INT NOT NULL DEFAULT 0;
+UPDATE tab_job_shards SET attempts = claims;
+
+ALTER TABLE tab_job_shards DROP CONSTRAINT tab_job_shards_status_check;
+ALTER TABLE tab_job_shards
+    ADD CONSTRAINT ck_job_shards_status CHECK (status IN ('PENDING', 'RUNNING', 'DONE', 'FAILED'));
@@ -0,0 +1,10 @@
+-- V14__Drop_include_columns_from_transactions_user_date_index.sql
+
+-- The INCLUDE columns made the index covering for the dashboard aggregation, which now reads
+-- the monthly rollups instead. The listing reads the whole row and only needs the key, so the
+-- columns just made the index larger and every insert more expensive. The index is recreated
+-- with the key alone, under the same name.
+DROP INDEX idx_transactions_user_date_id;
+
+CREATE INDEX idx_transactions_user_date_id
+    ON tab_transactions (user_id, date, id);
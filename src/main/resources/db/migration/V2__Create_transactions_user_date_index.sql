@@ -0,0 +1,8 @@
+-- V2__Create_transactions_user_date_index.sql
+
+-- Composite index for the per-user period lookups (listing and dashboard).
+-- The INCLUDE columns make it covering for the dashboard aggregation, which
+-- can then be answered with an index-only scan.
+CREATE INDEX idx_transactions_user_date
+    ON tab_transactions (user_id, date)
+    INCLUDE (type, amount, category_id);
@@ -0,0 +1,22 @@
+-- V3__Create_monthly_rollups_table.sql
+
+-- Monthly totals per user, category and type, maintained together with the
+-- writes in tab_transactions so the dashboard doesn't have to aggregate raw rows.
+CREATE TABLE tab_monthly_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    year_month DATE NOT NULL, -- Always the first day of the month
+    category_id BIGINT, -- Null groups the uncategorized transactions
+    type VARCHAR(7) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_monthly_rollups_key UNIQUE NULLS NOT DISTINCT (user_id, year_month, category_id, type),
+    CONSTRAINT fk_monthly_rollups_users FOREIGN KEY (user_id) REFERENCES tab_users(id),
+    CONSTRAINT fk_monthly_rollups_categories FOREIGN KEY (category_id) REFERENCES tab_categories(id)
+);
+
+-- Backfill from the existing transactions.
+INSERT INTO tab_monthly_rollups (user_id, year_month, category_id, type, total_amount, transaction_count)
+SELECT user_id, CAST(date_trunc('month', date) AS DATE), category_id, type, SUM(amount), COUNT(*)
+FROM tab_transactions
+GROUP BY user_id, CAST(date_trunc('month', date) AS DATE), category_id, type;
@@ -0,0 +1,10 @@
+-- V4__Add_id_to_transactions_user_date_index.sql
+
+-- The keyset-paginated listing orders by (date, id) inside a user, so the id
+-- joins the composite index. The new index also serves every query of the
+-- previous one, which is dropped.
+CREATE INDEX idx_transactions_user_date_id
+    ON tab_transactions (user_id, date, id)
+    INCLUDE (type, amount, category_id);
+
+DROP INDEX idx_transactions_user_date;
@@ -0,0 +1,10 @@
+-- V5__Increment_id_sequences_by_allocation_size.sql
+
+-- The entities now take their IDs from these sequences with a pooled optimizer:
+-- each nextval reserves a block of 50 IDs that Hibernate hands out in memory, so the
+-- INCREMENT must match the allocationSize of the @SequenceGenerator mappings.
+-- Inserts that still rely on the column DEFAULT get one value per row, which never
+-- falls inside a block reserved by Hibernate.
+ALTER SEQUENCE tab_users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tab_categories_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tab_transactions_id_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+-- V6__Create_transactions_category_index.sql
+
+-- Deleting a category detaches its transactions with one UPDATE ... WHERE category_id = ?,
+-- and the foreign key check of the DELETE looks the category up again. Without this index
+-- both scan the whole table. Uncategorized rows never match, so they stay out of it.
+CREATE INDEX idx_transactions_category_id
+    ON tab_transactions (category_id)
+    WHERE category_id IS NOT NULL;
@@ -0,0 +1,27 @@
+-- V7__Create_email_outbox_table.sql
+
+-- Rendered e-mails waiting to be delivered. The summary job only inserts rows here;
+-- the outbox workers claim them with FOR UPDATE SKIP LOCKED, so SMTP latency or
+-- outages never stall the job and failed deliveries are retried instead of lost.
+CREATE TABLE tab_email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(7) NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'DEAD')),
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL, -- Retry time, or lease end while SENDING
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    sent_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT fk_email_outbox_users FOREIGN KEY (user_id) REFERENCES tab_users(id)
+);
+
+-- Same pooled allocation as the other entities, so the enqueued rows are batch inserted.
+ALTER SEQUENCE tab_email_outbox_id_seq INCREMENT BY 50;
+
+-- Only the rows a worker may claim are indexed, so the sent history doesn't slow the polling.
+CREATE INDEX idx_email_outbox_claimable
+    ON tab_email_outbox (next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
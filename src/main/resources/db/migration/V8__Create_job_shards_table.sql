@@ -0,0 +1,20 @@
+-- V8__Create_job_shards_table.sql
+
+-- Work split of the scheduled jobs that run on every replica. Each run of a job (a job
+-- name and the period it covers) divides the user ID space into shards; a replica claims
+-- a shard with FOR UPDATE SKIP LOCKED and holds it through a lease it keeps renewing.
+-- A shard whose lease expires (its replica crashed) can be claimed by another replica.
+CREATE TABLE tab_job_shards (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(50) NOT NULL,
+    period DATE NOT NULL, -- First day of the month processed by the run
+    shard INT NOT NULL,
+    from_user_id BIGINT NOT NULL, -- Exclusive
+    to_user_id BIGINT NOT NULL, -- Inclusive
+    status VARCHAR(7) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'DONE')),
+    claims INT NOT NULL DEFAULT 0, -- Fences the updates of a replica that lost its lease
+    owner VARCHAR(100),
+    lease_until TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_job_shards_job_period_shard UNIQUE (job_name, period, shard)
+);
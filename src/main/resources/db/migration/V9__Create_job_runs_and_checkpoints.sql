@@ -0,0 +1,28 @@
+-- V9__Create_job_runs_and_checkpoints.sql
+
+-- One row per run of a scheduled job (a job name and the period it covers). A run stays
+-- RUNNING until all its shards are done, so the runs interrupted by a restart can be found
+-- and resumed.
+CREATE TABLE tab_job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(50) NOT NULL,
+    period DATE NOT NULL,
+    status VARCHAR(9) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED')),
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uk_job_runs_job_period UNIQUE (job_name, period)
+);
+
+-- Checkpoint of each shard: the last user ID whose chunk was committed (the high-water mark
+-- a new owner resumes from) and the counts so far.
+ALTER TABLE tab_job_shards ADD COLUMN last_user_id BIGINT;
+UPDATE tab_job_shards SET last_user_id = from_user_id;
+ALTER TABLE tab_job_shards ALTER COLUMN last_user_id SET NOT NULL;
+ALTER TABLE tab_job_shards ADD COLUMN succeeded BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tab_job_shards ADD COLUMN failed BIGINT NOT NULL DEFAULT 0;
+
+-- The month of a summary e-mail: at most one summary per user and month is ever queued,
+-- whatever the number of re-runs. NULL for the e-mails that aren't monthly summaries.
+ALTER TABLE tab_email_outbox ADD COLUMN summary_month DATE;
+ALTER TABLE tab_email_outbox
+    ADD CONSTRAINT uk_email_outbox_user_summary_month UNIQUE (user_id, summary_month);
@@ -0,0 +1,170 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import io.github.manojohnsons.financeapi.exception.TooManyRequestsException;
+import io.github.manojohnsons.financeapi.service.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class BoundedPasswordEncoderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on its own threads")
+    void shouldHashAndVerifyPasswords() {
+        // Arrange (Organizar)
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, new SimpleMeterRegistry());
+
+        // Act (Agir)
+        var hash = passwordEncoder.encode("senha123");
+
+        // Assert (Verificar)
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("senha123", hash)).isTrue();
+        assertThat(passwordEncoder.matches("senha errada", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should refuse a hash with 429 at once when every thread and queue slot is taken")
+    void shouldRefuseHashWhenSaturated() throws Exception {
+        // Arrange (Organizar)
+        // The single thread and the single queue slot are held by two hashes that wait for the latch.
+        // A única thread e a única vaga da fila ficam com dois hashes que esperam o latch.
+        var release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, new SimpleMeterRegistry());
+        var running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("senha1"));
+        var queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("senha2"));
+        waitUntilQueued();
+
+        // Act & Assert (Agir e Verificar)
+        assertThrows(TooManyRequestsException.class, () -> passwordEncoder.encode("senha3"));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+    }
+
+    @Test
+    @DisplayName("Should upgrade a hash of a lower cost on a successful login")
+    void shouldUpgradeLowerCostHashOnLogin() {
+        // Arrange (Organizar)
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 2, 4, new SimpleMeterRegistry());
+        var user = new User("Fulana Santos", "fulana32@email.com", new BCryptPasswordEncoder(4).encode("senha123"));
+        when(userRepository.findByEmail("fulana32@email.com")).thenReturn(Optional.of(user));
+
+        var userDetailsService = new UserDetailsServiceImpl(userRepository);
+        var provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        // Act (Agir)
+        var authentication = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("fulana32@email.com", "senha123"));
+
+        // Assert (Verificar)
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(user.getPassword()).startsWith("$2a$05$");
+        assertThat(passwordEncoder.matches("senha123", user.getPassword())).isTrue();
+        verify(userRepository, times(2)).findByEmail("fulana32@email.com");
+    }
+
+    @Test
+    @DisplayName("Should refuse with 429 the login of an unknown e-mail when the hashing is saturated")
+    void shouldRefuseUnknownEmailLoginWhenSaturated() throws Exception {
+        // Arrange (Organizar)
+        // Only the hashes of "ocupado" wait for the latch; they take the single thread and queue slot.
+        // Só os hashes de "ocupado" esperam o latch; eles ficam com a única thread e a única vaga da fila.
+        var release = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("ocupado".contentEquals(rawPassword)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, new SimpleMeterRegistry());
+        when(userRepository.findByEmail("unknown@email.com")).thenReturn(Optional.empty());
+
+        var provider = new DaoAuthenticationProvider(new UserDetailsServiceImpl(userRepository));
+        provider.setPasswordEncoder(passwordEncoder);
+        var authenticationManager = new ProviderManager(provider);
+        var login = new UsernamePasswordAuthenticationToken("unknown@email.com", "senha123");
+
+        // Unsaturated, the dummy hash of the unknown e-mail runs and the login is a plain bad credential.
+        // Sem saturação, o hash fictício do e-mail desconhecido roda e o login é só uma credencial inválida.
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(login));
+
+        var running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("ocupado"));
+        var queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("ocupado"));
+        waitUntilQueued();
+
+        // Act & Assert (Agir e Verificar)
+        // The refusal of the dummy hash reaches the caller as is, not wrapped, so it answers 429.
+        // A recusa do hash fictício chega ao chamador como está, sem encapsulamento, então responde 429.
+        assertThrows(TooManyRequestsException.class, () -> authenticationManager.authenticate(login));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        var executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordEncoder, "executor");
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueue().isEmpty() && System.nanoTime() < deadline)
+            Thread.sleep(10);
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimitProperties.Limit;
+import io.github.manojohnsons.financeapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ConcurrencyLimitAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private HeavyService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // One read at a time; the writes start at 10. Uma leitura por vez; as escritas começam em 10.
+        var properties = new ConcurrencyLimitProperties(true, 1.5, 0.2, 2, new Limit(1, 1, 1), new Limit(10, 2, 100),
+                new Limit(10, 2, 100));
+
+        var factory = new AspectJProxyFactory(new HeavyService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConcurrencyLimitAspect(new ConcurrencyLimiter(properties, meterRegistry)));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should shed a request over the limit with the Retry-After")
+    void shouldShedRequestOverLimit() throws Exception {
+        // Arrange (Organizar)
+        // A first request holds the only read slot until released.
+        // Uma primeira requisição ocupa a única vaga de leitura até ser liberada.
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> readInRequest(started, release));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        inRequest();
+
+        // Act (Agir)
+        var exception = assertThrows(ServiceOverloadedException.class,
+                () -> service.read(new CountDownLatch(1), new CountDownLatch(0)));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        // Assert (Verificar)
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(meterRegistry.get("api.concurrency-limit.rejected").tag("class", "read").counter().count())
+                .isEqualTo(1.0);
+        service.read(new CountDownLatch(1), new CountDownLatch(0));
+    }
+
+    @Test
+    @DisplayName("Should never shed a call made outside a request, like a scheduled job's")
+    void shouldNotLimitCallsOutsideRequests() throws Exception {
+        // Arrange (Organizar)
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> readInRequest(started, release));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act (Agir)
+        service.read(new CountDownLatch(1), new CountDownLatch(0));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        // Assert (Verificar)
+        assertThat(meterRegistry.get("api.concurrency-limit.rejected").tag("class", "read").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should back the limit off when a call can't get a connection")
+    void shouldBackOffWhenNoConnection() {
+        // Arrange (Organizar)
+        inRequest();
+
+        // Act (Agir)
+        assertThrows(CannotCreateTransactionException.class, () -> service.write());
+
+        // Assert (Verificar)
+        assertThat(meterRegistry.get("api.concurrency-limit.limit").tag("class", "write").gauge().value())
+                .isEqualTo(9.0);
+        assertThat(meterRegistry.get("api.concurrency-limit.in-flight").tag("class", "write").gauge().value())
+                .isZero();
+    }
+
+    private void readInRequest(CountDownLatch started, CountDownLatch release) {
+        inRequest();
+        try {
+            service.read(started, release);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void inRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    public static class HeavyService {
+
+        @ConcurrencyLimited(ConcurrencyClass.READ)
+        public void read(CountDownLatch started, CountDownLatch release) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @ConcurrencyLimited(ConcurrencyClass.WRITE)
+        public void write() {
+            throw new CannotCreateTransactionException("Connection is not available, request timed out.");
+        }
+    }
+}
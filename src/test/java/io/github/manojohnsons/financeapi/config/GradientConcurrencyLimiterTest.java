@@ -0,0 +1,120 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimitProperties.Limit;
+
+public class GradientConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Should refuse a slot while the limit is in flight")
+    void shouldRefuseSlotAtLimit() {
+        // Arrange (Organizar)
+        var limiter = new GradientConcurrencyLimiter(new Limit(2, 2, 2), 1.5, 0.2);
+
+        // Act & Assert (Agir e Verificar)
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(millis(10), false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while busy and fast, and shrink it when the latency rises")
+    void shouldFollowLatency() {
+        // Arrange (Organizar)
+        var limiter = new GradientConcurrencyLimiter(new Limit(20, 4, 200), 1.5, 0.2);
+
+        // Act (Agir)
+        runAtLimit(limiter, 20, millis(10));
+        var steadyLimit = limiter.getLimit();
+        // The database slows down ten times. O banco de dados fica dez vezes mais lento.
+        runAtLimit(limiter, 20, millis(100));
+        var slowLimit = limiter.getLimit();
+
+        // Assert (Verificar)
+        assertThat(steadyLimit).isGreaterThan(20);
+        assertThat(slowLimit).isLessThan(steadyLimit / 2).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should only follow the latency of the cache misses when the hits are kept out of the samples")
+    void shouldFollowMissLatencyOnlyWithoutHits() {
+        // Arrange (Organizar)
+        // Nine cache hits of 50µs per miss of about 20ms, then the misses get ten times slower.
+        // Nove acertos de cache de 50µs por falha de uns 20ms, depois as falhas ficam dez vezes mais lentas.
+        var hit = TimeUnit.MICROSECONDS.toNanos(50);
+        var mixed = new GradientConcurrencyLimiter(new Limit(10, 2, 100), 1.5, 0.2);
+        var missesOnly = new GradientConcurrencyLimiter(new Limit(10, 2, 100), 1.5, 0.2);
+
+        // Act (Agir)
+        runAtLimit(mixed, 50, hit, hit, hit, hit, hit, hit, hit, hit, hit, millis(18), hit, hit, hit, hit, hit, hit,
+                hit, hit, hit, millis(22));
+        runAtLimit(missesOnly, 50, millis(18), millis(22));
+        var mixedSteadyLimit = mixed.getLimit();
+        var missesSteadyLimit = missesOnly.getLimit();
+        runAtLimit(mixed, 20, hit, hit, hit, hit, hit, hit, hit, hit, hit, millis(180), hit, hit, hit, hit, hit, hit,
+                hit, hit, hit, millis(220));
+        runAtLimit(missesOnly, 20, millis(180), millis(220));
+
+        // Assert (Verificar)
+        // The hits hide the slowdown; alone, the misses shrink the limit.
+        // Os acertos escondem a lentidão; sozinhas, as falhas encolhem o limite.
+        assertThat(mixed.getLimit()).isEqualTo(mixedSteadyLimit);
+        assertThat(missesOnly.getLimit()).isLessThan(missesSteadyLimit / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while far fewer calls than it are in flight")
+    void shouldNotGrowWhenUnderused() {
+        // Arrange (Organizar)
+        var limiter = new GradientConcurrencyLimiter(new Limit(20, 4, 200), 1.5, 0.2);
+
+        // Act (Agir)
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(millis(10), false);
+        }
+
+        // Assert (Verificar)
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should cut the limit by a tenth when a call fails for lack of resources")
+    void shouldBackOffOnDrop() {
+        // Arrange (Organizar)
+        var limiter = new GradientConcurrencyLimiter(new Limit(10, 2, 100), 1.5, 0.2);
+        limiter.tryAcquire();
+
+        // Act (Agir)
+        limiter.release(millis(5000), true);
+
+        // Assert (Verificar)
+        assertThat(limiter.getLimit()).isEqualTo(9);
+    }
+
+    // Fills the limit and releases every slot, the given number of times, cycling through the given latencies.
+    private static void runAtLimit(GradientConcurrencyLimiter limiter, int rounds, long... rttNanos) {
+        var next = 0;
+        for (int round = 0; round < rounds; round++) {
+            var acquired = 0;
+            while (limiter.tryAcquire())
+                acquired++;
+            for (int i = 0; i < acquired; i++)
+                limiter.release(rttNanos[next++ % rttNanos.length], false);
+        }
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
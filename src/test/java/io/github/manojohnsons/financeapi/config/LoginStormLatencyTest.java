@@ -0,0 +1,137 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.github.manojohnsons.financeapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures the p99 latency of a cheap request while clients hammer the login,
+ * on a fixed pool of request threads like the servlet container's. With the
+ * hashing on the request threads, the storm takes all of them; with the
+ * bounded encoder, it only takes {@code threads + queueCapacity} of them and
+ * the rest of the logins are refused at once.
+ */
+@Tag("benchmark")
+public class LoginStormLatencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStormLatencyTest.class);
+
+    private static final int REQUEST_THREADS = 32;
+    private static final int STORM_CLIENTS = 64;
+    private static final int SAMPLES = 2_000;
+    // Each sample waits behind a queue of hashes when they run on the request threads.
+    private static final int COMPARISON_SAMPLES = 100;
+    private static final int STRENGTH = 10;
+
+    private static final int HASHING_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int HASHING_QUEUE = HASHING_THREADS;
+
+    private final String hash = new BCryptPasswordEncoder(STRENGTH).encode("senha123");
+
+    private ExecutorService requestThreads;
+    private ExecutorService stormClients;
+
+    @BeforeEach
+    void setUp() {
+        requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        stormClients = Executors.newFixedThreadPool(STORM_CLIENTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stormClients.shutdownNow();
+        requestThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should keep the p99 latency of other requests flat during a login storm")
+    void shouldKeepOtherRequestsFlatDuringLoginStorm() throws Exception {
+        // Arrange (Organizar)
+        var boundedEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(STRENGTH), HASHING_THREADS,
+                HASHING_QUEUE, new SimpleMeterRegistry());
+
+        // Act (Agir)
+        var idle = measureCheapRequests(SAMPLES);
+        var refused = new AtomicLong();
+        var bounded = duringStorm(boundedEncoder, refused, SAMPLES);
+        boundedEncoder.close();
+        var unbounded = duringStorm(new BCryptPasswordEncoder(STRENGTH), new AtomicLong(), COMPARISON_SAMPLES);
+
+        // Assert (Verificar)
+        log.info("Cheap request p99: {} ms without logins, {} ms during the storm with hashing on the request "
+                + "threads, {} ms with bounded hashing ({} logins refused).", String.format("%.2f", idle),
+                String.format("%.2f", unbounded), String.format("%.2f", bounded), refused.get());
+
+        assertThat(refused.get()).isPositive();
+        assertThat(bounded).isLessThan(Math.max(10 * idle, 50.0));
+        assertThat(bounded).isLessThan(unbounded);
+    }
+
+    private double duringStorm(PasswordEncoder encoder, AtomicLong refused, int samples) throws Exception {
+        var stop = new AtomicBoolean();
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < STORM_CLIENTS; i++)
+            clients.add(stormClients.submit(() -> {
+                while (!stop.get()) {
+                    try {
+                        requestThreads.submit(() -> {
+                            try {
+                                encoder.matches("senha123", hash);
+                            } catch (TooManyRequestsException e) {
+                                refused.incrementAndGet();
+                            }
+                        }).get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            }));
+
+        // Let the storm fill the request threads before measuring.
+        // Deixa a rajada ocupar as threads de requisição antes de medir.
+        Thread.sleep(500);
+        try {
+            return measureCheapRequests(samples);
+        } finally {
+            stop.set(true);
+            for (var client : clients)
+                client.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private double measureCheapRequests(int samples) throws Exception {
+        var latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            var start = System.nanoTime();
+            requestThreads.submit(() -> Long.toHexString(System.nanoTime())).get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(samples * 0.99) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @InjectMocks
+    private RateLimitFilter rateLimitFilter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should limit an authenticated request by its user and add the rate limit headers")
+    void shouldLimitAuthenticatedRequestByUser() throws Exception {
+        // Arrange (Organizar)
+        var principal = new AuthenticatedUserDTO(7L, "fulana32@email.com", UUID.randomUUID(),
+                Instant.now().plusSeconds(3600));
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(rateLimiter.tryAcquire(EndpointClass.READ, "user:7"))
+                .thenReturn(new RateLimiter.Decision(true, 120, 119, 1, 0));
+
+        var request = new MockHttpServletRequest("GET", "/transactions");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // Act (Agir)
+        rateLimitFilter.doFilter(request, response, chain);
+
+        // Assert (Verificar)
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("120");
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("119");
+        assertThat(response.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 and Retry-After a login over the limit of its IP")
+    void shouldRejectLoginOverLimitOfItsIp() throws Exception {
+        // Arrange (Organizar)
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        when(rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1"))
+                .thenReturn(new RateLimiter.Decision(false, 10, 0, 60, 6));
+
+        var request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain();
+
+        // Act (Agir)
+        rateLimitFilter.doFilter(request, response, chain);
+
+        // Assert (Verificar)
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("6");
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("Should not limit the actuator endpoints")
+    void shouldSkipActuatorEndpoints() throws Exception {
+        // Arrange (Organizar)
+        when(rateLimiter.isEnabled()).thenReturn(true);
+        var request = new MockHttpServletRequest("GET", "/actuator/health");
+        var chain = new MockFilterChain();
+
+        // Act (Agir)
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert (Verificar)
+        verify(rateLimiter, never()).tryAcquire(any(), anyString());
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.manojohnsons.financeapi.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // AUTH: burst of 3, one request per 10 seconds. AUTH: rajada de 3, uma requisição a cada 10 segundos.
+        var properties = new RateLimitProperties(true, 1000, new Limit(3, 6), new Limit(5, 60), new Limit(5, 60));
+        rateLimiter = new RateLimiter(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a full burst and then reject with the seconds to wait")
+    void shouldAllowBurstThenReject() {
+        // Act (Agir)
+        var first = rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+        rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+        var third = rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+        var fourth = rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+
+        // Assert (Verificar)
+        assertThat(first).isEqualTo(new RateLimiter.Decision(true, 3, 2, 10, 0));
+        assertThat(third).isEqualTo(new RateLimiter.Decision(true, 3, 0, 30, 0));
+        assertThat(fourth.allowed()).isFalse();
+        assertThat(fourth.remaining()).isZero();
+        assertThat(fourth.retryAfterSeconds()).isEqualTo(10);
+        assertThat(meterRegistry.get("api.rate-limit.rejected").tag("class", "auth").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval")
+    void shouldRefillOverTime() {
+        // Arrange (Organizar)
+        for (int i = 0; i < 3; i++)
+            rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+
+        // Act (Agir)
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        var early = rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        var refilled = rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+
+        // Assert (Verificar)
+        assertThat(early.allowed()).isFalse();
+        assertThat(early.retryAfterSeconds()).isEqualTo(1);
+        assertThat(refilled.allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per client and per endpoint class")
+    void shouldKeepSeparateBuckets() {
+        // Arrange (Organizar)
+        for (int i = 0; i < 3; i++)
+            rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1");
+
+        // Act & Assert (Agir e Verificar)
+        assertThat(rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.1").allowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire(EndpointClass.AUTH, "ip:10.0.0.2").allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire(EndpointClass.READ, "ip:10.0.0.1").allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never allow more than the capacity to concurrent requests of one client")
+    void shouldNotExceedCapacityUnderContention() throws Exception {
+        // Arrange (Organizar)
+        // The clock doesn't move, so exactly the burst of 5 is allowed.
+        // O relógio não anda, então exatamente a rajada de 5 é permitida.
+        var allowed = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+
+        // Act (Agir)
+        try {
+            var futures = new CompletableFuture<?>[8];
+            for (int t = 0; t < futures.length; t++)
+                futures[t] = CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 1000; i++)
+                        if (rateLimiter.tryAcquire(EndpointClass.WRITE, "user:7").allowed())
+                            allowed.incrementAndGet();
+                }, executor);
+            start.countDown();
+            CompletableFuture.allOf(futures).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert (Verificar)
+        assertThat(allowed).hasValue(5);
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import io.github.manojohnsons.financeapi.application.dto.RollupReconciliationDTO;
+import io.github.manojohnsons.financeapi.service.MonthlyRollupService;
+
+@ExtendWith(MockitoExtension.class)
+public class RollupMaintenanceRunnerTest {
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @InjectMocks
+    private RollupMaintenanceRunner runner;
+
+    @Test
+    @DisplayName("Should rebuild the rollups in batches of the given size")
+    void shouldRebuildInBatchesOfGivenSize() {
+        // Arrange (Organizar)
+        when(monthlyRollupService.rebuild(100)).thenReturn(new RollupReconciliationDTO(0, 0, 0));
+
+        // Act (Agir)
+        runner.run(new DefaultApplicationArguments("--rollups.rebuild", "--rollups.batch-size=100"));
+
+        // Assert (Verificar)
+        verify(monthlyRollupService).rebuild(100);
+    }
+
+    @Test
+    @DisplayName("Should refuse a batch size that isn't a positive integer, naming the option")
+    void shouldRefuseInvalidBatchSize() {
+        for (var value : new String[] { "abc", "0", "-5", "" }) {
+            // Act & Assert (Agir e Verificar)
+            var exception = assertThrows(IllegalArgumentException.class, () -> runner.run(
+                    new DefaultApplicationArguments("--rollups.rebuild", "--rollups.batch-size=" + value)));
+            assertThat(exception.getMessage()).contains("--rollups.batch-size").contains("'" + value + "'");
+        }
+        verifyNoInteractions(monthlyRollupService);
+    }
+}
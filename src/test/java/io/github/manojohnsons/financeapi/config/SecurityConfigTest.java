@@ -0,0 +1,57 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.github.manojohnsons.financeapi.service.TokenService;
+
+// The slice has no controller: a request that gets past the authorization ends in 404, not 401.
+// A fatia não tem controller: uma requisição que passa pela autorização termina em 404, não 401.
+@WebMvcTest
+@Import(SecurityConfig.class)
+public class SecurityConfigTest {
+
+    private static final String REFRESH_BODY = "{\"refreshToken\": \"refresh-token\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TokenService tokenService;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+
+    @Test
+    @DisplayName("Should let a token refresh without an access token through the authorization")
+    void shouldPermitRefreshWithoutAccessToken() throws Exception {
+        // Act & Assert (Agir e Verificar)
+        mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON).content(REFRESH_BODY))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should refuse a logout without an access token")
+    void shouldRefuseLogoutWithoutAccessToken() throws Exception {
+        // Act & Assert (Agir e Verificar)
+        mockMvc.perform(post("/auth/logout").contentType(MediaType.APPLICATION_JSON).content(REFRESH_BODY))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.manojohnsons.financeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
+import io.github.manojohnsons.financeapi.service.TokenService;
+
+@ExtendWith(MockitoExtension.class)
+public class SecurityFilterTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate the request with the principal of a valid bearer token")
+    void shouldAuthenticateRequestWithValidToken() throws Exception {
+        // Arrange (Organizar)
+        var principal = new AuthenticatedUserDTO(7L, "fulana32@email.com", UUID.randomUUID(),
+                Instant.now().plusSeconds(3600));
+        when(tokenService.validate("valid.jwt.token")).thenReturn(Optional.of(principal));
+
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid.jwt.token");
+        var chain = new MockFilterChain();
+
+        // Act (Agir)
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert (Verificar)
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    @DisplayName("Should let a request with an invalid token go on unauthenticated")
+    void shouldNotAuthenticateRequestWithInvalidToken() throws Exception {
+        // Arrange (Organizar)
+        when(tokenService.validate("invalid.jwt.token")).thenReturn(Optional.empty());
+
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer invalid.jwt.token");
+        var chain = new MockFilterChain();
+
+        // Act (Agir)
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert (Verificar)
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    @DisplayName("Should not validate anything when the request has no bearer token")
+    void shouldSkipRequestWithoutBearerToken() throws Exception {
+        // Arrange (Organizar)
+        var request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpzZW5oYQ==");
+
+        // Act (Agir)
+        securityFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert (Verificar)
+        verify(tokenService, never()).validate(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
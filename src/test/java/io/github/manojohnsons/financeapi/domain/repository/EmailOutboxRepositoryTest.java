@@ -0,0 +1,142 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// The claims must run in concurrent transactions of their own, so the test methods run without one.
+// As reservas precisam rodar em transações concorrentes próprias, então os testes rodam sem uma.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmailOutboxRepositoryTest extends PostgresContainerTest {
+
+    private static final int MESSAGES = 10;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_email_outbox, tab_users RESTART IDENTITY CASCADE");
+
+        jdbcTemplate.update("INSERT INTO tab_users (name, email, password) VALUES ('User', 'user@email.com', 'secret')");
+        jdbcTemplate.update("""
+                INSERT INTO tab_email_outbox (user_id, recipient, subject, body, status, next_attempt_at, created_at)
+                SELECT 1, 'user@email.com', 'Resumo', 'Olá', 'PENDING', now() - g * INTERVAL '1 second', now()
+                FROM generate_series(1, ?) g
+                """, MESSAGES);
+    }
+
+    @Test
+    @DisplayName("Should give concurrent claims disjoint batches of messages")
+    void shouldGiveConcurrentClaimsDisjointBatches() throws Exception {
+        // Arrange (Organizar)
+        var firstLocked = new CountDownLatch(1);
+        var secondDone = new CountDownLatch(1);
+        var template = new TransactionTemplate(transactionManager);
+
+        // Act (Agir)
+        // The first claim keeps its transaction (and its row locks) open until the second one is done.
+        // A primeira reserva mantém sua transação (e seus locks) aberta até a segunda terminar.
+        var first = CompletableFuture.supplyAsync(() -> template.execute(status -> {
+            var batch = outboxRepository.lockDueMessages(6);
+            firstLocked.countDown();
+            await(secondDone);
+            return ids(batch);
+        }));
+        await(firstLocked);
+        var second = template.execute(status -> ids(outboxRepository.lockDueMessages(6)));
+        secondDone.countDown();
+
+        // Assert (Verificar)
+        var firstIds = first.get(10, TimeUnit.SECONDS);
+        assertThat(firstIds).hasSize(6);
+        assertThat(second).hasSize(MESSAGES - 6);
+        assertThat(second).doesNotContainAnyElementsOf(firstIds);
+    }
+
+    @Test
+    @DisplayName("Should not claim messages that are sent or whose retry time hasn't come")
+    void shouldNotClaimMessagesThatAreNotDue() {
+        // Arrange (Organizar)
+        jdbcTemplate.update("UPDATE tab_email_outbox SET status = 'SENT' WHERE id <= 3");
+        jdbcTemplate.update("UPDATE tab_email_outbox SET next_attempt_at = now() + INTERVAL '1 hour' WHERE id = 4");
+        var template = new TransactionTemplate(transactionManager);
+
+        // Act (Agir)
+        var claimed = template.execute(status -> ids(outboxRepository.lockDueMessages(MESSAGES)));
+
+        // Assert (Verificar)
+        assertThat(claimed).containsExactlyInAnyOrder(5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should ignore the outcome of an attempt once the message was claimed again")
+    void shouldIgnoreOutcomeOfStaleAttempt() {
+        // Arrange (Organizar)
+        var template = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("UPDATE tab_email_outbox SET status = 'SENDING', attempts = 2 WHERE id = 1");
+
+        // Act (Agir)
+        var stale = template.execute(status -> outboxRepository.recordAttempt(
+                1L, 1, EmailOutboxStatus.SENT, Instant.now(), Instant.now(), null));
+        var current = template.execute(status -> outboxRepository.recordAttempt(
+                1L, 2, EmailOutboxStatus.SENT, Instant.now(), Instant.now(), null));
+
+        // Assert (Verificar)
+        assertThat(stale).isZero();
+        assertThat(current).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM tab_email_outbox WHERE id = 1", String.class))
+                .isEqualTo("SENT");
+    }
+
+    private static HashSet<Long> ids(List<EmailOutboxMessage> batch) {
+        var ids = new HashSet<Long>();
+        batch.forEach(message -> ids.add(message.getId()));
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import jakarta.persistence.EntityManager;
+
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Logging 20k statements would weigh more than the inserts themselves.
+// Logar 20k comandos pesaria mais do que os próprios inserts.
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+public class TransactionInsertBenchmarkTest extends PostgresContainerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionInsertBenchmarkTest.class);
+
+    private static final int TRANSACTIONS = 10_000;
+    private static final int WARM_UP_TRANSACTIONS = 2_000;
+    private static final int FLUSH_INTERVAL = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Should save 10k transactions faster with JDBC batching than one INSERT per round trip")
+    void shouldSaveFasterWithBatching() {
+        // Arrange (Organizar)
+        var user = userRepository.save(new User("Benchmark User", "benchmark@email.com", "secret"));
+        saveTransactions(user, WARM_UP_TRANSACTIONS, FLUSH_INTERVAL);
+
+        // Act (Agir)
+        // A batch size of 1 sends one INSERT per round trip, like the old IDENTITY mapping did.
+        // Um batch size de 1 envia um INSERT por ida ao banco, como o antigo mapeamento IDENTITY.
+        var unbatched = saveTransactions(user, TRANSACTIONS, 1);
+        var batched = saveTransactions(user, TRANSACTIONS, FLUSH_INTERVAL);
+
+        // Assert (Verificar)
+        log.info("Transaction saves: {} inserts/s one by one, {} inserts/s in batches of {}.",
+                Math.round(unbatched), Math.round(batched), FLUSH_INTERVAL);
+        assertThat(transactionRepository.count()).isEqualTo(WARM_UP_TRANSACTIONS + 2L * TRANSACTIONS);
+        assertThat(batched).isGreaterThan(unbatched);
+    }
+
+    // Returns the inserts per second.
+    private double saveTransactions(User user, int count, int jdbcBatchSize) {
+        var session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(jdbcBatchSize);
+
+        var start = System.nanoTime();
+        for (int i = 1; i <= count; i++) {
+            transactionRepository.save(new Transaction(
+                    "Transaction " + i,
+                    new BigDecimal("10.00"),
+                    LocalDate.of(2025, 1, 1).plusDays(i % 365),
+                    TransactionType.EXPENSE,
+                    user,
+                    null));
+
+            if (i % FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        session.setJdbcBatchSize(null);
+        return count / elapsedSeconds;
+    }
+}
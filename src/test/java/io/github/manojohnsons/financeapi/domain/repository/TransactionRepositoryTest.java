@@ -0,0 +1,180 @@
+package io.github.manojohnsons.financeapi.domain.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// VACUUM cannot run inside a transaction block, so the test methods run without one.
+// O VACUUM não pode rodar dentro de uma transação, então os testes rodam sem uma.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionRepositoryTest extends PostgresContainerTest {
+
+    private static final int USERS = 200;
+    private static final int TRANSACTIONS = 100_000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_transactions, tab_categories, tab_users RESTART IDENTITY CASCADE");
+
+        // Enough rows, spread over two years, for the planner to prefer the index.
+        // Linhas suficientes, espalhadas em dois anos, para o planner preferir o índice.
+        jdbcTemplate.update("""
+                INSERT INTO tab_users (name, email, password)
+                SELECT 'User ' || g, 'user' || g || '@email.com', 'secret'
+                FROM generate_series(1, ?) g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO tab_transactions (description, amount, date, type, user_id, category_id)
+                SELECT 'Transaction ' || g,
+                       (g % 500) + 0.99,
+                       DATE '2024-01-01' + (g % 730),
+                       CASE WHEN g % 5 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       (g % ?) + 1,
+                       NULL
+                FROM generate_series(1, ?) g
+                """, USERS, TRANSACTIONS);
+        jdbcTemplate.execute("VACUUM ANALYZE tab_transactions");
+    }
+
+    @Test
+    @DisplayName("Should return only the transactions inside the half-open period")
+    void shouldReturnOnlyTransactionsInsidePeriod() {
+        // Arrange (Organizar)
+        var userId = 42L;
+        var startDate = LocalDate.of(2025, 3, 1);
+        var endDate = LocalDate.of(2025, 4, 1);
+        var expectedCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_transactions WHERE user_id = ? AND date BETWEEN ? AND ?",
+                Integer.class, userId, startDate, endDate.minusDays(1));
+
+        // Act (Agir)
+        var transactions = transactionRepository.findByUserIdAndPeriod(userId, startDate, endDate);
+
+        // Assert (Verificar)
+        assertThat(transactions).hasSize(expectedCount);
+        assertThat(transactions).allSatisfy(transaction -> {
+            assertThat(transaction.date()).isAfterOrEqualTo(startDate);
+            assertThat(transaction.date()).isBefore(endDate);
+        });
+    }
+
+    @Test
+    @DisplayName("Should use the (user_id, date, id) index to list a user's month")
+    void shouldUseIndexScanForMonthlyListing() {
+        // Same predicate emitted by findByUserIdAndPeriod.
+        // Mesmo predicado gerado pelo findByUserIdAndPeriod.
+        var plan = explain("""
+                SELECT * FROM tab_transactions
+                WHERE user_id = 42 AND date >= DATE '2025-03-01' AND date < DATE '2025-04-01'
+                """);
+
+        assertThat(plan).contains("idx_transactions_user_date_id");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Should walk every transaction of a user through the keyset pages")
+    void shouldWalkAllTransactionsThroughKeysetPages() {
+        // Arrange (Organizar)
+        var userId = 42L;
+        var expectedCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_transactions WHERE user_id = ?", Integer.class, userId);
+        var seenIds = new HashSet<Long>();
+
+        // Act (Agir)
+        var page = transactionRepository.findFirstPageByUserId(userId, Limit.of(100));
+        while (!page.isEmpty()) {
+            page.forEach(transaction -> seenIds.add(transaction.id()));
+            var last = page.get(page.size() - 1);
+            page = transactionRepository.findPageByUserIdAfter(userId, last.date(), last.id(), Limit.of(100));
+        }
+
+        // Assert (Verificar)
+        assertThat(seenIds).hasSize(expectedCount);
+    }
+
+    @Test
+    @DisplayName("Should seek the next page on the index, without sorting or skipping rows")
+    void shouldSeekNextPageOnIndex() {
+        // Same query emitted by findPageByUserIdAfter.
+        // Mesma consulta gerada pelo findPageByUserIdAfter.
+        var plan = explain("""
+                SELECT * FROM tab_transactions
+                WHERE user_id = 42 AND date <= DATE '2024-06-01'
+                    AND (date < DATE '2024-06-01' OR id < 50000)
+                ORDER BY date DESC, id DESC
+                LIMIT 51
+                """);
+
+        assertThat(plan).contains("Index Scan Backward using idx_transactions_user_date_id");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("Should detach only the transactions of the user's category, through the category_id index")
+    void shouldDisassociateOnlyTheCategoryTransactions() {
+        // Arrange (Organizar)
+        jdbcTemplate.update("INSERT INTO tab_categories (name, user_id) VALUES ('Groceries', 42), ('Groceries', 43)");
+        var categoryIds = jdbcTemplate.queryForList("SELECT id FROM tab_categories ORDER BY id", Long.class);
+        var groceries = categoryIds.get(0);
+        var otherUserGroceries = categoryIds.get(1);
+        jdbcTemplate.update("UPDATE tab_transactions SET category_id = ? WHERE user_id = 42 AND id % 10 = 0", groceries);
+        jdbcTemplate.update("UPDATE tab_transactions SET category_id = ? WHERE user_id = 43", otherUserGroceries);
+        jdbcTemplate.execute("VACUUM ANALYZE tab_transactions");
+        var expectedCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_transactions WHERE category_id = ?", Integer.class, groceries);
+        var plan = explain("UPDATE tab_transactions SET category_id = NULL WHERE category_id = " + groceries
+                + " AND user_id = 42");
+
+        // Act (Agir)
+        var updated = new TransactionTemplate(transactionManager)
+                .execute(status -> transactionRepository.disassociateCategory(groceries, 42L));
+
+        // Assert (Verificar)
+        assertThat(updated).isEqualTo(expectedCount).isPositive();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_transactions WHERE category_id = ?", Integer.class, groceries)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_transactions WHERE category_id = ?", Integer.class, otherUserGroceries))
+                .isPositive();
+        assertThat(plan).contains("idx_transactions_category_id");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
@@ -4,8 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,8 +24,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
 import io.github.manojohnsons.financeapi.application.dto.LoginRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.LoginResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.RefreshRequestDTO;
+import io.github.manojohnsons.financeapi.application.dto.RotatedRefreshTokenDTO;
 import io.github.manojohnsons.financeapi.application.dto.UserRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.UserResponseDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
@@ -41,6 +50,12 @@ public class AuthenticationServiceTest {
     @Mock
     TokenService tokenService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -97,11 +112,13 @@ public class AuthenticationServiceTest {
         // Arrange (Organizar)
         var loginRequest = new LoginRequestDTO("fulana32@email.com", "senha123");
         var user = new User("Fulana Santos", "fulana32@email.com", "encrypted_password");
+        ReflectionTestUtils.setField(user, "id", 1L);
         Authentication authentication = new UsernamePasswordAuthenticationToken(user, null);
 
         when(authenticationManager.authenticate(any())).thenReturn(authentication);
 
         when(tokenService.generateToken(any(User.class))).thenReturn("mock.jwt.token");
+        when(refreshTokenService.issue(1L)).thenReturn("mock-refresh-token");
 
         // Act (Agir)
         LoginResponseDTO response = authenticationService.login(loginRequest);
@@ -109,5 +126,42 @@ public class AuthenticationServiceTest {
         // Assert (Verificar)
         assertThat(response).isNotNull();
         assertThat(response.tokenJwt()).isEqualTo("mock.jwt.token");
+        assertThat(response.refreshToken()).isEqualTo("mock-refresh-token");
+    }
+
+    @Test
+    @DisplayName("Should renew the access token with a refresh token, without checking the password")
+    void shouldRefreshTokenWithoutPasswordCheck() {
+        // Arrange (Organizar)
+        var user = new User("Fulana Santos", "fulana32@email.com", "encrypted_password");
+        ReflectionTestUtils.setField(user, "id", 1L);
+
+        when(refreshTokenService.rotate("old-refresh-token"))
+                .thenReturn(new RotatedRefreshTokenDTO(1L, "new-refresh-token"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(tokenService.generateToken(user)).thenReturn("new.jwt.token");
+
+        // Act (Agir)
+        var response = authenticationService.refresh(new RefreshRequestDTO("old-refresh-token"));
+
+        // Assert (Verificar)
+        assertThat(response.tokenJwt()).isEqualTo("new.jwt.token");
+        assertThat(response.refreshToken()).isEqualTo("new-refresh-token");
+        verifyNoInteractions(authenticationManager, passwordEncoder);
+    }
+
+    @Test
+    @DisplayName("Should revoke the access token and the refresh token family on logout")
+    void shouldRevokeTokensOnLogout() {
+        // Arrange (Organizar)
+        var principal = new AuthenticatedUserDTO(1L, "fulana32@email.com", UUID.randomUUID(),
+                Instant.now().plusSeconds(3600));
+
+        // Act (Agir)
+        authenticationService.logout(principal, new RefreshRequestDTO("refresh-token"));
+
+        // Assert (Verificar)
+        verify(tokenRevocationService).revoke(principal.tokenId(), principal.expiresAt());
+        verify(refreshTokenService).revoke("refresh-token", 1L);
     }
 }
@@ -0,0 +1,44 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never miss an added UUID and keep the false positives near the configured rate")
+    void shouldNeverMissAddedUuidAndBoundFalsePositives() {
+        // Arrange (Organizar)
+        var filter = BloomFilter.create(10_000, 0.01);
+        var added = new ArrayList<UUID>();
+        for (int i = 0; i < 10_000; i++) {
+            var value = UUID.randomUUID();
+            added.add(value);
+            filter.add(value);
+        }
+
+        // Act (Agir)
+        var falsePositives = 0;
+        for (int i = 0; i < 100_000; i++)
+            if (filter.mightContain(UUID.randomUUID()))
+                falsePositives++;
+
+        // Assert (Verificar)
+        assertThat(added).allMatch(filter::mightContain);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Should refuse an invalid size or false positive probability")
+    void shouldRefuseInvalidParameters() {
+        // Act & Assert (Agir e Verificar)
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 1.0));
+    }
+}
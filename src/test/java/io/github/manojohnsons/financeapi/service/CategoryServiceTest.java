@@ -3,12 +3,12 @@ package io.github.manojohnsons.financeapi.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,7 +23,6 @@ import org.springframework.test.util.ReflectionTestUtils;
 import io.github.manojohnsons.financeapi.application.dto.CategoryRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.CategoryResponseDTO;
 import io.github.manojohnsons.financeapi.domain.model.Category;
-import io.github.manojohnsons.financeapi.domain.model.Transaction;
 import io.github.manojohnsons.financeapi.domain.model.User;
 import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
 import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
@@ -42,6 +41,15 @@ public class CategoryServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private DashboardCache dashboardCache;
+
+    @Mock
+    private DashboardSnapshotService snapshotService;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -128,6 +136,8 @@ public class CategoryServiceTest {
         assertThat(response.name()).isEqualTo("Alimentação (Editado)");
         assertThat(response.hexColor()).isEqualTo("#FFFFFF");
         assertThat(response.monthlyGoal()).isEqualTo(new BigDecimal("1000.00"));
+        verify(snapshotService, times(1)).invalidateUser(userId);
+        verify(dashboardCache, times(1)).evictUser(userId);
     }
 
     @Test
@@ -138,21 +148,20 @@ public class CategoryServiceTest {
         var categoryId = 1L;
         var user = new User();
         var categoryToDelete = new Category("Lazer", null, null, user);
-        var associatedTransaction = new Transaction("Cinema", new BigDecimal("50.00"), LocalDate.now(), null, user, categoryToDelete);
-        List<Transaction> transactionList = List.of(associatedTransaction);
 
         when(categoryRepository.findByIdAndUserId(categoryId, userId)).thenReturn(Optional.of(categoryToDelete));
-
-        when(transactionRepository.findByCategoryId(categoryId)).thenReturn(transactionList);
+        when(transactionRepository.disassociateCategory(categoryId, userId)).thenReturn(3);
 
         // Act (Agir)
         categoryService.delete(categoryId, userId);
 
         // Assert (Verificar)
-        verify(transactionRepository, times(1)).findByCategoryId(categoryId);
-        verify(transactionRepository, times(1)).saveAll(transactionList);
+        verify(transactionRepository, times(1)).disassociateCategory(categoryId, userId);
+        verify(transactionRepository, never()).saveAll(any());
+        verify(monthlyRollupService, times(1)).moveToUncategorized(userId, categoryId);
         verify(categoryRepository, times(1)).delete(categoryToDelete);
-        assertThat(associatedTransaction.getCategory()).isNull();
+        verify(snapshotService, times(1)).invalidateUser(userId);
+        verify(dashboardCache, times(1)).evictUser(userId);
     }
 
     @Test
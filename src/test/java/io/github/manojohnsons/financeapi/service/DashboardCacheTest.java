@@ -0,0 +1,137 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class DashboardCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DashboardCache dashboardCache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dashboardCache = new DashboardCache(meterRegistry, 100, 10, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should evict only the month of the changed date")
+    void shouldEvictOnlyTheAffectedMonth() {
+        // Arrange (Organizar)
+        dashboardCache.get(1L, YearMonth.of(2025, 9), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+
+        // Act (Agir)
+        dashboardCache.evict(1L, LocalDate.of(2025, 10, 17));
+        dashboardCache.get(1L, YearMonth.of(2025, 9), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+
+        // Assert (Verificar)
+        // Only October is loaded again (Apenas outubro é carregado de novo).
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should evict every month of a user, but not the other users")
+    void shouldEvictEveryMonthOfUser() {
+        // Arrange (Organizar)
+        dashboardCache.get(1L, YearMonth.of(2025, 9), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        dashboardCache.get(2L, YearMonth.of(2025, 10), this::load);
+
+        // Act (Agir)
+        dashboardCache.evictUser(1L);
+        dashboardCache.get(1L, YearMonth.of(2025, 9), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        dashboardCache.get(2L, YearMonth.of(2025, 10), this::load);
+
+        // Assert (Verificar)
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should wait for the commit before evicting inside a transaction")
+    void shouldEvictAfterCommitInsideTransaction() {
+        // Arrange (Organizar)
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act (Agir)
+        dashboardCache.evict(1L, LocalDate.of(2025, 10, 17));
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        var loadsBeforeCommit = loads.get();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+
+        // Assert (Verificar)
+        assertThat(loadsBeforeCommit).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a summary loaded while its month was evicted")
+    void shouldNotCacheLoadOverlappingEviction() {
+        // Arrange (Organizar)
+        // A change commits while the summary is being computed from the old data.
+        // Uma alteração é confirmada enquanto o resumo é calculado com os dados antigos.
+        Supplier<DashboardResponseDTO> loadDuringChange = () -> {
+            var summary = load();
+            dashboardCache.evict(1L, LocalDate.of(2025, 10, 17));
+            return summary;
+        };
+
+        // Act (Agir)
+        dashboardCache.get(1L, YearMonth.of(2025, 10), loadDuringChange);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+
+        // Assert (Verificar)
+        // The second call loads again; the third is a hit. A segunda chamada carrega de novo; a terceira é um acerto.
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should publish the hit and miss counters")
+    void shouldPublishHitAndMissCounters() {
+        // Act (Agir)
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+        dashboardCache.get(1L, YearMonth.of(2025, 10), this::load);
+
+        // Assert (Verificar)
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "dashboard").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private DashboardResponseDTO load() {
+        loads.incrementAndGet();
+        return new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+    }
+}
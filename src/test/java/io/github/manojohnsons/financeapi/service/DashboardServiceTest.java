@@ -1,40 +1,80 @@
 package io.github.manojohnsons.financeapi.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimitProperties;
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimitProperties.Limit;
+import io.github.manojohnsons.financeapi.config.ConcurrencyLimiter;
 import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
 import io.github.manojohnsons.financeapi.domain.model.Category;
-import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.DashboardSnapshot;
+import io.github.manojohnsons.financeapi.domain.model.MonthlyRollup;
 import io.github.manojohnsons.financeapi.domain.model.User;
 import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
-import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
+import io.github.manojohnsons.financeapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class DashboardServiceTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private MonthlyRollupService monthlyRollupService;
 
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Spy
+    private DashboardCache dashboardCache = new DashboardCache(new SimpleMeterRegistry(), 100, 10, 5000);
+
+    @Mock
+    private DashboardSnapshotService snapshotService;
+
+    // One dashboard miss at a time within a request. Uma falha de dashboard por vez dentro de uma requisição.
+    @Spy
+    private ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(new ConcurrencyLimitProperties(true, 1.5,
+            0.2, 1, new Limit(20, 4, 200), new Limit(10, 2, 100), new Limit(1, 1, 1)), new SimpleMeterRegistry());
+
     @InjectMocks
     private DashboardService dashboardService;
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     @DisplayName("Should generate monthly dashboard summary successfully")
     void shouldGenerateMonthlySummarySuccessfully() {
@@ -52,13 +92,17 @@ public class DashboardServiceTest {
         var categoryLeisure = new Category("Lazer", "#00FF00", "gamepad", user);
         ReflectionTestUtils.setField(categoryLeisure, "id", 2L);
 
-        var transactions = List.of(
-                new Transaction("Salário", new BigDecimal("5000.00"), LocalDate.of(2025, 10, 5), TransactionType.INCOME, user, null),
-                new Transaction("Supermercado", new BigDecimal("600.00"), LocalDate.of(2025, 10, 10), TransactionType.EXPENSE, user, categoryFood),
-                new Transaction("Cinema", new BigDecimal("100.00"), LocalDate.of(2025, 10, 15), TransactionType.EXPENSE, user, categoryLeisure));
+        // Monthly rollups, one row per (category, type).
+        // Rollups mensais, uma linha por (categoria, tipo).
+        var firstDay = LocalDate.of(2025, 10, 1);
+        var rollups = List.of(
+                new MonthlyRollup(userId, firstDay, null, TransactionType.INCOME, new BigDecimal("5000.00"), 1),
+                new MonthlyRollup(userId, firstDay, 1L, TransactionType.EXPENSE, new BigDecimal("600.00"), 1),
+                new MonthlyRollup(userId, firstDay, 2L, TransactionType.EXPENSE, new BigDecimal("100.00"), 1));
 
-        when(transactionRepository.findByUserIdAndYearAndMonth(userId, year, month)).thenReturn(transactions);
-        when(categoryRepository.findByUserId(userId)).thenReturn(List.of(categoryFood, categoryLeisure));
+        when(monthlyRollupService.findByUserIdAndMonth(userId, YearMonth.of(year, month))).thenReturn(rollups);
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(userId, BigDecimal.ZERO))
+                .thenReturn(List.of(categoryFood));
 
         // Act (Agir)
         DashboardResponseDTO response = dashboardService.generateMonthlySummary(userId, year, month);
@@ -82,9 +126,9 @@ public class DashboardServiceTest {
         var year = 2025;
         var month = 11;
 
-        when(transactionRepository.findByUserIdAndYearAndMonth(userId, year, month)).thenReturn(List.of());
+        when(monthlyRollupService.findByUserIdAndMonth(userId, YearMonth.of(year, month))).thenReturn(List.of());
 
-        when(categoryRepository.findByUserId(userId)).thenReturn(List.of());
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(userId, BigDecimal.ZERO)).thenReturn(List.of());
 
         // Act (Agir)
         DashboardResponseDTO response = dashboardService.generateMonthlySummary(userId, year, month);
@@ -96,4 +140,206 @@ public class DashboardServiceTest {
         assertThat(response.finalBalance()).isEqualByComparingTo(BigDecimal.ZERO);
         assertThat(response.budgets()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should serve a repeated summary request from the cache")
+    void shouldServeRepeatedSummaryFromCache() {
+        // Arrange (Organizar)
+        var userId = 1L;
+        var year = 2025;
+        var month = 9;
+
+        when(monthlyRollupService.findByUserIdAndMonth(userId, YearMonth.of(year, month))).thenReturn(List.of());
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(userId, BigDecimal.ZERO)).thenReturn(List.of());
+
+        // Act (Agir)
+        DashboardResponseDTO first = dashboardService.generateMonthlySummary(userId, year, month);
+        DashboardResponseDTO second = dashboardService.generateMonthlySummary(userId, year, month);
+
+        // Assert (Verificar)
+        assertThat(second).isSameAs(first);
+        verify(monthlyRollupService, times(1)).findByUserIdAndMonth(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should limit only the cache misses: a hit is served while a miss holds the only slot")
+    void shouldLimitOnlyCacheMisses() throws Exception {
+        // Arrange (Organizar)
+        var period = YearMonth.now();
+        when(monthlyRollupService.findByUserIdAndMonth(1L, period)).thenReturn(List.of());
+        inRequest();
+        var cached = dashboardService.generateMonthlySummary(1L, period.getYear(), period.getMonthValue());
+
+        // The miss of user 2 holds the only dashboard slot until released.
+        // A falha do usuário 2 ocupa a única vaga de dashboard até ser liberada.
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(monthlyRollupService.findByUserIdAndMonth(2L, period)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        var running = CompletableFuture.runAsync(() -> {
+            inRequest();
+            try {
+                dashboardService.generateMonthlySummary(2L, period.getYear(), period.getMonthValue());
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act (Agir)
+        var hit = dashboardService.generateMonthlySummary(1L, period.getYear(), period.getMonthValue());
+        var exception = assertThrows(ServiceOverloadedException.class,
+                () -> dashboardService.generateMonthlySummary(3L, period.getYear(), period.getMonthValue()));
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        // Assert (Verificar)
+        assertThat(hit).isSameAs(cached);
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(1);
+        verify(monthlyRollupService, never()).findByUserIdAndMonth(3L, period);
+    }
+
+    @Test
+    @DisplayName("Should compute a chunk of summaries with two queries, equal to the per-user summaries")
+    void shouldComputeChunkOfSummariesEqualToPerUserSummaries() {
+        // Arrange (Organizar)
+        var period = YearMonth.of(2025, 10);
+        var firstDay = period.atDay(1);
+        var user1 = new User();
+        ReflectionTestUtils.setField(user1, "id", 1L);
+        var user2 = new User();
+        ReflectionTestUtils.setField(user2, "id", 2L);
+
+        var food = new Category("Alimentação", "#FF0000", "utensils", user1);
+        food.setMonthlyGoal(new BigDecimal("800.00"));
+        ReflectionTestUtils.setField(food, "id", 1L);
+        var travel = new Category("Viagem", "#0000FF", "plane", user2);
+        travel.setMonthlyGoal(new BigDecimal("2000.00"));
+        ReflectionTestUtils.setField(travel, "id", 3L);
+
+        var rollupsUser1 = List.of(
+                new MonthlyRollup(1L, firstDay, null, TransactionType.INCOME, new BigDecimal("5000.00"), 1),
+                new MonthlyRollup(1L, firstDay, 1L, TransactionType.EXPENSE, new BigDecimal("600.00"), 3));
+        var rollupsUser2 = List.of(
+                new MonthlyRollup(2L, firstDay, 3L, TransactionType.EXPENSE, new BigDecimal("500.00"), 1));
+
+        // User 3 has no rollups nor goals in the month.
+        // O usuário 3 não tem rollups nem metas no mês.
+        var userIds = List.of(1L, 2L, 3L);
+        var allRollups = new ArrayList<MonthlyRollup>(rollupsUser1);
+        allRollups.addAll(rollupsUser2);
+        when(monthlyRollupService.findByUserIdsAndMonth(userIds, period)).thenReturn(allRollups);
+        when(categoryRepository.findByUserIdInAndMonthlyGoalGreaterThan(userIds, BigDecimal.ZERO))
+                .thenReturn(List.of(food, travel));
+
+        when(monthlyRollupService.findByUserIdAndMonth(1L, period)).thenReturn(rollupsUser1);
+        when(monthlyRollupService.findByUserIdAndMonth(2L, period)).thenReturn(rollupsUser2);
+        when(monthlyRollupService.findByUserIdAndMonth(3L, period)).thenReturn(List.of());
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(1L, BigDecimal.ZERO)).thenReturn(List.of(food));
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(2L, BigDecimal.ZERO)).thenReturn(List.of(travel));
+        when(categoryRepository.findByUserIdAndMonthlyGoalGreaterThan(3L, BigDecimal.ZERO)).thenReturn(List.of());
+
+        // Act (Agir)
+        var summaries = dashboardService.generateMonthlySummaries(userIds, period);
+
+        // Assert (Verificar)
+        assertThat(summaries).hasSize(3);
+        for (var userId : userIds)
+            assertThat(summaries.get(userId)).isEqualTo(dashboardService.generateMonthlySummary(userId, 2025, 10));
+        assertThat(summaries.get(2L).budgets().get(0).percentageSpent()).isEqualByComparingTo("25.00");
+        assertThat(summaries.get(3L).totalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(monthlyRollupService, times(1)).findByUserIdsAndMonth(any(), any());
+        verify(categoryRepository, times(1)).findByUserIdInAndMonthlyGoalGreaterThan(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve a closed month from its snapshot without reading the rollups")
+    void shouldServeClosedMonthFromSnapshot() {
+        // Arrange (Organizar)
+        var period = YearMonth.of(2025, 8);
+        var stored = new DashboardResponseDTO(new BigDecimal("10.00"), new BigDecimal("4.00"),
+                new BigDecimal("6.00"), List.of());
+        when(snapshotService.find(1L, period)).thenReturn(Optional.of(snapshot(1L, 3, stored)));
+
+        // Act (Agir)
+        var response = dashboardService.generateMonthlySummary(1L, 2025, 8);
+
+        // Assert (Verificar)
+        assertThat(response).isEqualTo(stored);
+        verify(monthlyRollupService, never()).findByUserIdAndMonth(any(), any());
+        verify(snapshotService, never()).store(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should compute an invalidated snapshot and store it over the version it was read with")
+    void shouldComputeInvalidatedSnapshotAndStoreItOverItsVersion() {
+        // Arrange (Organizar)
+        var period = YearMonth.of(2025, 8);
+        when(snapshotService.find(1L, period)).thenReturn(Optional.of(snapshot(1L, 4, null)));
+        when(monthlyRollupService.findByUserIdAndMonth(1L, period)).thenReturn(List.of(
+                new MonthlyRollup(1L, period.atDay(1), null, TransactionType.INCOME, new BigDecimal("900.00"), 1)));
+
+        // Act (Agir)
+        var response = dashboardService.generateMonthlySummary(1L, 2025, 8);
+
+        // Assert (Verificar)
+        assertThat(response.totalIncome()).isEqualByComparingTo("900.00");
+        verify(snapshotService, times(1)).store(1L, period, 4, response);
+    }
+
+    @Test
+    @DisplayName("Should never read nor store snapshots of the current month")
+    void shouldNotUseSnapshotsForCurrentMonth() {
+        // Arrange (Organizar)
+        var period = YearMonth.now();
+        when(monthlyRollupService.findByUserIdAndMonth(1L, period)).thenReturn(List.of());
+
+        // Act (Agir)
+        dashboardService.generateMonthlySummary(1L, period.getYear(), period.getMonthValue());
+        dashboardService.generateMonthlySummaries(List.of(1L), period);
+
+        // Assert (Verificar)
+        verify(snapshotService, never()).find(any(), any());
+        verify(snapshotService, never()).findAll(any(), any());
+        verify(snapshotService, never()).store(any(), any(), anyLong(), any());
+        verify(snapshotService, never()).storeAll(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should compute only the users of a chunk without a valid snapshot, and store theirs")
+    void shouldComputeOnlyChunkUsersWithoutSnapshot() {
+        // Arrange (Organizar)
+        var period = YearMonth.of(2025, 8);
+        var stored = new DashboardResponseDTO(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("10.00"),
+                List.of());
+        var invalidated = snapshot(2L, 7, null);
+        var snapshots = Map.of(1L, snapshot(1L, 0, stored), 2L, invalidated);
+        when(snapshotService.findAll(List.of(1L, 2L, 3L), period)).thenReturn(snapshots);
+        when(monthlyRollupService.findByUserIdsAndMonth(List.of(2L, 3L), period)).thenReturn(List.of());
+
+        // Act (Agir)
+        var summaries = dashboardService.generateMonthlySummaries(List.of(1L, 2L, 3L), period);
+
+        // Assert (Verificar)
+        assertThat(summaries).hasSize(3);
+        assertThat(summaries.get(1L)).isEqualTo(stored);
+        assertThat(summaries.get(3L).totalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(snapshotService, times(1)).storeAll(eq(period),
+                eq(Map.of(2L, summaries.get(2L), 3L, summaries.get(3L))), eq(snapshots));
+    }
+
+    private static DashboardSnapshot snapshot(Long userId, long version, DashboardResponseDTO summary) {
+        var snapshot = new DashboardSnapshot();
+        ReflectionTestUtils.setField(snapshot, "userId", userId);
+        ReflectionTestUtils.setField(snapshot, "version", version);
+        ReflectionTestUtils.setField(snapshot, "summary", summary);
+        return snapshot;
+    }
+
+    private static void inRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
 }
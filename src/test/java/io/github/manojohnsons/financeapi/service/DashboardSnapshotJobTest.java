@@ -0,0 +1,156 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.github.manojohnsons.financeapi.config.MonthlySummaryProperties;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardSnapshotJobTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 9);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private JobShardService jobShardService;
+
+    @Spy
+    private MonthlySummaryProperties properties = new MonthlySummaryProperties(2, true,
+            new MonthlySummaryProperties.Parallel(false, 0.5), new MonthlySummaryProperties.Sharding(4, 60, 5, 60));
+
+    private DashboardSnapshotJob snapshotJob;
+
+    @BeforeEach
+    void setUp() {
+        snapshotJob = new DashboardSnapshotJob(userRepository, dashboardService, jobShardService,
+                new JobShardRunner(jobShardService), properties);
+    }
+
+    @Test
+    @DisplayName("Should compute the snapshots of each claimed shard in keyset chunks, checkpointing each chunk")
+    void shouldComputeSnapshotsOfClaimedShardsInChunks() {
+        // Arrange (Organizar)
+        var shard = shard(0L, 10L);
+        when(jobShardService.claim(eq(DashboardSnapshotJob.JOB_NAME), eq(MONTH), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(shard))
+                .thenReturn(Optional.empty());
+        when(jobShardService.finish(DashboardSnapshotJob.JOB_NAME, MONTH)).thenReturn(true);
+        when(jobShardService.checkpoint(eq(shard), anyLong(), anyLong(), anyLong(), any(Duration.class),
+                any(Runnable.class))).thenReturn(true);
+        when(jobShardService.complete(shard)).thenReturn(true);
+
+        when(userRepository.findIdsBetween(0L, 10L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsBetween(2L, 10L, Limit.of(2))).thenReturn(List.of(5L));
+        when(userRepository.findIdsBetween(5L, 10L, Limit.of(2))).thenReturn(List.of());
+
+        // Act (Agir)
+        var users = snapshotJob.precompute(MONTH);
+
+        // Assert (Verificar)
+        assertThat(users).isEqualTo(3);
+        verify(jobShardService).plan(DashboardSnapshotJob.JOB_NAME, MONTH, 4);
+        verify(dashboardService).generateMonthlySummaries(List.of(1L, 2L), MONTH);
+        verify(dashboardService).generateMonthlySummaries(List.of(5L), MONTH);
+        verify(jobShardService).checkpoint(eq(shard), eq(2L), eq(2L), eq(0L), any(Duration.class),
+                any(Runnable.class));
+        verify(jobShardService).checkpoint(eq(shard), eq(5L), eq(1L), eq(0L), any(Duration.class),
+                any(Runnable.class));
+        verify(jobShardService, times(1)).complete(shard);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the shards of other replicas once the run reaches its time limit")
+    void shouldStopPollingAtDeadline() {
+        // Arrange (Organizar)
+        // A shard held by another replica never completes, and the run may take no time at all.
+        // Um shard de outra réplica nunca termina, e a execução não pode levar tempo algum.
+        var job = new DashboardSnapshotJob(userRepository, dashboardService, jobShardService,
+                new JobShardRunner(jobShardService), new MonthlySummaryProperties(2, true,
+                        new MonthlySummaryProperties.Parallel(false, 0.5),
+                        new MonthlySummaryProperties.Sharding(4, 0, 5, 0)));
+        when(jobShardService.claim(eq(DashboardSnapshotJob.JOB_NAME), eq(MONTH), anyString(),
+                any(Duration.class), eq(5))).thenReturn(Optional.empty());
+        when(jobShardService.finish(DashboardSnapshotJob.JOB_NAME, MONTH)).thenReturn(false);
+
+        // Act (Agir)
+        var users = job.precompute(MONTH);
+
+        // Assert (Verificar)
+        assertThat(users).isZero();
+        verifyNoInteractions(dashboardService);
+        verify(jobShardService, never()).complete(any(JobShard.class));
+    }
+
+    @Test
+    @DisplayName("Should stop a shard whose lease was lost without completing it")
+    void shouldStopShardWhenLeaseIsLost() {
+        // Arrange (Organizar)
+        var shard = shard(0L, 10L);
+        when(jobShardService.claim(eq(DashboardSnapshotJob.JOB_NAME), eq(MONTH), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(shard))
+                .thenReturn(Optional.empty());
+        when(jobShardService.finish(DashboardSnapshotJob.JOB_NAME, MONTH)).thenReturn(true);
+        when(jobShardService.checkpoint(eq(shard), anyLong(), anyLong(), anyLong(), any(Duration.class),
+                any(Runnable.class))).thenReturn(false);
+        when(userRepository.findIdsBetween(0L, 10L, Limit.of(2))).thenReturn(List.of(1L, 2L));
+
+        // Act (Agir)
+        var users = snapshotJob.precompute(MONTH);
+
+        // Assert (Verificar)
+        assertThat(users).isZero();
+        verify(userRepository, never()).findIdsBetween(eq(2L), anyLong(), any(Limit.class));
+        verify(jobShardService, never()).complete(any(JobShard.class));
+    }
+
+    @Test
+    @DisplayName("Should refuse to pre-compute a month that isn't closed yet")
+    void shouldRefuseOpenMonth() {
+        // Act & Assert (Agir e Verificar)
+        assertThrows(IllegalArgumentException.class, () -> snapshotJob.precompute(YearMonth.now()));
+        verifyNoInteractions(jobShardService, dashboardService);
+    }
+
+    private static JobShard shard(long fromUserId, long toUserId) {
+        var shard = new JobShard();
+        ReflectionTestUtils.setField(shard, "id", 1L);
+        ReflectionTestUtils.setField(shard, "fromUserId", fromUserId);
+        ReflectionTestUtils.setField(shard, "toUserId", toUserId);
+        ReflectionTestUtils.setField(shard, "lastUserId", fromUserId);
+        return shard;
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.application.dto.BudgetCategoryDTO;
+import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DashboardSnapshotService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// The changes must commit like concurrent requests do, so the test methods run without a transaction.
+// As alterações precisam ser confirmadas como requisições concorrentes, então os testes rodam sem uma transação.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DashboardSnapshotServiceTest extends PostgresContainerTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 9);
+
+    private static final DashboardResponseDTO SUMMARY = new DashboardResponseDTO(new BigDecimal("5000.00"),
+            new BigDecimal("1500.00"), new BigDecimal("3500.00"), List.of(new BudgetCategoryDTO("Alimentação",
+                    "#FF0000", new BigDecimal("800.00"), new BigDecimal("600.00"), new BigDecimal("75.00"))));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DashboardSnapshotService snapshotService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_dashboard_snapshots, tab_users RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO tab_users (name, email, password) VALUES ('User', 'user@email.com', 'secret')");
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should store a missing snapshot and read the same summary back")
+    void shouldStoreMissingSnapshotAndReadItBack() {
+        // Act (Agir)
+        var stored = snapshotService.store(1L, MONTH, DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+
+        // Assert (Verificar)
+        assertThat(stored).isTrue();
+        var snapshot = snapshotService.find(1L, MONTH).orElseThrow();
+        assertThat(snapshot.getSummary()).isEqualTo(SUMMARY);
+        assertThat(snapshot.getComputedAt()).isNotNull();
+        assertThat(snapshotService.findAll(List.of(1L, 2L), MONTH)).containsOnlyKeys(1L);
+    }
+
+    @Test
+    @DisplayName("Should not store a snapshot computed before a back-dated change of a month without one")
+    void shouldFenceOutSnapshotOfMonthChangedWhileComputing() {
+        // Arrange (Organizar)
+        // The snapshot is read (missing) and the summary computed; a back-dated transaction commits meanwhile.
+        // O snapshot é lido (ausente) e o resumo calculado; uma transação retroativa é confirmada nesse meio tempo.
+        var read = snapshotService.find(1L, MONTH);
+        invalidate(LocalDate.of(2025, 9, 15));
+
+        // Act (Agir)
+        var stored = snapshotService.store(1L, MONTH, DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+
+        // Assert (Verificar)
+        assertThat(read).isEmpty();
+        assertThat(stored).isFalse();
+        var invalidated = snapshotService.find(1L, MONTH).orElseThrow();
+        assertThat(invalidated.getSummary()).isNull();
+
+        // Computed again after the change, it's stored over the new version.
+        // Calculado de novo depois da alteração, ele é salvo sobre a nova versão.
+        assertThat(snapshotService.store(1L, MONTH, invalidated.getVersion(), SUMMARY)).isTrue();
+        assertThat(snapshotService.find(1L, MONTH).orElseThrow().getSummary()).isEqualTo(SUMMARY);
+    }
+
+    @Test
+    @DisplayName("Should invalidate a stored snapshot and fence out the stores of its older versions")
+    void shouldInvalidateStoredSnapshotAndFenceOutOlderVersions() {
+        // Arrange (Organizar)
+        snapshotService.store(1L, MONTH, DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+        invalidate(LocalDate.of(2025, 9, 1));
+        var staleVersion = snapshotService.find(1L, MONTH).orElseThrow().getVersion();
+        invalidate(LocalDate.of(2025, 9, 30));
+
+        // Act (Agir)
+        var stored = snapshotService.store(1L, MONTH, staleVersion, SUMMARY);
+
+        // Assert (Verificar)
+        assertThat(stored).isFalse();
+        assertThat(snapshotService.find(1L, MONTH).orElseThrow().getSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore the changes of the current month, which has no snapshot")
+    void shouldIgnoreChangesOfCurrentMonth() {
+        // Act (Agir)
+        invalidate(LocalDate.now());
+
+        // Assert (Verificar)
+        assertThat(snapshotService.find(1L, YearMonth.now())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should invalidate every snapshot of a user when a category changes")
+    void shouldInvalidateEverySnapshotOfUser() {
+        // Arrange (Organizar)
+        snapshotService.store(1L, MONTH, DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+        snapshotService.store(1L, MONTH.minusMonths(1), DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+
+        // Act (Agir)
+        transactionTemplate.executeWithoutResult(status -> snapshotService.invalidateUser(1L));
+
+        // Assert (Verificar)
+        assertThat(snapshotService.find(1L, MONTH).orElseThrow().getSummary()).isNull();
+        assertThat(snapshotService.find(1L, MONTH.minusMonths(1)).orElseThrow().getSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should fence out the snapshot of a month without one computed before a category change")
+    void shouldFenceOutSnapshotOfMonthWithoutOneWhenUserIsInvalidated() {
+        // Arrange (Organizar)
+        // The user has rollups since two months before; the month has no snapshot when it's read.
+        // O usuário tem rollups desde dois meses antes; o mês não tem snapshot quando é lido.
+        jdbcTemplate.update("""
+                INSERT INTO tab_monthly_rollups (user_id, year_month, type, total_amount, transaction_count)
+                VALUES (1, ?, 'EXPENSE', 100.00, 1)
+                """, MONTH.minusMonths(2).atDay(1));
+        var read = snapshotService.find(1L, MONTH);
+        transactionTemplate.executeWithoutResult(status -> snapshotService.invalidateUser(1L));
+
+        // Act (Agir)
+        var stored = snapshotService.store(1L, MONTH, DashboardSnapshotService.NO_SNAPSHOT, SUMMARY);
+
+        // Assert (Verificar)
+        assertThat(read).isEmpty();
+        assertThat(stored).isFalse();
+        assertThat(snapshotService.find(1L, MONTH).orElseThrow().getSummary()).isNull();
+        assertThat(snapshotService.find(1L, MONTH.minusMonths(3))).isEmpty();
+        assertThat(snapshotService.find(1L, YearMonth.now())).isEmpty();
+    }
+
+    private void invalidate(LocalDate date) {
+        transactionTemplate.executeWithoutResult(status -> snapshotService.invalidate(1L, date));
+    }
+}
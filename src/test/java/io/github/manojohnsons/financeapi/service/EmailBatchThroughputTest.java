@@ -0,0 +1,83 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.service.impl.EmailServiceImpl;
+
+/**
+ * Measures the messages per second of one SMTP connection per message against
+ * the batched sending, on a local GreenMail server with authentication.
+ */
+@Tag("benchmark")
+public class EmailBatchThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBatchThroughputTest.class);
+
+    private static final int MESSAGES = 2_000;
+    private static final int MESSAGES_PER_CONNECTION = 100;
+
+    @RegisterExtension
+    static final GreenMailExtension GREEN_MAIL = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("finance-api", "secret"));
+
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() {
+        var mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("finance-api");
+        mailSender.setPassword("secret");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        emailService = new EmailServiceImpl(mailSender, "Resumo", "Equipe Finance API", MESSAGES_PER_CONNECTION);
+    }
+
+    @Test
+    @DisplayName("Should send more messages per second in batches than with one connection per message")
+    void shouldSendFasterInBatches() {
+        // Arrange (Organizar)
+        var emails = new ArrayList<EmailMessageDTO>();
+        for (int i = 0; i < MESSAGES; i++)
+            emails.add(new EmailMessageDTO("user" + i + "@email.com", "Resumo", "Olá Usuário " + i + ","));
+
+        // Act (Agir)
+        var singleRate = measure(() -> emails.forEach(emailService::send));
+        assertThat(GREEN_MAIL.getReceivedMessages()).hasSize(MESSAGES);
+
+        var failures = new ArrayList<Integer>();
+        var batchRate = measure(() -> failures.addAll(emailService.sendBatch(emails).keySet()));
+
+        // Assert (Verificar)
+        log.info("E-mail sending: {} messages/s with one connection per message, {} messages/s in batches of {}.",
+                Math.round(singleRate), Math.round(batchRate), MESSAGES_PER_CONNECTION);
+
+        assertThat(failures).isEmpty();
+        assertThat(GREEN_MAIL.getReceivedMessages()).hasSize(2 * MESSAGES);
+        assertThat(batchRate).isGreaterThan(singleRate);
+    }
+
+    private static double measure(Runnable sending) {
+        var start = System.nanoTime();
+        sending.run();
+        var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return MESSAGES / seconds;
+    }
+}
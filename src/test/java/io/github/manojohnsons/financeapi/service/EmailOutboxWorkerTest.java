@@ -0,0 +1,233 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.config.EmailOutboxProperties;
+import io.github.manojohnsons.financeapi.domain.enums.EmailOutboxStatus;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+import io.github.manojohnsons.financeapi.domain.repository.EmailOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailOutboxWorkerTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final EmailOutboxProperties properties = new EmailOutboxProperties(1, 10, 3, 60, 600, 300, 1000);
+
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new EmailOutboxWorker(outboxRepository, emailService, transactionTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send every claimed message and mark it as sent until the outbox is empty")
+    void shouldSendClaimedMessagesUntilOutboxIsEmpty() {
+        // Arrange (Organizar)
+        runTransactionsInline();
+        var message1 = message(1L);
+        var message2 = message(2L);
+        var message3 = message(3L);
+
+        when(outboxRepository.lockDueMessages(10))
+                .thenReturn(List.of(message1, message2))
+                .thenReturn(List.of(message3))
+                .thenReturn(List.of());
+        when(emailService.sendBatch(anyList())).thenReturn(Map.of());
+        when(outboxRepository.recordAttempt(anyLong(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act (Agir)
+        var processed = worker.drain();
+
+        // Assert (Verificar)
+        // One SMTP batch per claimed batch, never a connection per message.
+        // Um lote SMTP por lote reservado, nunca uma conexão por mensagem.
+        assertThat(processed).isEqualTo(3);
+        verify(emailService, times(2)).sendBatch(anyList());
+        verify(emailService, never()).send(any(EmailMessageDTO.class));
+        verify(outboxRepository, times(3)).recordAttempt(anyLong(), eq(1), eq(EmailOutboxStatus.SENT), any(),
+                notNull(), isNull());
+
+        // The claim takes the message for its first attempt, with a lease.
+        // A reserva pega a mensagem para a primeira tentativa, com um prazo.
+        assertThat(message1.getStatus()).isEqualTo(EmailOutboxStatus.SENDING);
+        assertThat(message1.getAttempts()).isEqualTo(1);
+        assertThat(message1.getNextAttemptAt()).isAfter(Instant.now().plusSeconds(250));
+    }
+
+    @Test
+    @DisplayName("Should reschedule a failed message with backoff while attempts remain")
+    void shouldRescheduleFailedMessageWithBackoff() {
+        // Arrange (Organizar)
+        runTransactionsInline();
+        var message = message(1L);
+
+        when(outboxRepository.lockDueMessages(10)).thenReturn(List.of(message)).thenReturn(List.of());
+        when(emailService.sendBatch(anyList())).thenReturn(Map.of(0, new MailSendException("Erro SMTP simulado")));
+        when(outboxRepository.recordAttempt(anyLong(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        ArgumentCaptor<Instant> retryCaptor = ArgumentCaptor.forClass(Instant.class);
+
+        // Act (Agir)
+        var before = Instant.now();
+        worker.drain();
+
+        // Assert (Verificar)
+        verify(outboxRepository).recordAttempt(eq(1L), eq(1), eq(EmailOutboxStatus.PENDING), retryCaptor.capture(),
+                isNull(), eq("Erro SMTP simulado"));
+        assertThat(retryCaptor.getValue()).isBetween(before.plusSeconds(60), Instant.now().plusSeconds(60));
+    }
+
+    @Test
+    @DisplayName("Should dead-letter a message that fails its last attempt")
+    void shouldDeadLetterMessageOnLastAttempt() {
+        // Arrange (Organizar)
+        runTransactionsInline();
+        var message = message(1L);
+        // Two earlier attempts, so the worker's claim is the third and last one.
+        // Duas tentativas anteriores, então a reserva do worker é a terceira e última.
+        message.claim(Instant.now());
+        message.claim(Instant.now());
+
+        when(outboxRepository.lockDueMessages(10)).thenReturn(List.of(message)).thenReturn(List.of());
+        doThrow(new MailSendException("Erro SMTP simulado")).when(emailService).sendBatch(anyList());
+        when(outboxRepository.recordAttempt(anyLong(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act (Agir)
+        worker.drain();
+
+        // Assert (Verificar)
+        verify(outboxRepository).recordAttempt(eq(1L), eq(3), eq(EmailOutboxStatus.DEAD), any(), isNull(),
+                eq("Erro SMTP simulado"));
+        verify(outboxRepository, never()).recordAttempt(anyLong(), anyInt(), eq(EmailOutboxStatus.PENDING), any(),
+                any(), any());
+    }
+
+    @Test
+    @DisplayName("Should dead-letter instead of claim a message whose last attempt never reported an outcome")
+    void shouldDeadLetterMessageWhoseLastAttemptExpired() {
+        // Arrange (Organizar)
+        runTransactionsInline();
+        var expired = message(1L);
+        var due = message(2L);
+        // Three attempts already made: the worker of the last one died before recording it.
+        // Três tentativas já feitas: o worker da última morreu antes de registrá-la.
+        expired.claim(Instant.now());
+        expired.claim(Instant.now());
+        expired.claim(Instant.now());
+
+        when(outboxRepository.lockDueMessages(10)).thenReturn(List.of(expired, due)).thenReturn(List.of());
+        when(emailService.sendBatch(anyList())).thenReturn(Map.of());
+        when(outboxRepository.recordAttempt(anyLong(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act (Agir)
+        var processed = worker.drain();
+
+        // Assert (Verificar)
+        assertThat(processed).isEqualTo(2);
+        assertThat(expired.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(expired.getAttempts()).isEqualTo(3);
+        verify(emailService).sendBatch(List.of(due.toEmailMessage()));
+        verify(outboxRepository, never()).recordAttempt(eq(1L), anyInt(), any(), any(), any(), any());
+        verify(outboxRepository).recordAttempt(eq(2L), eq(1), eq(EmailOutboxStatus.SENT), any(), notNull(), isNull());
+    }
+
+    @Test
+    @DisplayName("Should record only the failed messages of a batch for retry")
+    void shouldRecordOnlyFailedMessagesOfBatchForRetry() {
+        // Arrange (Organizar)
+        runTransactionsInline();
+        var message1 = message(1L);
+        var message2 = message(2L);
+        var message3 = message(3L);
+
+        when(outboxRepository.lockDueMessages(10)).thenReturn(List.of(message1, message2, message3))
+                .thenReturn(List.of());
+        when(emailService.sendBatch(anyList())).thenReturn(Map.of(1, new MailSendException("Caixa cheia")));
+        when(outboxRepository.recordAttempt(anyLong(), anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act (Agir)
+        worker.drain();
+
+        // Assert (Verificar)
+        verify(outboxRepository).recordAttempt(eq(1L), eq(1), eq(EmailOutboxStatus.SENT), any(), notNull(), isNull());
+        verify(outboxRepository).recordAttempt(eq(2L), eq(1), eq(EmailOutboxStatus.PENDING), any(), isNull(),
+                eq("Caixa cheia"));
+        verify(outboxRepository).recordAttempt(eq(3L), eq(1), eq(EmailOutboxStatus.SENT), any(), notNull(), isNull());
+    }
+
+    @Test
+    @DisplayName("Should double the backoff on each attempt up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        // Act & Assert (Agir e Verificar)
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(worker.backoff(2)).isEqualTo(Duration.ofSeconds(120));
+        assertThat(worker.backoff(3)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(worker.backoff(4)).isEqualTo(Duration.ofSeconds(480));
+        assertThat(worker.backoff(5)).isEqualTo(Duration.ofSeconds(600));
+        assertThat(worker.backoff(100)).isEqualTo(Duration.ofSeconds(600));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static EmailOutboxMessage message(Long id) {
+        var message = new EmailOutboxMessage(1L, null, new EmailMessageDTO("user@email.com", "Resumo", "Olá"));
+        ReflectionTestUtils.setField(message, "id", id);
+        return message;
+    }
+}
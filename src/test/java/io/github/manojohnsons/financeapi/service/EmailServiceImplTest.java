@@ -1,14 +1,21 @@
 package io.github.manojohnsons.financeapi.service;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assert.assertThrows;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,14 +24,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailAuthenticationException;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import io.github.manojohnsons.financeapi.application.dto.BudgetCategoryDTO;
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
-import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
 import io.github.manojohnsons.financeapi.service.impl.EmailServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,25 +48,130 @@ public class EmailServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailServiceImpl(mailSender, testSubject, testSignature);
+        emailService = new EmailServiceImpl(mailSender, testSubject, testSignature, 2);
     }
 
     @Test
-    @DisplayName("Should build and send the e-mail with the email correctly")
-    void shouldBuildAndSendSummaryEmailCorrectly() {
+    @DisplayName("Should build the summary e-mail correctly")
+    void shouldBuildSummaryEmailCorrectly() {
         // Arrange (Organizar)
-        var user = new User("Usuário de Teste", "test@email.com", "senhaTeste123");
-        ReflectionTestUtils.setField(user, "id", 1L);
+        var user = new UserContactDTO(1L, "Usuário de Teste", "test@email.com", "pt-BR");
 
         var budget = new BudgetCategoryDTO("Alimentação", "#FF0000", new BigDecimal("800"), new BigDecimal("600"),
                 new BigDecimal("75.00"));
         var summaryDTO = new DashboardResponseDTO(new BigDecimal("5000"), new BigDecimal("1500"),
                 new BigDecimal("3500"), List.of(budget));
 
+        // Act (Agir)
+        EmailMessageDTO sentMessage = emailService.buildSummaryEmail(user, summaryDTO);
+
+        // Assert (Verificar)
+        verifyNoInteractions(mailSender);
+
+        assertThat(sentMessage.to()).isEqualTo("test@email.com");
+        assertThat(sentMessage.subject()).isEqualTo(testSubject);
+        assertThat(sentMessage.text()).contains("Olá Usuário de Teste,");
+
+        assertThat(sentMessage.text()).contains("Total de Receitas:");
+        assertThat(sentMessage.text()).contains("R$");
+        assertThat(sentMessage.text()).contains("5.000,00");
+
+        assertThat(sentMessage.text()).contains("Total de Despesas:");
+        assertThat(sentMessage.text()).contains("R$");
+        assertThat(sentMessage.text()).contains("1.500,00");
+
+        assertThat(sentMessage.text()).contains("Saldo Final:");
+        assertThat(sentMessage.text()).contains("R$");
+        assertThat(sentMessage.text()).contains("3.500,00");
+
+        assertThat(sentMessage.text()).contains("Alimentação:");
+        assertThat(sentMessage.text()).contains("Gastou");
+        assertThat(sentMessage.text()).contains("R$");
+        assertThat(sentMessage.text()).contains("600,00");
+        assertThat(sentMessage.text()).contains("de");
+        assertThat(sentMessage.text()).contains("R$");
+        assertThat(sentMessage.text()).contains("800,00");
+        assertThat(sentMessage.text()).contains("(75.00%)");
+        assertThat(sentMessage.text()).endsWith(testSignature);
+    }
+
+    @Test
+    @DisplayName("Should build the summary e-mail in the user's locale, with the amounts still in reais")
+    void shouldBuildSummaryEmailInUserLocale() {
+        // Arrange (Organizar)
+        var user = new UserContactDTO(1L, "Test User", "test@email.com", "en-US");
+
+        var budget = new BudgetCategoryDTO("Food", "#FF0000", new BigDecimal("800"), new BigDecimal("600"),
+                new BigDecimal("75.00"));
+        var summaryDTO = new DashboardResponseDTO(new BigDecimal("5000"), new BigDecimal("1500"),
+                new BigDecimal("3500"), List.of(budget));
+
+        // Act (Agir)
+        var text = emailService.buildSummaryEmail(user, summaryDTO).text();
+
+        // Assert (Verificar)
+        // en-US has no template of its own, so the one of its language is used.
+        // en-US não tem um template próprio, então o do seu idioma é usado.
+        assertThat(text).startsWith("Hello Test User,");
+        assertThat(text).contains("- Total Income: R$5,000.00\n");
+        assertThat(text).contains("- Final Balance: R$3,500.00\n");
+        assertThat(text).contains("- Food: Spent R$600.00 of R$800.00  (75.00%)\n");
+        assertThat(text).endsWith("Best regards,\n" + testSignature);
+    }
+
+    @Test
+    @DisplayName("Should build the summary e-mail in Portuguese when the user's locale has no template")
+    void shouldFallBackToDefaultTemplate() {
+        // Arrange (Organizar)
+        var summaryDTO = new DashboardResponseDTO(new BigDecimal("5000"), null, new BigDecimal("-0.5"), List.of());
+
+        // Act (Agir)
+        var unknown = emailService.buildSummaryEmail(new UserContactDTO(1L, "Usuário", "a@email.com", "ja-JP"),
+                summaryDTO).text();
+        var missing = emailService.buildSummaryEmail(new UserContactDTO(2L, "Usuário", "b@email.com", null),
+                summaryDTO).text();
+
+        // Assert (Verificar)
+        assertThat(unknown).startsWith("Olá Usuário,");
+        assertThat(missing).startsWith("Olá Usuário,");
+        assertThat(missing).contains("- Total de Despesas: R$").contains("0,00\n- Saldo Final: -R$");
+        assertThat(missing).contains("0,50\n\n\nAtenciosamente,");
+        assertThat(missing).doesNotContain("orçamentos");
+    }
+
+    @Test
+    @DisplayName("Should render the same e-mail from many threads at once")
+    void shouldRenderFromManyThreads() throws Exception {
+        // Arrange (Organizar)
+        var summaryDTO = new DashboardResponseDTO(new BigDecimal("1234567.89"), new BigDecimal("1500"),
+                new BigDecimal("3500"), List.of());
+        var expected = emailService.buildSummaryEmail(
+                new UserContactDTO(1L, "Usuário", "a@email.com", "pt-BR"), summaryDTO).text();
+
+        // Act (Agir)
+        var executor = Executors.newFixedThreadPool(8);
+        var renders = new ArrayList<Future<String>>();
+        for (int i = 0; i < 2_000; i++)
+            renders.add(executor.submit(() -> emailService.buildSummaryEmail(
+                    new UserContactDTO(1L, "Usuário", "a@email.com", "pt-BR"), summaryDTO).text()));
+
+        // Assert (Verificar)
+        for (var render : renders)
+            assertThat(render.get()).isEqualTo(expected);
+        executor.shutdown();
+        assertThat(expected).contains("1.234.567,89");
+    }
+
+    @Test
+    @DisplayName("Should send a rendered e-mail as it is")
+    void shouldSendRenderedEmail() {
+        // Arrange (Organizar)
+        var email = new EmailMessageDTO("test@email.com", testSubject, "Olá Usuário de Teste,");
+
         ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
 
         // Act (Agir)
-        emailService.sendSummaryEmail(user, summaryDTO);
+        emailService.send(email);
 
         // Assert (Verificar)
         verify(mailSender).send(messageCaptor.capture());
@@ -67,45 +180,100 @@ public class EmailServiceImplTest {
 
         assertThat(sentMessage.getTo()).containsExactly("test@email.com");
         assertThat(sentMessage.getSubject()).isEqualTo(testSubject);
-        assertThat(sentMessage.getText()).contains("Olá Usuário de Teste,");
-
-        assertThat(sentMessage.getText()).contains("Total de Receitas:");
-        assertThat(sentMessage.getText()).contains("R$");
-        assertThat(sentMessage.getText()).contains("5.000,00");
-
-        assertThat(sentMessage.getText()).contains("Total de Despesas:");
-        assertThat(sentMessage.getText()).contains("R$");
-        assertThat(sentMessage.getText()).contains("1.500,00");
-
-        assertThat(sentMessage.getText()).contains("Saldo Final:");
-        assertThat(sentMessage.getText()).contains("R$");
-        assertThat(sentMessage.getText()).contains("3.500,00");
-
-        assertThat(sentMessage.getText()).contains("Alimentação:");
-        assertThat(sentMessage.getText()).contains("Gastou");
-        assertThat(sentMessage.getText()).contains("R$");
-        assertThat(sentMessage.getText()).contains("600,00");
-        assertThat(sentMessage.getText()).contains("de");
-        assertThat(sentMessage.getText()).contains("R$");
-        assertThat(sentMessage.getText()).contains("800,00");
-        assertThat(sentMessage.getText()).contains("(75.00%)");
-        assertThat(sentMessage.getText()).endsWith(testSignature);
+        assertThat(sentMessage.getText()).isEqualTo("Olá Usuário de Teste,");
+    }
+
+    @Test
+    @DisplayName("Should send a batch in groups capped by the messages per connection")
+    void shouldSendBatchInGroupsCappedPerConnection() {
+        // Arrange (Organizar)
+        var emails = List.of(email("one@email.com"), email("two@email.com"), email("three@email.com"));
+
+        ArgumentCaptor<SimpleMailMessage[]> groupCaptor = ArgumentCaptor.forClass(SimpleMailMessage[].class);
+
+        // Act (Agir)
+        var failures = emailService.sendBatch(emails);
+
+        // Assert (Verificar)
+        // The cap is 2, so three messages take two connections instead of three.
+        // O limite é 2, então três mensagens usam duas conexões em vez de três.
+        assertThat(failures).isEmpty();
+        verify(mailSender, times(2)).send(groupCaptor.capture());
+        assertThat(groupCaptor.getAllValues()).extracting(group -> group.length).containsExactly(2, 1);
+        assertThat(groupCaptor.getAllValues().get(1)[0].getTo()).containsExactly("three@email.com");
+    }
+
+    @Test
+    @DisplayName("Should report only the messages of a batch that the server rejected")
+    void shouldReportOnlyRejectedMessagesOfBatch() {
+        // Arrange (Organizar)
+        var emails = List.of(email("one@email.com"), email("two@email.com"), email("three@email.com"));
+        var rejection = new MailSendException("Caixa inexistente");
+
+        doAnswer(invocation -> {
+            SimpleMailMessage[] group = invocation.getArgument(0);
+            if (group.length == 2)
+                throw new MailSendException(Map.<Object, Exception>of(group[1], rejection));
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        // Act (Agir)
+        var failures = emailService.sendBatch(emails);
+
+        // Assert (Verificar)
+        assertThat(failures).containsOnly(entry(1, rejection));
+    }
+
+    @Test
+    @DisplayName("Should report every message of a group when the connection fails")
+    void shouldReportWholeGroupWhenConnectionFails() {
+        // Arrange (Organizar)
+        var emails = List.of(email("one@email.com"), email("two@email.com"), email("three@email.com"));
+        var authFailure = new MailAuthenticationException("Falha de autenticação");
+
+        doThrow(authFailure).doNothing().when(mailSender).send(any(SimpleMailMessage[].class));
+
+        // Act (Agir)
+        var failures = emailService.sendBatch(emails);
+
+        // Assert (Verificar)
+        assertThat(failures).containsOnlyKeys(0, 1);
+        assertThat(failures.get(0)).isSameAs(authFailure);
+    }
+
+    @Test
+    @DisplayName("Should report no failure when only closing the connection fails after the group was sent")
+    void shouldReportNoFailureWhenOnlyConnectionCloseFails() {
+        // Arrange (Organizar)
+        var emails = List.of(email("one@email.com"), email("two@email.com"));
+
+        doThrow(new MailSendException("Failed to close server connection after message sending",
+                new IllegalStateException("Conexão encerrada"))).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        // Act (Agir)
+        var failures = emailService.sendBatch(emails);
+
+        // Assert (Verificar)
+        assertThat(failures).isEmpty();
     }
 
     @Test
     @DisplayName("Should propagate MailException when sending fails")
     void shouldPropagateMailExceptionWhenSendFails() {
         // Arrange (Organizar)
-        var user = new User("Usuário de Teste", "test@email.com", "senhaTeste123");
-        var summaryDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+        var email = new EmailMessageDTO("test@email.com", testSubject, "Olá Usuário de Teste,");
 
         doThrow(new MailSendException("Erro SMTP simulado")).when(mailSender).send(any(SimpleMailMessage.class));
 
         // Act & Assert (Agir e Verificar)
         assertThrows(MailSendException.class, () -> {
-            emailService.sendSummaryEmail(user, summaryDTO);
+            emailService.send(email);
         });
 
         verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
     }
+
+    private EmailMessageDTO email(String to) {
+        return new EmailMessageDTO(to, testSubject, "Olá");
+    }
 }
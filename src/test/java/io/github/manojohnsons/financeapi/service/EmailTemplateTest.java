@@ -0,0 +1,58 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EmailTemplateTest {
+
+    private record MapScope(Map<String, String> values, Map<String, List<MapScope>> sections)
+            implements EmailTemplate.Scope {
+
+        @Override
+        public void appendValue(String name, StringBuilder out) {
+            out.append(values.get(name));
+        }
+
+        @Override
+        public List<MapScope> section(String name) {
+            return sections.get(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Should render the values and repeat each section once per scope")
+    void shouldRenderValuesAndSections() {
+        // Arrange (Organizar)
+        var template = EmailTemplate.parse("Olá {{ name }}!\n{{#items}}- {{item}}\n{{/items}}{{#empty}}x{{/empty}}Fim");
+        var scope = new MapScope(Map.of("name", "Fulana"), Map.of(
+                "items", List.of(
+                        new MapScope(Map.of("item", "A"), Map.of()),
+                        new MapScope(Map.of("item", "B"), Map.of())),
+                "empty", List.of()));
+
+        // Act (Agir)
+        var first = template.render(scope, new StringBuilder()).toString();
+        var second = template.render(scope, new StringBuilder("> ")).toString();
+
+        // Assert (Verificar)
+        assertThat(first).isEqualTo("Olá Fulana!\n- A\n- B\nFim");
+        assertThat(second).isEqualTo("> " + first);
+        assertThat(template.textLength()).isEqualTo("Olá !\n- \nxFim".length());
+    }
+
+    @Test
+    @DisplayName("Should reject a template whose tags or sections aren't closed")
+    void shouldRejectMalformedTemplates() {
+        // Act & Assert (Agir e Verificar)
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.parse("Olá {{name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.parse("{{#items}}- {{item}}"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.parse("{{#a}}{{#b}}{{/a}}{{/b}}"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.parse("{{/items}}"));
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JobShardService.class)
+// Each call must commit like it does between replicas, so the test methods run without a transaction.
+// Cada chamada precisa ser confirmada como entre réplicas, então os testes rodam sem uma transação.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class JobShardServiceTest extends PostgresContainerTest {
+
+    private static final String JOB = "monthly-summary";
+    private static final YearMonth MONTH = YearMonth.of(2025, 9);
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JobShardService jobShardService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(
+                "TRUNCATE tab_job_runs, tab_job_shards, tab_email_outbox, tab_users RESTART IDENTITY CASCADE");
+
+        jdbcTemplate.update("""
+                INSERT INTO tab_users (name, email, password)
+                SELECT 'User ' || g, 'user' || g || '@email.com', 'secret'
+                FROM generate_series(1, 100) g
+                """);
+    }
+
+    @Test
+    @DisplayName("Should split the users into contiguous shards only once, whatever the number of replicas")
+    void shouldPlanContiguousShardsOnlyOnce() {
+        // Act (Agir)
+        jobShardService.plan(JOB, MONTH, 4);
+        jdbcTemplate.update("""
+                INSERT INTO tab_users (name, email, password) VALUES ('Late', 'late@email.com', 'secret')
+                """);
+        jobShardService.plan(JOB, MONTH, 4);
+
+        // Assert (Verificar)
+        var shards = claimAll("replica-1");
+        assertThat(shards).hasSize(4);
+        shards.sort(Comparator.comparingInt(JobShard::getShard));
+
+        // Each shard starts where the previous one ends, and the last one has no end.
+        // Cada shard começa onde o anterior termina, e o último não tem fim.
+        assertThat(shards.get(0).getFromUserId()).isZero();
+        for (int i = 1; i < shards.size(); i++)
+            assertThat(shards.get(i).getFromUserId()).isEqualTo(shards.get(i - 1).getToUserId());
+        assertThat(shards.get(0).getToUserId()).isEqualTo(25L);
+        assertThat(shards.get(3).getToUserId()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should give each shard to a single replica while its lease holds")
+    void shouldGiveEachShardToSingleReplica() {
+        // Arrange (Organizar)
+        jobShardService.plan(JOB, MONTH, 4);
+
+        // Act (Agir)
+        var first = jobShardService.claim(JOB, MONTH, "replica-1", LEASE, MAX_ATTEMPTS).orElseThrow();
+        var second = jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS).orElseThrow();
+        var rest = claimAll("replica-3");
+
+        // Assert (Verificar)
+        assertThat(second.getShard()).isNotEqualTo(first.getShard());
+        assertThat(rest).hasSize(2);
+        assertThat(jobShardService.claim(JOB, MONTH, "replica-4", LEASE, MAX_ATTEMPTS)).isEmpty();
+        assertThat(jobShardService.finish(JOB, MONTH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let another replica take over a shard whose lease expired and fence the old owner")
+    void shouldTakeOverExpiredShardAndFenceOldOwner() {
+        // Arrange (Organizar)
+        jobShardService.plan(JOB, MONTH, 1);
+        var crashed = jobShardService.claim(JOB, MONTH, "replica-1", Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+
+        // Act (Agir)
+        var takenOver = jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // Assert (Verificar)
+        assertThat(takenOver.getId()).isEqualTo(crashed.getId());
+        assertThat(takenOver.getClaims()).isEqualTo(2);
+        assertThat(takenOver.getOwner()).isEqualTo("replica-2");
+
+        assertThat(jobShardService.checkpoint(crashed, 10L, 10, 0, LEASE, () -> {})).isFalse();
+        assertThat(jobShardService.complete(crashed)).isFalse();
+        assertThat(jobShardService.checkpoint(takenOver, 10L, 10, 0, LEASE, () -> {})).isTrue();
+        assertThat(jobShardService.complete(takenOver)).isTrue();
+        assertThat(jobShardService.finish(JOB, MONTH)).isTrue();
+        assertThat(jobShardService.findUnfinishedRuns(JOB)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resume a taken over shard from the last checkpoint of its previous owner")
+    void shouldResumeTakenOverShardFromCheckpoint() {
+        // Arrange (Organizar)
+        jobShardService.plan(JOB, MONTH, 1);
+        var crashed = jobShardService.claim(JOB, MONTH, "replica-1", Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+        jobShardService.checkpoint(crashed, 40L, 38, 2, Duration.ZERO, () -> {});
+
+        // Act (Agir)
+        var takenOver = jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // Assert (Verificar)
+        assertThat(takenOver.getLastUserId()).isEqualTo(40L);
+        assertThat(takenOver.getSucceeded()).isEqualTo(38L);
+        assertThat(takenOver.getFailed()).isEqualTo(2L);
+        assertThat(jobShardService.findUnfinishedRuns(JOB)).containsExactly(MONTH);
+    }
+
+    @Test
+    @DisplayName("Should give up a shard claimed too many times and let the run finish without it")
+    void shouldGiveUpShardThatKeepsFailing() {
+        // Arrange (Organizar)
+        // Every claim of the shard fails before completing it, until its lease expires.
+        // Toda reserva do shard falha antes de completá-lo, até o lease expirar.
+        jobShardService.plan(JOB, MONTH, 1);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++)
+            jobShardService.claim(JOB, MONTH, "replica-1", Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+
+        // Act (Agir)
+        var claimed = jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS);
+
+        // Assert (Verificar)
+        assertThat(claimed).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM tab_job_shards", String.class))
+                .isEqualTo("FAILED");
+        assertThat(jobShardService.finish(JOB, MONTH)).isTrue();
+        assertThat(jobShardService.findUnfinishedRuns(JOB)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should plan the finished shards of a completed run again from their start")
+    void shouldReplanFinishedShardsOfCompletedRun() {
+        // Arrange (Organizar)
+        jobShardService.plan(JOB, MONTH, 1);
+        var first = jobShardService.claim(JOB, MONTH, "replica-1", LEASE, MAX_ATTEMPTS).orElseThrow();
+        jobShardService.checkpoint(first, 100L, 98, 2, LEASE, () -> {});
+        jobShardService.complete(first);
+        jobShardService.finish(JOB, MONTH);
+
+        // Act (Agir)
+        jobShardService.replan(JOB, MONTH, 1);
+
+        // Assert (Verificar)
+        var retried = jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS).orElseThrow();
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        assertThat(retried.getLastUserId()).isZero();
+        assertThat(retried.getSucceeded()).isEqualTo(98L);
+        assertThat(retried.getFailed()).isZero();
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(jobShardService.findUnfinishedRuns(JOB)).containsExactly(MONTH);
+    }
+
+    @Test
+    @DisplayName("Should roll back the writes of a chunk whose checkpoint lost the shard")
+    void shouldRollBackChunkWhenCheckpointLosesShard() {
+        // Arrange (Organizar)
+        jobShardService.plan(JOB, MONTH, 1);
+        var crashed = jobShardService.claim(JOB, MONTH, "replica-1", Duration.ZERO, MAX_ATTEMPTS).orElseThrow();
+        jobShardService.claim(JOB, MONTH, "replica-2", LEASE, MAX_ATTEMPTS).orElseThrow();
+
+        // Act (Agir)
+        var held = jobShardService.checkpoint(crashed, 10L, 1, 0, LEASE, () -> jdbcTemplate.update("""
+                INSERT INTO tab_email_outbox
+                    (user_id, summary_month, recipient, subject, body, status, next_attempt_at, created_at)
+                VALUES (1, DATE '2025-09-01', 'user1@email.com', 'Resumo', 'Olá', 'PENDING', now(), now())
+                """));
+
+        // Assert (Verificar)
+        assertThat(held).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tab_email_outbox", Long.class)).isZero();
+    }
+
+    private ArrayList<JobShard> claimAll(String owner) {
+        var shards = new ArrayList<JobShard>();
+        for (var shard = jobShardService.claim(JOB, MONTH, owner, LEASE, MAX_ATTEMPTS); shard.isPresent();
+                shard = jobShardService.claim(JOB, MONTH, owner, LEASE, MAX_ATTEMPTS))
+            shards.add(shard.get());
+        return shards;
+    }
+}
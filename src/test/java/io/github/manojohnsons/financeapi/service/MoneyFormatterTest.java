@@ -0,0 +1,92 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class MoneyFormatterTest {
+
+    private static final Currency BRL = Currency.getInstance("BRL");
+
+    @ParameterizedTest
+    @ValueSource(strings = { "pt-BR", "en", "en-US", "de-DE", "fr-FR", "de-CH", "ja-JP" })
+    @DisplayName("Should format amounts exactly like NumberFormat does for the locale")
+    void shouldFormatLikeNumberFormat(String languageTag) {
+        // Arrange (Organizar)
+        var locale = Locale.forLanguageTag(languageTag);
+        var formatter = MoneyFormatter.of(locale, BRL);
+
+        var expected = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+        expected.setCurrency(BRL);
+
+        var random = new Random(42);
+        var amounts = new ArrayList<BigDecimal>();
+        for (int i = 0; i < 10_000; i++)
+            amounts.add(BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, random.nextInt(5)));
+        // Rounding ties, negatives that round to zero, and amounts too large for a long.
+        // Empates no arredondamento, negativos que arredondam para zero e valores grandes demais para um long.
+        for (var amount : new String[] { "0", "0.005", "0.015", "-0.001", "999.995", "-1234567.895",
+                "123456789012345678.9", "-98765432109876543210.12" })
+            amounts.add(new BigDecimal(amount));
+
+        // Act & Assert (Agir e Verificar)
+        for (var amount : amounts)
+            assertThat(formatter.format(amount)).as(amount.toPlainString()).isEqualTo(expected.format(amount));
+    }
+
+    @Test
+    @DisplayName("Should write a null amount as zero and append to the given buffer")
+    void shouldAppendNullAsZero() {
+        // Arrange (Organizar)
+        var formatter = MoneyFormatter.of(Locale.forLanguageTag("en"), BRL);
+        var out = new StringBuilder("Total: ");
+
+        // Act (Agir)
+        formatter.appendTo(out, null);
+
+        // Assert (Verificar)
+        assertThat(out.toString()).isEqualTo("Total: R$0.00");
+    }
+
+    @Test
+    @DisplayName("Should be safe to share between threads")
+    void shouldBeSafeToShareBetweenThreads() throws Exception {
+        // Arrange (Organizar)
+        var formatter = MoneyFormatter.of(Locale.forLanguageTag("pt-BR"), BRL);
+        var executor = Executors.newFixedThreadPool(8);
+
+        // Act (Agir)
+        var results = new ArrayList<Future<Boolean>>();
+        for (int thread = 0; thread < 8; thread++) {
+            var seed = thread;
+            results.add(executor.submit(() -> {
+                var expected = NumberFormat.getCurrencyInstance(Locale.forLanguageTag("pt-BR"));
+                var random = new Random(seed);
+                for (int i = 0; i < 20_000; i++) {
+                    var amount = BigDecimal.valueOf(random.nextInt(), 2);
+                    if (!formatter.format(amount).equals(expected.format(amount)))
+                        return false;
+                }
+                return true;
+            }));
+        }
+
+        // Assert (Verificar)
+        for (var result : results)
+            assertThat(result.get()).isTrue();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,207 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.application.dto.RollupReconciliationDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.MonthlyRollupRepository;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class MonthlyRollupServiceTest {
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DashboardSnapshotService snapshotService;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    @Test
+    @DisplayName("Should add the transaction to the rollup of its month and category")
+    void shouldAddTransactionToItsRollup() {
+        // Arrange (Organizar)
+        var user = new User();
+        ReflectionTestUtils.setField(user, "id", 10L);
+        var category = new Category("Alimentação", "#FF5733", "utensils", user);
+        ReflectionTestUtils.setField(category, "id", 1L);
+        var transaction = new Transaction("Supermercado", new BigDecimal("350.00"), LocalDate.of(2025, 10, 17),
+                TransactionType.EXPENSE, user, category);
+
+        // Act (Agir)
+        monthlyRollupService.add(transaction);
+
+        // Assert (Verificar)
+        // The user's rollup lock comes first. A trava dos rollups do usuário vem primeiro.
+        var inOrder = inOrder(monthlyRollupRepository);
+        inOrder.verify(monthlyRollupRepository, times(1)).lockUser(10L);
+        inOrder.verify(monthlyRollupRepository, times(1)).applyDelta(10L, LocalDate.of(2025, 10, 1), 1L, "EXPENSE",
+                new BigDecimal("350.00"), 1);
+        verify(snapshotService, times(1)).invalidate(10L, LocalDate.of(2025, 10, 17));
+    }
+
+    @Test
+    @DisplayName("Should subtract an uncategorized transaction from its rollup")
+    void shouldSubtractUncategorizedTransactionFromItsRollup() {
+        // Arrange (Organizar)
+        var user = new User();
+        ReflectionTestUtils.setField(user, "id", 10L);
+        var transaction = new Transaction("Salário", new BigDecimal("5000.00"), LocalDate.of(2025, 10, 5),
+                TransactionType.INCOME, user, null);
+
+        // Act (Agir)
+        monthlyRollupService.subtract(transaction);
+
+        // Assert (Verificar)
+        verify(monthlyRollupRepository, times(1)).applyDelta(10L, LocalDate.of(2025, 10, 1), null, "INCOME",
+                new BigDecimal("-5000.00"), -1);
+    }
+
+    @Test
+    @DisplayName("Should apply one delta per month, category and type for a batch")
+    void shouldAddBatchWithOneDeltaPerKey() {
+        // Arrange (Organizar)
+        var transactions = List.of(
+                new TransactionRequestDTO("Mercado", new BigDecimal("100.00"), LocalDate.of(2025, 10, 2),
+                        TransactionType.EXPENSE, 1L),
+                new TransactionRequestDTO("Feira", new BigDecimal("50.50"), LocalDate.of(2025, 10, 20),
+                        TransactionType.EXPENSE, 1L),
+                new TransactionRequestDTO("Salário", new BigDecimal("5000.00"), LocalDate.of(2025, 10, 5),
+                        TransactionType.INCOME, null),
+                new TransactionRequestDTO("Mercado", new BigDecimal("80.00"), LocalDate.of(2025, 11, 3),
+                        TransactionType.EXPENSE, 1L));
+
+        // Act (Agir)
+        monthlyRollupService.addAll(10L, transactions);
+
+        // Assert (Verificar)
+        verify(monthlyRollupRepository, times(1)).lockUser(10L);
+        verify(monthlyRollupRepository, times(1)).applyDelta(10L, LocalDate.of(2025, 10, 1), 1L, "EXPENSE",
+                new BigDecimal("150.50"), 2);
+        verify(monthlyRollupRepository, times(1)).applyDelta(10L, LocalDate.of(2025, 10, 1), null, "INCOME",
+                new BigDecimal("5000.00"), 1);
+        verify(monthlyRollupRepository, times(1)).applyDelta(10L, LocalDate.of(2025, 11, 1), 1L, "EXPENSE",
+                new BigDecimal("80.00"), 1);
+
+        // The snapshot of each month is invalidated once, whatever the number of its rollups.
+        // O snapshot de cada mês é invalidado uma vez, qualquer que seja o número de seus rollups.
+        verify(snapshotService, times(1)).invalidate(10L, LocalDate.of(2025, 10, 1));
+        verify(snapshotService, times(1)).invalidate(10L, LocalDate.of(2025, 11, 1));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the rollups in keyset batches of users")
+    void shouldRebuildRollupsInKeysetBatches() {
+        // Arrange (Organizar)
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsAfter(eq(2L), any(Limit.class))).thenReturn(List.of(5L));
+        when(userRepository.findIdsAfter(eq(5L), any(Limit.class))).thenReturn(List.of());
+        runTransactionCallbacks();
+
+        // Act (Agir)
+        RollupReconciliationDTO result = monthlyRollupService.rebuild(2);
+
+        // Assert (Verificar)
+        // Each batch locks its users away from the write paths before replacing their rollups.
+        // Cada lote trava os seus usuários contra as escritas antes de substituir os seus rollups.
+        var inOrder = inOrder(monthlyRollupRepository);
+        inOrder.verify(monthlyRollupRepository, times(1)).lockUserRange(1L, 2L);
+        inOrder.verify(monthlyRollupRepository, times(1)).deleteByUserIdRange(1L, 2L);
+        inOrder.verify(monthlyRollupRepository, times(1)).insertFromTransactions(1L, 2L);
+        inOrder.verify(monthlyRollupRepository, times(1)).lockUserRange(5L, 5L);
+        verify(monthlyRollupRepository, times(1)).deleteByUserIdRange(5L, 5L);
+        verify(monthlyRollupRepository, times(1)).insertFromTransactions(5L, 5L);
+        verify(snapshotService, times(1)).invalidateUserRange(1L, 2L);
+        verify(snapshotService, times(1)).invalidateUserRange(5L, 5L);
+        verify(monthlyRollupRepository, never()).countDriftingRollups(anyLong(), anyLong());
+        assertThat(result.usersChecked()).isEqualTo(3);
+        assertThat(result.usersRebuilt()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should only report the drifting rollups when reconciling without repair")
+    void shouldOnlyReportDriftWhenReconcilingWithoutRepair() {
+        // Arrange (Organizar)
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsAfter(eq(2L), any(Limit.class))).thenReturn(List.of());
+        when(monthlyRollupRepository.countDriftingRollups(1L, 2L)).thenReturn(3L);
+
+        // Act (Agir)
+        RollupReconciliationDTO result = monthlyRollupService.reconcile(2, false);
+
+        // Assert (Verificar)
+        verify(monthlyRollupRepository, never()).deleteByUserIdRange(anyLong(), anyLong());
+        verify(monthlyRollupRepository, never()).insertFromTransactions(anyLong(), anyLong());
+        assertThat(result.usersChecked()).isEqualTo(2);
+        assertThat(result.driftingRollups()).isEqualTo(3);
+        assertThat(result.usersRebuilt()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rebuild only the batches with drifting rollups when reconciling with repair")
+    void shouldRebuildOnlyDriftingBatchesWhenReconcilingWithRepair() {
+        // Arrange (Organizar)
+        when(userRepository.findIdsAfter(eq(0L), any(Limit.class))).thenReturn(List.of(1L, 2L));
+        when(userRepository.findIdsAfter(eq(2L), any(Limit.class))).thenReturn(List.of(3L, 4L));
+        when(userRepository.findIdsAfter(eq(4L), any(Limit.class))).thenReturn(List.of());
+        when(monthlyRollupRepository.countDriftingRollups(1L, 2L)).thenReturn(0L);
+        when(monthlyRollupRepository.countDriftingRollups(3L, 4L)).thenReturn(1L);
+        runTransactionCallbacks();
+
+        // Act (Agir)
+        RollupReconciliationDTO result = monthlyRollupService.reconcile(2, true);
+
+        // Assert (Verificar)
+        verify(monthlyRollupRepository, never()).deleteByUserIdRange(1L, 2L);
+        verify(monthlyRollupRepository, times(1)).deleteByUserIdRange(3L, 4L);
+        verify(monthlyRollupRepository, times(1)).insertFromTransactions(3L, 4L);
+        assertThat(result.usersChecked()).isEqualTo(4);
+        assertThat(result.driftingRollups()).isEqualTo(1);
+        assertThat(result.usersRebuilt()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
@@ -1,32 +1,62 @@
 package io.github.manojohnsons.financeapi.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.zaxxer.hikari.HikariDataSource;
+
 import io.github.manojohnsons.financeapi.application.dto.DashboardResponseDTO;
-import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.application.dto.EmailMessageDTO;
+import io.github.manojohnsons.financeapi.application.dto.UserContactDTO;
+import io.github.manojohnsons.financeapi.config.MonthlySummaryProperties;
+import io.github.manojohnsons.financeapi.domain.model.EmailOutboxMessage;
+import io.github.manojohnsons.financeapi.domain.model.JobShard;
+import io.github.manojohnsons.financeapi.domain.repository.EmailOutboxRepository;
 import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
 public class NotificationServiceTest {
 
+    private static final MonthlySummaryProperties.Sharding SHARDING = new MonthlySummaryProperties.Sharding(
+            4, 60, 5, 60);
+
+    private static final EmailMessageDTO EMAIL = new EmailMessageDTO("user@email.com", "Resumo", "Olá");
+
     @Mock
     private UserRepository userRepository;
 
@@ -36,76 +66,524 @@ public class NotificationServiceTest {
     @Mock
     private EmailService emailService;
 
-    @InjectMocks
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private JobShardService jobShardService;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Spy
+    private MonthlySummaryProperties properties = new MonthlySummaryProperties(2, false,
+            new MonthlySummaryProperties.Parallel(false, 0.5), SHARDING);
+
+    private JobShardRunner jobShardRunner;
+
     private NotificationService notificationService;
 
+    @BeforeEach
+    void setUp() {
+        jobShardRunner = new JobShardRunner(jobShardService);
+        notificationService = new NotificationService(userRepository, dashboardService, emailService,
+                outboxRepository, jobShardService, jobShardRunner, properties, dataSource);
+
+        // By default this replica claims a single shard with every user, and holds it to the end.
+        // Por padrão esta réplica reserva um único shard com todos os usuários, e o mantém até o fim.
+        lenient().when(jobShardService.claim(anyString(), any(YearMonth.class), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(shard(0, 0L, Long.MAX_VALUE)))
+                .thenReturn(Optional.empty());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(5).run();
+            return true;
+        }).when(jobShardService).checkpoint(any(JobShard.class), anyLong(), anyLong(), anyLong(), any(Duration.class),
+                any(Runnable.class));
+        lenient().when(jobShardService.complete(any(JobShard.class))).thenReturn(true);
+        lenient().when(jobShardService.finish(anyString(), any(YearMonth.class))).thenReturn(true);
+    }
+
     @Test
-    @DisplayName("Should search all users and send an summary e-mail for each one")
+    @DisplayName("Should walk all users in keyset chunks and send an summary e-mail for each one")
     void shouldSendSummaryEmailToAllUsers() {
         // Arrange (Organizar)
-        var user1 = new User("Usuário Um", "one@email.com", "senha123");
-        ReflectionTestUtils.setField(user1, "id", 1L);
-        var user2 = new User("Usuário Dois", "two@email.com", "senha123");
-        ReflectionTestUtils.setField(user2, "id", 2L);
-        var userList = List.of(user1, user2);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var user3 = new UserContactDTO(5L, "Usuário Três", "three@email.com", "pt-BR");
         var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
 
-        when(userRepository.findAll()).thenReturn(userList);
+        // The chunk size is 2, so the third user comes in a second chunk.
+        // O tamanho do lote é 2, então o terceiro usuário vem em um segundo lote.
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user3));
+        when(userRepository.findContactsBetween(5L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
 
         when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
 
         // Act (Agir)
         notificationService.sendMonthlySummary();
 
         // Assert (Verificar)
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(3)).findContactsBetween(anyLong(), anyLong(), any(Limit.class));
+        verify(userRepository, never()).findAll();
 
-        verify(dashboardService, times(2)).generateMonthlySummary(anyLong(), anyInt(), anyInt());
+        verify(dashboardService, times(3)).generateMonthlySummary(anyLong(), anyInt(), anyInt());
+
+        verify(emailService, times(3)).buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class));
 
-        verify(emailService, times(2)).sendSummaryEmail(any(User.class), any(DashboardResponseDTO.class));
+        // One outbox insert per chunk, never an SMTP call from the job.
+        // Uma inserção no outbox por lote, nunca uma chamada SMTP pelo job.
+        ArgumentCaptor<Collection<EmailOutboxMessage>> chunkCaptor = ArgumentCaptor.captor();
+        verify(outboxRepository, times(2)).saveAll(chunkCaptor.capture());
+        assertThat(chunkCaptor.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+        assertThat(chunkCaptor.getAllValues().get(1)).singleElement()
+                .satisfies(message -> assertThat(message.getUserId()).isEqualTo(5L));
+        verify(emailService, never()).send(any(EmailMessageDTO.class));
     }
 
     @Test
     @DisplayName("Should do nothing when there are no registered users")
     void shouldDoNothingWhenNoUsersExist() {
         // Arrange (Organizar)
-        when(userRepository.findAll()).thenReturn(List.of());
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
 
         // Act (Agir)
         notificationService.sendMonthlySummary();
 
         // Assert (Verificar)
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findContactsBetween(anyLong(), anyLong(), any(Limit.class));
 
         verify(dashboardService, never()).generateMonthlySummary(anyLong(), anyInt(), anyInt());
-        verify(emailService, never()).sendSummaryEmail(any(User.class), any(DashboardResponseDTO.class));
+        verify(emailService, never()).buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class));
+        verify(outboxRepository, never()).saveAll(any());
     }
 
     @Test
     @DisplayName("Should continue processing anothers users even if one summary fails to generate")
     void shouldContinueProcessingUserWhenDashboardServiceFailsForOne() {
         // Arrange (Organizar)
-        var user1 = new User("Usuário Um", "one@email.com", "senha123");
-        ReflectionTestUtils.setField(user1, "id", 1L);
-        var user2 = new User("Usuário Dois", "two@email.com", "senha123");
-        ReflectionTestUtils.setField(user2, "id", 2L);
-        var userList = List.of(user1, user2);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
 
         var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
 
-        when(userRepository.findAll()).thenReturn(userList);
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
 
         when(dashboardService.generateMonthlySummary(eq(1L), anyInt(), anyInt()))
                 .thenThrow(new RuntimeException("Simulated error when trying to generate a summary."));
         when(dashboardService.generateMonthlySummary(eq(2L), anyInt(), anyInt()))
                 .thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
 
         // Act
         notificationService.sendMonthlySummary();
 
         // Assert
-        verify(emailService, times(1)).sendSummaryEmail(user2, dummyDashboardDTO);
-        verify(emailService, never()).sendSummaryEmail(eq(user1), any(DashboardResponseDTO.class));
+        verify(emailService, times(1)).buildSummaryEmail(user2, dummyDashboardDTO);
+        verify(emailService, never()).buildSummaryEmail(eq(user1), any(DashboardResponseDTO.class));
         verify(dashboardService, times(2)).generateMonthlySummary(anyLong(), anyInt(), anyInt());
     }
+
+    @Test
+    @DisplayName("Should fan the users out in parallel and aggregate the success and failure counts")
+    void shouldProcessUsersInParallelAndAggregateCounts() {
+        // Arrange (Organizar)
+        var service = parallelService(10, 0.5);
+        var users = new ArrayList<UserContactDTO>();
+        for (long id = 1; id <= 20; id++)
+            users.add(new UserContactDTO(id, "Usuário " + id, "user" + id + "@email.com", "pt-BR"));
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(50))).thenReturn(users);
+        when(userRepository.findContactsBetween(20L, Long.MAX_VALUE, Limit.of(50))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(dashboardService.generateMonthlySummary(eq(7L), anyInt(), anyInt()))
+                .thenThrow(new RuntimeException("Simulated error when trying to generate a summary."));
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(YearMonth.of(2025, 9));
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(19);
+        assertThat(result.failed()).isEqualTo(1);
+        verify(dashboardService, times(20)).generateMonthlySummary(anyLong(), eq(2025), eq(9));
+        verify(emailService, times(19)).buildSummaryEmail(any(UserContactDTO.class), eq(dummyDashboardDTO));
+    }
+
+    @Test
+    @DisplayName("Should never exceed the database concurrency limit in parallel mode")
+    void shouldRespectConcurrencyLimitsInParallelMode() {
+        // Arrange (Organizar)
+        // A pool of 8 connections with a fraction of 0.25 leaves 2 for the job.
+        // Um pool de 8 conexões com fração de 0,25 deixa 2 para o job.
+        var service = parallelService(8, 0.25);
+        var users = new ArrayList<UserContactDTO>();
+        for (long id = 1; id <= 30; id++)
+            users.add(new UserContactDTO(id, "Usuário " + id, "user" + id + "@email.com", "pt-BR"));
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+        var dbCalls = new ConcurrencyProbe();
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(50))).thenReturn(users);
+        when(userRepository.findContactsBetween(30L, Long.MAX_VALUE, Limit.of(50))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> dbCalls.run(dummyDashboardDTO));
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(YearMonth.of(2025, 9));
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(30);
+        assertThat(dbCalls.max.get()).isBetween(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should compute the summaries of a whole chunk at once in batch aggregation mode")
+    void shouldComputeChunkSummariesAtOnceInBatchMode() {
+        // Arrange (Organizar)
+        var batchProperties = new MonthlySummaryProperties(2, true,
+                new MonthlySummaryProperties.Parallel(false, 0.5), SHARDING);
+        var service = new NotificationService(userRepository, dashboardService, emailService, outboxRepository,
+                jobShardService, jobShardRunner, batchProperties, dataSource);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var summary1 = new DashboardResponseDTO(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.valueOf(9), List.of());
+        var summary2 = new DashboardResponseDTO(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummaries(List.of(1L, 2L), YearMonth.of(2025, 9)))
+                .thenReturn(Map.of(1L, summary1, 2L, summary2));
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(YearMonth.of(2025, 9));
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(2);
+        verify(dashboardService, never()).generateMonthlySummary(anyLong(), anyInt(), anyInt());
+        verify(emailService, times(1)).buildSummaryEmail(user1, summary1);
+        verify(emailService, times(1)).buildSummaryEmail(user2, summary2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-user summaries when the chunk aggregation fails")
+    void shouldFallBackToPerUserSummariesWhenChunkAggregationFails() {
+        // Arrange (Organizar)
+        var batchProperties = new MonthlySummaryProperties(2, true,
+                new MonthlySummaryProperties.Parallel(false, 0.5), SHARDING);
+        var service = new NotificationService(userRepository, dashboardService, emailService, outboxRepository,
+                jobShardService, jobShardRunner, batchProperties, dataSource);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1));
+        when(userRepository.findContactsBetween(1L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummaries(List.of(1L), YearMonth.of(2025, 9)))
+                .thenThrow(new RuntimeException("Simulated error when trying to aggregate a chunk."));
+        when(dashboardService.generateMonthlySummary(1L, 2025, 9)).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(YearMonth.of(2025, 9));
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isZero();
+        verify(emailService, times(1)).buildSummaryEmail(user1, dummyDashboardDTO);
+    }
+
+    @Test
+    @DisplayName("Should leave the shard to be resumed from its checkpoint when a chunk can't be committed")
+    void shouldLeaveShardForResumeWhenChunkCommitFails() {
+        // Arrange (Organizar)
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+        doThrow(new RuntimeException("Simulated error when trying to write the outbox."))
+                .when(jobShardService).checkpoint(any(JobShard.class), anyLong(), anyLong(), anyLong(),
+                        any(Duration.class), any(Runnable.class));
+
+        // Act (Agir)
+        var result = notificationService.sendMonthlySummaries(YearMonth.of(2025, 9));
+
+        // Assert (Verificar)
+        // Nothing is counted and the shard stays claimed: once its lease expires, it resumes from user 0 again.
+        // Nada é contado e o shard continua reservado: quando o lease expirar, ele recomeça do usuário 0.
+        assertThat(result.succeeded()).isZero();
+        assertThat(result.failed()).isZero();
+        verify(jobShardService, never()).complete(any(JobShard.class));
+    }
+
+    @Test
+    @DisplayName("Should resume a shard after its last checkpoint")
+    void shouldResumeShardAfterCheckpoint() {
+        // Arrange (Organizar)
+        var month = YearMonth.of(2025, 9);
+        var resumed = shard(0, 0L, Long.MAX_VALUE);
+        ReflectionTestUtils.setField(resumed, "lastUserId", 2L);
+        var user3 = new UserContactDTO(5L, "Usuário Três", "three@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(jobShardService.claim(eq(NotificationService.JOB_NAME), eq(month), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(resumed))
+                .thenReturn(Optional.empty());
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user3));
+        when(userRepository.findContactsBetween(5L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = notificationService.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(1);
+        verify(userRepository, never()).findContactsBetween(eq(0L), anyLong(), any(Limit.class));
+        verify(jobShardService).checkpoint(eq(resumed), eq(5L), eq(1L), eq(0L), any(Duration.class),
+                any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should skip the users whose summary of the month is already queued")
+    void shouldSkipUsersWithQueuedSummary() {
+        // Arrange (Organizar)
+        var month = YearMonth.of(2025, 9);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(outboxRepository.findUserIdsWithSummary(List.of(1L, 2L), month.atDay(1))).thenReturn(List.of(1L));
+        when(dashboardService.generateMonthlySummary(2L, 2025, 9)).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(user2, dummyDashboardDTO)).thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = notificationService.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(1);
+        verify(dashboardService, never()).generateMonthlySummary(eq(1L), anyInt(), anyInt());
+
+        ArgumentCaptor<Collection<EmailOutboxMessage>> chunkCaptor = ArgumentCaptor.captor();
+        verify(outboxRepository).saveAll(chunkCaptor.capture());
+        assertThat(chunkCaptor.getValue()).singleElement().satisfies(message -> {
+            assertThat(message.getUserId()).isEqualTo(2L);
+            assertThat(message.getSummaryMonth()).isEqualTo(month.atDay(1));
+        });
+    }
+
+    @Test
+    @DisplayName("Should plan the month again on a retry and queue only the missing summaries")
+    void shouldRetryOnlyMissingSummaries() {
+        // Arrange (Organizar)
+        // User 1 got the summary in the first run; user 2 failed in it.
+        // O usuário 1 recebeu o resumo na primeira execução; o usuário 2 falhou nela.
+        var month = YearMonth.of(2025, 9);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(outboxRepository.findUserIdsWithSummary(List.of(1L, 2L), month.atDay(1))).thenReturn(List.of(1L));
+        when(dashboardService.generateMonthlySummary(2L, 2025, 9)).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(user2, dummyDashboardDTO)).thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = notificationService.retryMonthlySummaries(month);
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(1);
+        verify(jobShardService).replan(NotificationService.JOB_NAME, month, 4);
+        verify(jobShardService, never()).plan(anyString(), any(YearMonth.class), anyInt());
+        verify(dashboardService, never()).generateMonthlySummary(eq(1L), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should process only the users of the shards claimed by this replica")
+    void shouldProcessOnlyClaimedShards() {
+        // Arrange (Organizar)
+        var service = shardedService(60);
+        var month = YearMonth.of(2025, 9);
+        var shard1 = shard(0, 0L, 2L);
+        var shard2 = shard(1, 2L, Long.MAX_VALUE);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var user3 = new UserContactDTO(5L, "Usuário Três", "three@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(jobShardService.claim(eq(NotificationService.JOB_NAME), eq(month), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(shard1))
+                .thenReturn(Optional.of(shard2))
+                .thenReturn(Optional.empty());
+
+        when(userRepository.findContactsBetween(0L, 2L, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(userRepository.findContactsBetween(2L, 2L, Limit.of(2))).thenReturn(List.of());
+        when(userRepository.findContactsBetween(2L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user3));
+        when(userRepository.findContactsBetween(5L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isEqualTo(3);
+        verify(jobShardService).plan(NotificationService.JOB_NAME, month, 2);
+        verify(jobShardService).complete(shard1);
+        verify(jobShardService).complete(shard2);
+    }
+
+    @Test
+    @DisplayName("Should stop a shard as soon as its lease is lost to another replica")
+    void shouldStopShardWhenLeaseIsLost() {
+        // Arrange (Organizar)
+        var service = shardedService(60);
+        var month = YearMonth.of(2025, 9);
+        var shard = shard(0, 0L, Long.MAX_VALUE);
+        var user1 = new UserContactDTO(1L, "Usuário Um", "one@email.com", "pt-BR");
+        var user2 = new UserContactDTO(2L, "Usuário Dois", "two@email.com", "pt-BR");
+        var dummyDashboardDTO = new DashboardResponseDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        when(jobShardService.claim(eq(NotificationService.JOB_NAME), eq(month), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.of(shard))
+                .thenReturn(Optional.empty());
+        doReturn(false).when(jobShardService).checkpoint(eq(shard), anyLong(), anyLong(), anyLong(),
+                any(Duration.class), any(Runnable.class));
+
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of(user1, user2));
+        when(dashboardService.generateMonthlySummary(anyLong(), anyInt(), anyInt())).thenReturn(dummyDashboardDTO);
+        when(emailService.buildSummaryEmail(any(UserContactDTO.class), any(DashboardResponseDTO.class)))
+                .thenReturn(EMAIL);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        // The chunk in hand is rolled back, and the rest of the shard is left to its new owner.
+        // O lote em mãos é desfeito, e o resto do shard fica com o novo dono.
+        assertThat(result.succeeded()).isZero();
+        verify(userRepository, never()).findContactsBetween(eq(2L), anyLong(), any(Limit.class));
+        verify(jobShardService, never()).complete(any(JobShard.class));
+    }
+
+    @Test
+    @DisplayName("Should wait for the shards held by other replicas and take over the ones whose lease expires")
+    void shouldTakeOverShardsOfCrashedReplica() {
+        // Arrange (Organizar)
+        // A zero lease makes the wait between polls instantaneous.
+        // Um lease zero torna instantânea a espera entre as consultas.
+        var service = shardedService(0);
+        var month = YearMonth.of(2025, 9);
+        var orphan = shard(3, 0L, Long.MAX_VALUE);
+
+        when(jobShardService.claim(eq(NotificationService.JOB_NAME), eq(month), anyString(),
+                any(Duration.class), anyInt()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(orphan))
+                .thenReturn(Optional.empty());
+        when(jobShardService.finish(NotificationService.JOB_NAME, month)).thenReturn(false).thenReturn(true);
+        when(userRepository.findContactsBetween(0L, Long.MAX_VALUE, Limit.of(2))).thenReturn(List.of());
+
+        // Act (Agir)
+        service.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        verify(jobShardService, times(3)).claim(eq(NotificationService.JOB_NAME), eq(month), anyString(),
+                any(Duration.class), anyInt());
+        verify(jobShardService).complete(orphan);
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for the shards of other replicas once the run reaches its time limit")
+    void shouldStopPollingAtDeadline() {
+        // Arrange (Organizar)
+        // A shard held by another replica never completes, and the run may take no time at all.
+        // Um shard de outra réplica nunca termina, e a execução não pode levar tempo algum.
+        var properties = new MonthlySummaryProperties(2, false,
+                new MonthlySummaryProperties.Parallel(false, 0.5),
+                new MonthlySummaryProperties.Sharding(2, 0, 5, 0));
+        var service = new NotificationService(userRepository, dashboardService, emailService, outboxRepository,
+                jobShardService, jobShardRunner, properties, dataSource);
+        var month = YearMonth.of(2025, 9);
+
+        when(jobShardService.claim(eq(NotificationService.JOB_NAME), eq(month), anyString(), any(Duration.class),
+                anyInt())).thenReturn(Optional.empty());
+        when(jobShardService.finish(NotificationService.JOB_NAME, month)).thenReturn(false);
+
+        // Act (Agir)
+        var result = service.sendMonthlySummaries(month);
+
+        // Assert (Verificar)
+        assertThat(result.succeeded()).isZero();
+        verify(jobShardService, never()).complete(any(JobShard.class));
+    }
+
+    private NotificationService shardedService(long leaseSeconds) {
+        var shardedProperties = new MonthlySummaryProperties(2, false,
+                new MonthlySummaryProperties.Parallel(false, 0.5),
+                new MonthlySummaryProperties.Sharding(2, leaseSeconds, 5, 60));
+
+        return new NotificationService(userRepository, dashboardService, emailService, outboxRepository,
+                jobShardService, jobShardRunner, shardedProperties, dataSource);
+    }
+
+    private static JobShard shard(int number, long fromUserId, long toUserId) {
+        var shard = new JobShard();
+        ReflectionTestUtils.setField(shard, "id", (long) number + 1);
+        ReflectionTestUtils.setField(shard, "shard", number);
+        ReflectionTestUtils.setField(shard, "fromUserId", fromUserId);
+        ReflectionTestUtils.setField(shard, "toUserId", toUserId);
+        ReflectionTestUtils.setField(shard, "lastUserId", fromUserId);
+        return shard;
+    }
+
+    private NotificationService parallelService(int poolSize, double dbPoolFraction) {
+        var hikari = new HikariDataSource();
+        hikari.setMaximumPoolSize(poolSize);
+        var parallelProperties = new MonthlySummaryProperties(50, false,
+                new MonthlySummaryProperties.Parallel(true, dbPoolFraction), SHARDING);
+
+        return new NotificationService(userRepository, dashboardService, emailService, outboxRepository,
+                jobShardService, jobShardRunner, parallelProperties, hikari);
+    }
+
+    // Records the highest number of threads inside run() at the same time.
+    // Registra o maior número de threads dentro do run() ao mesmo tempo.
+    private static class ConcurrencyProbe {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        <T> T run(T value) throws InterruptedException {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+                return value;
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.exception.InvalidRefreshTokenException;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RefreshTokenService.class)
+// The rotations must commit like separate requests do, so the test methods run without a transaction.
+// As rotações precisam ser confirmadas como requisições separadas, então os testes rodam sem uma transação.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RefreshTokenServiceTest extends PostgresContainerTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_refresh_tokens, tab_users RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO tab_users (name, email, password) VALUES ('User', 'user@email.com', 'secret')");
+    }
+
+    @Test
+    @DisplayName("Should store only the hash of an issued refresh token")
+    void shouldStoreOnlyTokenHash() {
+        // Act (Agir)
+        var token = refreshTokenService.issue(1L);
+
+        // Assert (Verificar)
+        var hash = jdbcTemplate.queryForObject("SELECT token_hash FROM tab_refresh_tokens", String.class);
+        assertThat(hash).hasSize(64).isNotEqualTo(token);
+    }
+
+    @Test
+    @DisplayName("Should rotate a refresh token into a new one of the same family")
+    void shouldRotateRefreshToken() {
+        // Arrange (Organizar)
+        var token = refreshTokenService.issue(1L);
+
+        // Act (Agir)
+        var rotated = refreshTokenService.rotate(token);
+
+        // Assert (Verificar)
+        assertThat(rotated.userId()).isEqualTo(1L);
+        assertThat(rotated.refreshToken()).isNotEqualTo(token);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT family_id) FROM tab_refresh_tokens",
+                Integer.class)).isEqualTo(1);
+
+        // The new token renews again; the old one is used up.
+        // O novo token renova de novo; o antigo já foi usado.
+        assertThat(refreshTokenService.rotate(rotated.refreshToken()).userId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a used refresh token is presented again")
+    void shouldRevokeFamilyOnReuse() {
+        // Arrange (Organizar)
+        var stolen = refreshTokenService.issue(1L);
+        var legitimate = refreshTokenService.rotate(stolen).refreshToken();
+
+        // Act (Agir)
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stolen));
+
+        // Assert (Verificar)
+        // The revocation committed despite the exception, so the latest token of the family is dead too.
+        // A revogação foi confirmada apesar da exceção, então o último token da família também não vale mais.
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(legitimate));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tab_refresh_tokens WHERE revoked_at IS NULL", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse unknown, expired and logged out refresh tokens")
+    void shouldRefuseInvalidRefreshTokens() {
+        // Arrange (Organizar)
+        var expired = refreshTokenService.issue(1L);
+        jdbcTemplate.update("UPDATE tab_refresh_tokens SET expires_at = now() - INTERVAL '1 minute'");
+        var loggedOut = refreshTokenService.issue(1L);
+        var otherLogin = refreshTokenService.issue(1L);
+
+        // Act (Agir)
+        refreshTokenService.revoke(loggedOut, 1L);
+
+        // Assert (Verificar)
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(expired));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(loggedOut));
+        assertThat(refreshTokenService.rotate(otherLogin).userId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not revoke the refresh token family of another user on logout")
+    void shouldNotRevokeFamilyOfAnotherUser() {
+        // Arrange (Organizar)
+        jdbcTemplate.update("INSERT INTO tab_users (name, email, password) VALUES ('Other', 'other@email.com', 'x')");
+        var othersToken = refreshTokenService.issue(2L);
+
+        // Act (Agir)
+        refreshTokenService.revoke(othersToken, 1L);
+
+        // Assert (Verificar)
+        assertThat(refreshTokenService.rotate(othersToken).userId()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.github.manojohnsons.financeapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SingleFlight<String, Integer> singleFlight;
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should give the callers that arrive during a computation its result")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        // Arrange (Organizar)
+        var leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("key", () -> blockedComputation(42)), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var followers = new CompletableFuture<?>[3];
+        for (int i = 0; i < followers.length; i++)
+            followers[i] = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> 0), executor);
+        awaitCoalesced(3);
+
+        // Act (Agir)
+        release.countDown();
+
+        // Assert (Verificar)
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        for (var follower : followers)
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should throw the exception of the computation to every caller that waited for it")
+    void shouldPropagateExceptionToFollowers() throws Exception {
+        // Arrange (Organizar)
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+            blockedComputation(0);
+            throw new IllegalStateException("The query failed.");
+        }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> 0), executor);
+        awaitCoalesced(1);
+
+        // Act (Agir)
+        release.countDown();
+
+        // Assert (Verificar)
+        var leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        var followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderFailure.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(followerFailure.getCause()).isSameAs(leaderFailure.getCause());
+        // The failure isn't kept: the next call computes again. A falha não fica guardada.
+        assertThat(singleFlight.execute("key", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should give up with 503 when the computation waited for takes longer than the timeout")
+    void shouldTimeOutFollower() throws Exception {
+        // Arrange (Organizar)
+        singleFlight = new SingleFlight<>("test", Duration.ofMillis(50), meterRegistry);
+        var leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("key", () -> blockedComputation(42)), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act (Agir)
+        var exception = assertThrows(ServiceOverloadedException.class, () -> singleFlight.execute("key", () -> 0));
+        release.countDown();
+
+        // Assert (Verificar)
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(meterRegistry.get("api.single-flight.timeouts").tag("name", "test").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should start a new computation for the callers that arrive after the key is forgotten")
+    void shouldStartNewFlightAfterForget() throws Exception {
+        // Arrange (Organizar)
+        var leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("key", () -> blockedComputation(42)), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act (Agir)
+        singleFlight.forget("key");
+        var value = singleFlight.execute("key", () -> 7);
+        release.countDown();
+
+        // Assert (Verificar)
+        assertThat(value).isEqualTo(7);
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        assertThat(meterRegistry.get("api.single-flight.coalesced").tag("name", "test").counter().count())
+                .isZero();
+    }
+
+    private Integer blockedComputation(int value) {
+        computations.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    // The followers count as coalesced before they start waiting.
+    private void awaitCoalesced(int followers) throws InterruptedException {
+        var counter = meterRegistry.get("api.single-flight.coalesced").tag("name", "test").counter();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter.count() < followers && System.nanoTime() < deadline)
+            Thread.sleep(5);
+    }
+}
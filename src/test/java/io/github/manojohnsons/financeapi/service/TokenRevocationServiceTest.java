@@ -0,0 +1,93 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TokenRevocationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TokenRevocationServiceTest extends PostgresContainerTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_revoked_tokens");
+        revocationService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should reject a token revoked on this replica at once")
+    void shouldRejectTokenRevokedLocally() {
+        // Arrange (Organizar)
+        var tokenId = UUID.randomUUID();
+
+        // Act (Agir)
+        revocationService.revoke(tokenId, Instant.now().plusSeconds(3600));
+        revocationService.revoke(tokenId, Instant.now().plusSeconds(3600));
+
+        // Assert (Verificar)
+        assertThat(revocationService.isRevoked(tokenId)).isTrue();
+        assertThat(revocationService.isRevoked(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pick up the tokens revoked by other replicas on the next rebuild")
+    void shouldPickUpRevocationsOfOtherReplicasOnRebuild() {
+        // Arrange (Organizar)
+        // Another replica revokes a token: only the table has it.
+        // Outra réplica revoga um token: só a tabela o tem.
+        var tokenId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tab_revoked_tokens (token_id, expires_at) VALUES (?, ?)", tokenId,
+                Timestamp.from(Instant.now().plusSeconds(3600)));
+        assertThat(revocationService.isRevoked(tokenId)).isFalse();
+
+        // Act (Agir)
+        revocationService.rebuild();
+
+        // Assert (Verificar)
+        assertThat(revocationService.isRevoked(tokenId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should purge the revoked tokens that already expired on rebuild")
+    void shouldPurgeExpiredRevocationsOnRebuild() {
+        // Arrange (Organizar)
+        jdbcTemplate.update("INSERT INTO tab_revoked_tokens (token_id, expires_at) VALUES (?, ?)", UUID.randomUUID(),
+                Timestamp.from(Instant.now().minusSeconds(60)));
+
+        // Act (Agir)
+        revocationService.rebuild();
+
+        // Assert (Verificar)
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tab_revoked_tokens", Integer.class)).isZero();
+    }
+}
@@ -1,6 +1,14 @@
 package io.github.manojohnsons.financeapi.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
@@ -9,19 +17,28 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.github.manojohnsons.financeapi.application.dto.AuthenticatedUserDTO;
 import io.github.manojohnsons.financeapi.domain.model.User;
 import io.github.manojohnsons.financeapi.service.impl.TokenServiceImpl;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class TokenServiceImplTest {
 
     private TokenService tokenService;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenRevocationService revocations;
+
     private final String jwtSecret = "minha-longa-e-segura-chave-secreta-my-long-and-secure-secret-key";
 
     @BeforeEach
     void setUp() {
-        tokenService = new TokenServiceImpl(jwtSecret, 2L, "Finance-API", "-03:00");
+        meterRegistry = new SimpleMeterRegistry();
+        revocations = mock(TokenRevocationService.class);
+        tokenService = new TokenServiceImpl(meterRegistry, revocations, jwtSecret, 2L, "Finance-API", "-03:00", 100);
     }
 
     @Test
@@ -49,4 +66,97 @@ public class TokenServiceImplTest {
 
         assertThat(claims.getSubject()).isEqualTo(user.getEmail());
     }
+
+    @Test
+    @DisplayName("Should validate a generated token and build the principal from its claims")
+    void shouldValidateGeneratedToken() {
+        // Arrange (Organizar)
+        var token = tokenService.generateToken(user(7L));
+
+        // Act (Agir)
+        var principal = tokenService.validate(token);
+
+        // Assert (Verificar)
+        assertThat(principal).get()
+                .returns(7L, AuthenticatedUserDTO::id)
+                .returns("fulana32@email.com", AuthenticatedUserDTO::email);
+        assertThat(principal.get().tokenId()).isNotNull();
+        assertThat(principal.get().expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated token from the cache of verified tokens")
+    void shouldServeRepeatedTokenFromCache() {
+        // Arrange (Organizar)
+        var token = tokenService.generateToken(user(7L));
+
+        // Act (Agir)
+        var first = tokenService.validate(token);
+        var second = tokenService.validate(token);
+
+        // Assert (Verificar)
+        assertThat(second).isEqualTo(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose signature doesn't match")
+    void shouldRejectTamperedToken() {
+        // Arrange (Organizar)
+        var otherKey = Keys.hmacShaKeyFor("outra-longa-e-segura-chave-secreta-another-secure-secret-key".getBytes());
+        var token = token(otherKey, "Finance-API", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act & Assert (Agir e Verificar)
+        assertThat(tokenService.validate(token)).isEmpty();
+        assertThat(tokenService.validate("not.a.token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token or one from another issuer")
+    void shouldRejectExpiredTokenOrOtherIssuer() {
+        // Arrange (Organizar)
+        var key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        var expired = token(key, "Finance-API", Instant.now().minus(1, ChronoUnit.MINUTES));
+        var otherIssuer = token(key, "Other-API", Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // Act & Assert (Agir e Verificar)
+        assertThat(tokenService.validate(expired)).isEmpty();
+        assertThat(tokenService.validate(otherIssuer)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token, even after it was cached")
+    void shouldRejectRevokedToken() {
+        // Arrange (Organizar)
+        var token = tokenService.generateToken(user(7L));
+        var principal = tokenService.validate(token).orElseThrow();
+        when(revocations.isRevoked(any(UUID.class))).thenReturn(false);
+        when(revocations.isRevoked(principal.tokenId())).thenReturn(true);
+
+        // Act (Agir)
+        var validated = tokenService.validate(token);
+
+        // Assert (Verificar)
+        assertThat(validated).isEmpty();
+        assertThat(tokenService.validate(tokenService.generateToken(user(7L)))).isPresent();
+    }
+
+    private static User user(Long id) {
+        var user = new User("Fulana Silva", "fulana32@email.com", "senha123");
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
+    }
+
+    private static String token(SecretKey key, String issuer, Instant expiration) {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject("fulana32@email.com")
+                .claim("uid", 7L)
+                .issuedAt(Date.from(expiration.minus(2, ChronoUnit.HOURS)))
+                .expiration(Date.from(expiration))
+                .signWith(key)
+                .compact();
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.domain.enums.ExportFormat;
+
+@Tag("benchmark")
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TransactionExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+// The export opens its own read-only transaction over the committed rows.
+// A exportação abre sua própria transação somente leitura sobre as linhas já gravadas.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TransactionExportHeapTest extends PostgresContainerTest {
+
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int SAMPLE_INTERVAL = 100_000;
+
+    // A list of 1M managed entities takes hundreds of MB, far above this.
+    // Uma lista de 1M de entidades gerenciadas ocupa centenas de MB, bem acima disso.
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @BeforeEach
+    void setUp() {
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("TRUNCATE tab_transactions, tab_categories, tab_users RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO tab_users (name, email, password) VALUES ('User', 'user@email.com', 'secret')");
+        jdbcTemplate.update("""
+                INSERT INTO tab_categories (name, hex_color, icon, user_id)
+                SELECT 'Category ' || g, '#000000', 'icon', 1
+                FROM generate_series(1, 10) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO tab_transactions (description, amount, date, type, user_id, category_id)
+                SELECT 'Transaction ' || g,
+                       (g % 500) + 0.99,
+                       DATE '2000-01-01' + (g % 9000),
+                       CASE WHEN g % 5 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       1,
+                       CASE WHEN g % 11 = 0 THEN NULL ELSE (g % 10) + 1 END
+                FROM generate_series(1, ?) g
+                """, TRANSACTIONS);
+        jdbcTemplate.execute("ANALYZE tab_transactions");
+    }
+
+    @Test
+    @DisplayName("Should export 1M transactions without the heap growing with the history")
+    void shouldExportWithConstantHeap() throws Exception {
+        // Arrange (Organizar)
+        var output = new HeapSamplingOutputStream();
+        output.baseline = usedHeapAfterGc();
+
+        // Act (Agir)
+        var count = transactionExportService.export(1L, ExportFormat.NDJSON, output);
+
+        // Assert (Verificar)
+        assertThat(count).isEqualTo(TRANSACTIONS);
+        assertThat(output.lines).isEqualTo(TRANSACTIONS);
+        assertThat(output.samples).isGreaterThanOrEqualTo(TRANSACTIONS / SAMPLE_INTERVAL - 1);
+        assertThat(output.maxGrowth).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Discards the bytes and samples the live heap every SAMPLE_INTERVAL lines.
+    // Descarta os bytes e mede o heap vivo a cada SAMPLE_INTERVAL linhas.
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private long baseline;
+        private long lines;
+        private int samples;
+        private long maxGrowth;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % SAMPLE_INTERVAL == 0) {
+                samples++;
+                maxGrowth = Math.max(maxGrowth, usedHeapAfterGc() - baseline);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++)
+                write(b[i]);
+        }
+    }
+}
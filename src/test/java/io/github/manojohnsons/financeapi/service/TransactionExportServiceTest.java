@@ -0,0 +1,120 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.github.manojohnsons.financeapi.domain.enums.ExportFormat;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionExportServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TransactionExportService transactionExportService;
+
+    private Transaction salary;
+    private Transaction groceries;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        transactionExportService = new TransactionExportService(transactionRepository, entityManager, objectMapper);
+
+        var user = new User("Test User", "test@email.com", "password");
+        var category = new Category("Food, Market", "#FF0000", "cart", user);
+        ReflectionTestUtils.setField(category, "id", 7L);
+
+        salary = new Transaction("Salary", new BigDecimal("5000.00"), LocalDate.of(2025, 1, 5),
+                TransactionType.INCOME, user, null);
+        ReflectionTestUtils.setField(salary, "id", 1L);
+        groceries = new Transaction("Weekly \"big\" shop", new BigDecimal("250.40"), LocalDate.of(2025, 1, 6),
+                TransactionType.EXPENSE, user, category);
+        ReflectionTestUtils.setField(groceries, "id", 2L);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV row per transaction, escaping the text fields")
+    void shouldWriteCsvRows() throws Exception {
+        // Arrange (Organizar)
+        var output = new ByteArrayOutputStream();
+        when(transactionRepository.streamAllByUserId(1L)).thenReturn(Stream.of(salary, groceries));
+
+        // Act (Agir)
+        var count = transactionExportService.export(1L, ExportFormat.CSV, output);
+
+        // Assert (Verificar)
+        assertThat(count).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,date,type,amount,description,category
+                1,2025-01-05,INCOME,5000.00,Salary,
+                2,2025-01-06,EXPENSE,250.40,"Weekly ""big"" shop","Food, Market"
+                """);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line")
+    void shouldWriteNdjsonLines() throws Exception {
+        // Arrange (Organizar)
+        var output = new ByteArrayOutputStream();
+        when(transactionRepository.streamAllByUserId(1L)).thenReturn(Stream.of(salary, groceries));
+
+        // Act (Agir)
+        var count = transactionExportService.export(1L, ExportFormat.NDJSON, output);
+
+        // Assert (Verificar)
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"date\":\"2025-01-05\"").contains("\"category\":null");
+        assertThat(lines[1]).contains("\"amount\":250.40").contains("\"name\":\"Food, Market\"");
+    }
+
+    @Test
+    @DisplayName("Should detach every exported transaction and close the stream")
+    void shouldDetachExportedTransactions() throws Exception {
+        // Arrange (Organizar)
+        var closed = new boolean[1];
+        var transactions = Stream.of(salary, groceries).onClose(() -> closed[0] = true);
+        when(transactionRepository.streamAllByUserId(1L)).thenReturn(transactions);
+
+        // Act (Agir)
+        transactionExportService.export(1L, ExportFormat.CSV, new ByteArrayOutputStream());
+
+        // Assert (Verificar)
+        verify(entityManager, times(1)).detach(salary);
+        verify(entityManager, times(1)).detach(groceries);
+        assertThat(closed[0]).isTrue();
+    }
+}
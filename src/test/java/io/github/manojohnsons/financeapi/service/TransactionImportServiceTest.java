@@ -0,0 +1,282 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
+import io.github.manojohnsons.financeapi.config.TransactionImportProperties;
+import io.github.manojohnsons.financeapi.domain.enums.StatementFormat;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import io.github.manojohnsons.financeapi.exception.InvalidStatementException;
+import io.github.manojohnsons.financeapi.exception.ResourceNotFoundException;
+import io.github.manojohnsons.financeapi.service.impl.CsvStatementParser;
+import io.github.manojohnsons.financeapi.service.impl.OfxStatementParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private DashboardCache dashboardCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionImportService transactionImportService;
+
+    // Copies of the batches given to the rollups, since the service reuses its buffer.
+    // Cópias dos lotes passados aos rollups, já que o serviço reutiliza o seu buffer.
+    private final List<List<TransactionRequestDTO>> insertedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        transactionImportService = new TransactionImportService(
+                List.of(new CsvStatementParser(), new OfxStatementParser()),
+                userRepository,
+                categoryRepository,
+                monthlyRollupService,
+                dashboardCache,
+                entityManager,
+                transactionTemplate,
+                validator,
+                new TransactionImportProperties(2, 10));
+    }
+
+    @Test
+    @DisplayName("Should insert the valid CSV rows in batches and report the invalid ones")
+    void shouldImportCsvInBatches() throws Exception {
+        // Arrange (Organizar)
+        var csv = """
+                date,description,amount,category
+                2025-01-05,Salary,5000.00,
+                2025-01-06,Market,-250.40,food
+                06/02/2025,"Rent, February",-1200.00,
+                2025-02-10,Cinema,abc,
+                2025-02-11,Taxi,-30.00,Travel
+                2025-02-12,,-10.00,
+                """;
+        mockUserWithCategories();
+        captureBatches();
+        runTransactionCallbacks();
+
+        // Act (Agir)
+        var result = transactionImportService.importStatement(1L, StatementFormat.CSV, toStream(csv));
+
+        // Assert (Verificar)
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errors()).extracting("row").containsExactly(5L, 6L, 7L);
+        assertThat(result.errors().get(0).message()).isEqualTo("Invalid amount 'abc'.");
+        assertThat(result.errors().get(1).message()).isEqualTo("Category 'Travel' not found.");
+        assertThat(result.errors().get(2).message()).isEqualTo("The description is obrigatory.");
+
+        assertThat(insertedBatches).hasSize(2);
+        assertThat(insertedBatches.get(0)).containsExactly(
+                new TransactionRequestDTO("Salary", new BigDecimal("5000.00"), LocalDate.of(2025, 1, 5),
+                        TransactionType.INCOME, null),
+                new TransactionRequestDTO("Market", new BigDecimal("250.40"), LocalDate.of(2025, 1, 6),
+                        TransactionType.EXPENSE, 7L));
+        assertThat(insertedBatches.get(1)).containsExactly(
+                new TransactionRequestDTO("Rent, February", new BigDecimal("1200.00"), LocalDate.of(2025, 2, 6),
+                        TransactionType.EXPENSE, null));
+        verify(categoryRepository, times(1)).findByUserId(1L);
+        verify(entityManager, times(3)).persist(any(Transaction.class));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(monthlyRollupService, times(2)).addAll(eq(1L), anyList());
+        verify(dashboardCache, times(1)).evict(1L, LocalDate.of(2025, 1, 5));
+        verify(dashboardCache, times(1)).evict(1L, LocalDate.of(2025, 2, 6));
+    }
+
+    @Test
+    @DisplayName("Should import the STMTTRN entries of an OFX statement")
+    void shouldImportOfxEntries() throws Exception {
+        // Arrange (Organizar)
+        var ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20250106120000[-3:BRT]
+                <TRNAMT>-250,40
+                <FITID>1
+                <MEMO>Market &amp; Bakery
+                </STMTTRN>
+                <STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250105<TRNAMT>5000.00<NAME>Salary</NAME></STMTTRN>
+                <STMTTRN><DTPOSTED>2025XX01<TRNAMT>1.00<NAME>Broken</STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+        when(userRepository.existsById(1L)).thenReturn(true);
+        captureBatches();
+        runTransactionCallbacks();
+
+        // Act (Agir)
+        var result = transactionImportService.importStatement(1L, StatementFormat.OFX, toStream(ofx));
+
+        // Assert (Verificar)
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors().get(0).row()).isEqualTo(3);
+        assertThat(insertedBatches.get(0)).containsExactly(
+                new TransactionRequestDTO("Market & Bakery", new BigDecimal("250.40"), LocalDate.of(2025, 1, 6),
+                        TransactionType.EXPENSE, null),
+                new TransactionRequestDTO("Salary", new BigDecimal("5000.00"), LocalDate.of(2025, 1, 5),
+                        TransactionType.INCOME, null));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row and report only the rows that fail")
+    void shouldRetryFailedBatchRowByRow() throws Exception {
+        // Arrange (Organizar)
+        var csv = """
+                date,description,amount
+                2025-01-05,Salary,5000.00
+                2025-01-06,Market,-250.40
+                """;
+        when(userRepository.existsById(1L)).thenReturn(true);
+        captureBatches();
+        runTransactionCallbacks();
+        // The batch fails, then the first row gets in alone and the second fails again.
+        // O lote falha, depois a primeira linha entra sozinha e a segunda falha de novo.
+        doThrow(new PersistenceException("Batch entry 1 was aborted."))
+                .doNothing()
+                .doThrow(new PersistenceException("Value too long."))
+                .when(entityManager).flush();
+
+        // Act (Agir)
+        var result = transactionImportService.importStatement(1L, StatementFormat.CSV, toStream(csv));
+
+        // Assert (Verificar)
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).extracting("row").containsExactly(3L);
+        assertThat(result.errors().get(0).message()).isEqualTo("The row could not be saved.");
+        assertThat(insertedBatches).containsExactly(List.of(
+                new TransactionRequestDTO("Salary", new BigDecimal("5000.00"), LocalDate.of(2025, 1, 5),
+                        TransactionType.INCOME, null)));
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the rows that don't fit the transaction columns")
+    void shouldRejectRowsThatDontFitColumns() throws Exception {
+        // Arrange (Organizar)
+        var csv = "date,description,amount\n"
+                + "2025-01-05," + "x".repeat(256) + ",10.00\n"
+                + "2025-01-06,Market,-250.405\n";
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act (Agir)
+        var result = transactionImportService.importStatement(1L, StatementFormat.CSV, toStream(csv));
+
+        // Assert (Verificar)
+        assertThat(result.imported()).isZero();
+        assertThat(result.errors()).extracting("message").containsExactly(
+                "The description must have at most 255 characters.",
+                "The amount must have at most 17 integer and 2 decimal digits.");
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV statement without the required columns")
+    void shouldRejectCsvWithoutRequiredColumns() {
+        // Arrange (Organizar)
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert (Agir e Verificar)
+        var exception = assertThrows(InvalidStatementException.class, () -> transactionImportService
+                .importStatement(1L, StatementFormat.CSV, toStream("date,description\n2025-01-05,Salary\n")));
+
+        assertThat(exception.getMessage()).isEqualTo("The statement has no 'amount' column.");
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the user doesn't exist")
+    void shouldThrowWhenUserNotFound() {
+        // Arrange (Organizar)
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert (Agir e Verificar)
+        assertThrows(ResourceNotFoundException.class, () -> transactionImportService
+                .importStatement(99L, StatementFormat.CSV, toStream("")));
+    }
+
+    private void mockUserWithCategories() {
+        var user = new User("Test User", "test@email.com", "password");
+        var food = new Category("Food", "#FF0000", "cart", user);
+        ReflectionTestUtils.setField(food, "id", 7L);
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(categoryRepository.findByUserId(1L)).thenReturn(List.of(food));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureBatches() {
+        doAnswer(invocation -> {
+            insertedBatches.add(List.copyOf((List<TransactionRequestDTO>) invocation.getArgument(1)));
+            return null;
+        }).when(monthlyRollupService).addAll(eq(1L), anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private ByteArrayInputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
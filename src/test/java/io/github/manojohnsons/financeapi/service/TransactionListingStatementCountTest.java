@@ -0,0 +1,143 @@
+package io.github.manojohnsons.financeapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import io.github.manojohnsons.financeapi.PostgresContainerTest;
+import io.github.manojohnsons.financeapi.application.dto.CategorySummaryDTO;
+import io.github.manojohnsons.financeapi.config.TransactionPageProperties;
+import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
+import io.github.manojohnsons.financeapi.domain.model.Category;
+import io.github.manojohnsons.financeapi.domain.model.Transaction;
+import io.github.manojohnsons.financeapi.domain.model.User;
+import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
+import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TransactionService.class)
+@EnableConfigurationProperties(TransactionPageProperties.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.transactions.page.default-size=100",
+        "api.transactions.page.max-size=500" })
+public class TransactionListingStatementCountTest extends PostgresContainerTest {
+
+    private static final int CATEGORIES = 4;
+    private static final int TRANSACTIONS = 300;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // Only the listing methods are called: the service reads through the real TransactionRepository,
+    // and the write collaborators are mocks it never touches.
+    // Só os métodos de listagem são chamados: o serviço lê pelo TransactionRepository real,
+    // e os colaboradores de escrita são mocks que ele nunca usa.
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private MonthlyRollupService monthlyRollupService;
+
+    @MockitoBean
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        var user = entityManager.persist(new User("Test User", "test@email.com", "password"));
+        var categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++)
+            categories[i] = entityManager.persist(new Category("Category " + i, "#000000", "icon", user));
+
+        // Every fifth transaction is uncategorized; the others cycle through the categories.
+        // Uma a cada cinco transações fica sem categoria; as outras alternam entre as categorias.
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            var category = i % 5 == 0 ? null : categories[i % 5 - 1];
+            entityManager.persist(new Transaction("Transaction " + i, new BigDecimal("10.00"),
+                    LocalDate.of(2025, 10, 1 + i % 31), TransactionType.EXPENSE, user, category));
+        }
+        entityManager.flush();
+        // Nothing may come from the persistence context: the listing has to hit the database.
+        // Nada pode vir do contexto de persistência: a listagem precisa ir ao banco.
+        entityManager.clear();
+
+        userId = user.getId();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should list a month with its categories in exactly one statement")
+    void shouldListMonthInOneStatement() {
+        // Act (Agir)
+        var response = transactionService.findAllByUserIdAndDate(userId, 2025, 10);
+
+        // Assert (Verificar)
+        assertThat(response).hasSize(TRANSACTIONS);
+        assertThat(response).filteredOn(transaction -> transaction.category() != null)
+                .extracting(transaction -> transaction.category())
+                .doesNotContainNull()
+                .hasSize(TRANSACTIONS - TRANSACTIONS / 5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should list each keyset page with its categories in exactly one statement")
+    void shouldListEachPageInOneStatement() {
+        // Act (Agir)
+        var firstPage = transactionService.findPageByUserId(userId, null, null);
+        var secondPage = transactionService.findPageByUserId(userId, firstPage.nextToken(), null);
+
+        // Assert (Verificar)
+        assertThat(firstPage.content()).hasSize(100);
+        assertThat(secondPage.content()).hasSize(100);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse one category summary per category in a listing")
+    void shouldReuseOneCategorySummaryPerCategory() {
+        // Act (Agir)
+        var response = transactionService.findAllByUserIdAndDate(userId, 2025, 10);
+
+        // Assert (Verificar)
+        var instances = Collections.newSetFromMap(new IdentityHashMap<CategorySummaryDTO, Boolean>());
+        response.stream()
+                .map(transaction -> transaction.category())
+                .filter(category -> category != null)
+                .forEach(instances::add);
+        assertThat(instances).hasSize(CATEGORIES);
+    }
+}
@@ -17,12 +17,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.github.manojohnsons.financeapi.application.dto.CategorySummaryDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionPageResponseDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionRequestDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionResponseDTO;
+import io.github.manojohnsons.financeapi.application.dto.TransactionRowDTO;
 import io.github.manojohnsons.financeapi.application.dto.TransactionUpdateRequestDTO;
+import io.github.manojohnsons.financeapi.config.TransactionPageProperties;
 import io.github.manojohnsons.financeapi.domain.enums.TransactionType;
 import io.github.manojohnsons.financeapi.domain.model.Category;
 import io.github.manojohnsons.financeapi.domain.model.Transaction;
@@ -30,6 +36,7 @@ import io.github.manojohnsons.financeapi.domain.model.User;
 import io.github.manojohnsons.financeapi.domain.repository.CategoryRepository;
 import io.github.manojohnsons.financeapi.domain.repository.TransactionRepository;
 import io.github.manojohnsons.financeapi.domain.repository.UserRepository;
+import io.github.manojohnsons.financeapi.exception.InvalidContinuationTokenException;
 import io.github.manojohnsons.financeapi.exception.ResourceNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +51,15 @@ public class TransactionServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private MonthlyRollupService monthlyRollupService;
+
+    @Mock
+    private DashboardCache dashboardCache;
+
+    @Spy
+    private TransactionPageProperties pageProperties = new TransactionPageProperties(2, 5);
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -74,6 +90,7 @@ public class TransactionServiceTest {
         assertThat(response.id()).isEqualTo(1L);
         assertThat(response.description()).isEqualTo("Almoço");
         assertThat(response.category().name()).isEqualTo("Alimentação");
+        verify(monthlyRollupService, times(1)).add(any(Transaction.class));
     }
 
     @Test
@@ -83,26 +100,19 @@ public class TransactionServiceTest {
         var userId = 10L;
         var year = 2025;
         var month = 10;
-        var user = new User();
 
-        // Two transactions that are WITHIN the filter period (October/2025).
-        // Duas transações que estão DENTRO do período do filtro (Outubro/2025).
-        var transactionInOctober1 = new Transaction("Supermercado", new BigDecimal("350.00"), LocalDate.of(2025, 10, 5),
-                TransactionType.EXPENSE, user, null);
-        var transactionInOctober2 = new Transaction("Salário", new BigDecimal("5000.00"), LocalDate.of(2025, 10, 1),
-                TransactionType.INCOME, user, null);
-
-        // This transaction is OUTSIDE of the filter period, to ensure that it is not
-        // returned.
-        // Essa transação está FORA do período do filtro, para garantir que ela não seja
-        // retornada.
-        @SuppressWarnings("unused")
-        var transactionInSeptember = new Transaction("Gasolina", new BigDecimal("150.00"), LocalDate.of(2025, 9, 28),
-                TransactionType.EXPENSE, user, null);
+        // Two transactions that are WITHIN the filter period (October/2025). The
+        // repository only returns the rows of the period.
+        // Duas transações que estão DENTRO do período do filtro (Outubro/2025). O
+        // repositório só retorna as linhas do período.
+        var transactionInOctober1 = new TransactionRowDTO(1L, "Supermercado", new BigDecimal("350.00"),
+                LocalDate.of(2025, 10, 5), TransactionType.EXPENSE, null, null, null, null);
+        var transactionInOctober2 = new TransactionRowDTO(2L, "Salário", new BigDecimal("5000.00"),
+                LocalDate.of(2025, 10, 1), TransactionType.INCOME, null, null, null, null);
 
         var expectedTransactions = List.of(transactionInOctober1, transactionInOctober2);
 
-        when(transactionRepository.findByUserIdAndYearAndMonth(userId, year, month))
+        when(transactionRepository.findByUserIdAndPeriod(userId, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 11, 1)))
                 .thenReturn(expectedTransactions);
 
         // Act (Agir)
@@ -173,6 +183,12 @@ public class TransactionServiceTest {
         assertThat(response.description()).isEqualTo("Jantar de negócios");
         assertThat(response.amount()).isEqualTo(new BigDecimal("150.75"));
         assertThat(response.date()).isEqualTo(LocalDate.of(2025, 10, 17));
+        verify(monthlyRollupService, times(1)).subtract(originalTransaction);
+        verify(monthlyRollupService, times(1)).add(originalTransaction);
+        // Both the previous and the new month are evicted from the dashboard cache.
+        // Tanto o mês anterior quanto o novo são removidos do cache do dashboard.
+        verify(dashboardCache, times(1)).evict(userId, LocalDate.of(2025, 10, 16));
+        verify(dashboardCache, times(1)).evict(userId, LocalDate.of(2025, 10, 17));
     }
 
     @Test
@@ -193,6 +209,8 @@ public class TransactionServiceTest {
 
         // Assert (Verificar)
         verify(transactionRepository, times(1)).delete(transactionToDelete);
+        verify(monthlyRollupService, times(1)).subtract(transactionToDelete);
+        verify(dashboardCache, times(1)).evict(userId, transactionToDelete.getDate());
     }
 
     @Test
@@ -235,6 +253,32 @@ public class TransactionServiceTest {
         assertThat(exception.getMessage()).isEqualTo("Resource Category not found.");
     }
 
+    @Test
+    @DisplayName("Should share one category summary between the rows of the same category")
+    void shouldShareCategorySummaryBetweenRowsOfSameCategory() {
+        // Arrange (Organizar)
+        var userId = 10L;
+        var rows = List.of(
+                new TransactionRowDTO(1L, "Supermercado", new BigDecimal("350.00"), LocalDate.of(2025, 10, 5),
+                        TransactionType.EXPENSE, 7L, "Alimentação", "#FF5733", "utensils"),
+                new TransactionRowDTO(2L, "Feira", new BigDecimal("80.00"), LocalDate.of(2025, 10, 12),
+                        TransactionType.EXPENSE, 7L, "Alimentação", "#FF5733", "utensils"),
+                new TransactionRowDTO(3L, "Salário", new BigDecimal("5000.00"), LocalDate.of(2025, 10, 1),
+                        TransactionType.INCOME, null, null, null, null));
+
+        when(transactionRepository.findByUserIdAndPeriod(userId, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 11, 1)))
+                .thenReturn(rows);
+
+        // Act (Agir)
+        List<TransactionResponseDTO> response = transactionService.findAllByUserIdAndDate(userId, 2025, 10);
+
+        // Assert (Verificar)
+        assertThat(response.get(0).category())
+                .isEqualTo(new CategorySummaryDTO(7L, "Alimentação", "#FF5733", "utensils"))
+                .isSameAs(response.get(1).category());
+        assertThat(response.get(2).category()).isNull();
+    }
+
     @Test
     @DisplayName("Should return a empty list when a user has no transactions in the given time period")
     void shouldReturnEmptyListWhenNoTransactionsFoundForPeriod() {
@@ -243,7 +287,8 @@ public class TransactionServiceTest {
         var year = 2025;
         var month = 11;
 
-        when(transactionRepository.findByUserIdAndYearAndMonth(userId, year, month)).thenReturn(List.of());
+        when(transactionRepository.findByUserIdAndPeriod(userId, LocalDate.of(2025, 11, 1), LocalDate.of(2025, 12, 1)))
+                .thenReturn(List.of());
 
         // Act (Agir)
         List<TransactionResponseDTO> response = transactionService.findAllByUserIdAndDate(userId, year, month);
@@ -362,4 +407,82 @@ public class TransactionServiceTest {
 
         assertThat(exception.getMessage()).isEqualTo("Resource Transaction not found.");
     }
+
+    @Test
+    @DisplayName("Should return the first page and a token for the next one")
+    void shouldReturnFirstPageWithNextToken() {
+        // Arrange (Organizar)
+        var userId = 10L;
+        var newest = rowWithId(3L, LocalDate.of(2025, 10, 20));
+        var middle = rowWithId(2L, LocalDate.of(2025, 10, 15));
+        var oldest = rowWithId(1L, LocalDate.of(2025, 10, 10));
+
+        // The default page size is 2, so the service asks for one extra row.
+        // O tamanho padrão da página é 2, então o serviço pede uma linha a mais.
+        when(transactionRepository.findFirstPageByUserId(userId, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+
+        // Act (Agir)
+        TransactionPageResponseDTO response = transactionService.findPageByUserId(userId, null, null);
+
+        // Assert (Verificar)
+        assertThat(response.content()).hasSize(2);
+        assertThat(response.content().get(0).id()).isEqualTo(3L);
+        assertThat(response.content().get(1).id()).isEqualTo(2L);
+        assertThat(response.nextToken()).isNotBlank();
+        assertThat(TransactionCursor.decode(response.nextToken()))
+                .isEqualTo(new TransactionCursor(LocalDate.of(2025, 10, 15), 2L));
+    }
+
+    @Test
+    @DisplayName("Should seek the page after the continuation token and end the listing")
+    void shouldSeekPageAfterContinuationToken() {
+        // Arrange (Organizar)
+        var userId = 10L;
+        var token = new TransactionCursor(LocalDate.of(2025, 10, 15), 2L).encode();
+        var oldest = rowWithId(1L, LocalDate.of(2025, 10, 10));
+
+        when(transactionRepository.findPageByUserIdAfter(userId, LocalDate.of(2025, 10, 15), 2L, Limit.of(3)))
+                .thenReturn(List.of(oldest));
+
+        // Act (Agir)
+        TransactionPageResponseDTO response = transactionService.findPageByUserId(userId, token, null);
+
+        // Assert (Verificar)
+        assertThat(response.content()).hasSize(1);
+        assertThat(response.content().get(0).id()).isEqualTo(1L);
+        assertThat(response.nextToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap the requested page size to the configured maximum")
+    void shouldCapPageSizeToMaximum() {
+        // Arrange (Organizar)
+        var userId = 10L;
+
+        when(transactionRepository.findFirstPageByUserId(userId, Limit.of(6))).thenReturn(List.of());
+
+        // Act (Agir)
+        TransactionPageResponseDTO response = transactionService.findPageByUserId(userId, null, 1000);
+
+        // Assert (Verificar)
+        assertThat(response.content()).isEmpty();
+        assertThat(response.nextToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidContinuationTokenException when the token is malformed")
+    void shouldThrowInvalidContinuationTokenExceptionWhenTokenIsMalformed() {
+        // Act & Assert (Agir e Verificar)
+        var exception = assertThrows(InvalidContinuationTokenException.class, () -> {
+            transactionService.findPageByUserId(10L, "not-a-token", null);
+        });
+
+        assertThat(exception.getMessage()).isEqualTo("The continuation token is invalid.");
+    }
+
+    private TransactionRowDTO rowWithId(Long id, LocalDate date) {
+        return new TransactionRowDTO(id, "Transação " + id, new BigDecimal("10.00"), date,
+                TransactionType.EXPENSE, null, null, null, null);
+    }
 }